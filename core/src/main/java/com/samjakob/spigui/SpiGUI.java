@@ -5,12 +5,16 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 
 import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
 import org.bukkit.inventory.Inventory;
 import org.bukkit.plugin.java.JavaPlugin;
 
+import com.samjakob.spigui.heads.SGHeadResolver;
+import com.samjakob.spigui.menu.SGGridMenu;
+import com.samjakob.spigui.menu.SGListMenu;
 import com.samjakob.spigui.menu.SGMenu;
 import com.samjakob.spigui.menu.SGMenuListenerBase;
 import com.samjakob.spigui.menu.SGOpenMenu;
@@ -84,6 +88,10 @@ public final class SpiGUI {
     private SGToolbarBuilder defaultToolbarBuilder =
             SGDefaultToolbarBuilderFactory.get().newToolbarBuilder();
 
+    /** The head resolver for this plugin (or null if it has not yet been used). */
+    @Nullable
+    private SGHeadResolver headResolver;
+
     /**
      * Creates an instance of the SpiGUI library associated with a given plugin.
      *
@@ -185,6 +193,57 @@ public final class SpiGUI {
         return new SGMenu(this, name, rows, tag);
     }
 
+    /**
+     * An alias for {@link #createList(String, int, String)} with the tag set to null.
+     *
+     * @param name The display name of the inventory.
+     * @param rows The number of rows the inventory should have per page.
+     * @return The created inventory.
+     */
+    public SGListMenu createList(String name, int rows) {
+        return createList(name, rows, null);
+    }
+
+    /**
+     * Creates an inventory whose content is an ordered list of buttons, which can be efficiently inserted into (and
+     * removed from) any position. This is otherwise the same as {@link #create(String, int, String)}.
+     *
+     * @see SGListMenu
+     * @param name The display name of the inventory.
+     * @param rows The number of rows the inventory should have per page.
+     * @param tag The inventory's tag.
+     * @return The created inventory.
+     */
+    public SGListMenu createList(String name, int rows, String tag) {
+        return new SGListMenu(this, name, rows, tag);
+    }
+
+    /**
+     * An alias for {@link #createGrid(String, int, String)} with the tag set to null.
+     *
+     * @param name The display name of the inventory.
+     * @param rows The number of rows of the grid the inventory should display at once.
+     * @return The created inventory.
+     */
+    public SGGridMenu createGrid(String name, int rows) {
+        return createGrid(name, rows, null);
+    }
+
+    /**
+     * Creates an inventory that displays a window onto a two-dimensional grid of buttons (which may be much larger than
+     * the inventory), with controls to pan the window in its toolbar. This is otherwise the same as
+     * {@link #create(String, int, String)}.
+     *
+     * @see SGGridMenu
+     * @param name The display name of the inventory.
+     * @param rows The number of rows of the grid the inventory should display at once.
+     * @param tag The inventory's tag.
+     * @return The created inventory.
+     */
+    public SGGridMenu createGrid(String name, int rows, String tag) {
+        return new SGGridMenu(this, name, rows, tag);
+    }
+
     /**
      * Returns the plugin that this instance of SpiGUI was registered with.
      *
@@ -253,6 +312,25 @@ public final class SpiGUI {
         return defaultToolbarBuilder;
     }
 
+    /**
+     * Returns the {@link SGHeadResolver} for this plugin, creating it (and registering it as a listener, so that heads
+     * are prefetched when players join) the first time it is used.
+     *
+     * <p>As the resolver is created lazily, heads are only prefetched for players who join after this is first called.
+     * To prefetch heads from startup, call this in your plugin's {@code onEnable}.
+     *
+     * @return The head resolver for this plugin.
+     */
+    @Nonnull
+    public SGHeadResolver getHeadResolver() {
+        if (headResolver == null) {
+            headResolver = new SGHeadResolver(plugin, SGHeadResolver.DEFAULT_CAPACITY);
+            plugin.getServer().getPluginManager().registerEvents(headResolver, plugin);
+        }
+
+        return headResolver;
+    }
+
     /**
      * Finds a list of all open inventories with a given tag along with the player who has that inventory open.
      *
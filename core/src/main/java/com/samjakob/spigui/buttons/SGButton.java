@@ -7,6 +7,9 @@ import javax.annotation.Nullable;
 import org.bukkit.Material;
 import org.bukkit.inventory.ItemStack;
 
+import com.samjakob.spigui.item.ItemBuilderBase;
+import com.samjakob.spigui.item.ItemFingerprint;
+
 /**
  * An SGButton represents a clickable item in an SGMenu (GUI). It consists of an icon ({@link ItemStack}) and a listener
  * ({@link SGButton}).
@@ -23,10 +26,27 @@ public class SGButton {
     @Nullable
     private SGButtonListener listener;
 
-    /** The Bukkit {@link ItemStack} that will be used as the button's icon. */
-    @Nonnull
+    /**
+     * The Bukkit {@link ItemStack} that will be used as the button's icon. This is null whilst the icon is held in
+     * compacted form (see {@link #compactIcon}).
+     */
+    @Nullable
     private ItemStack icon;
 
+    /** The compacted form of the icon, if the icon has been interned into an {@link SGIconPool}. */
+    @Nullable
+    private SGIconPool.Entry compactIcon;
+
+    /**
+     * The pools holding a counted reference to the icon, each with the number of uses (e.g., menu slots) of this button
+     * in that pool. A pool's reference is released once the last use in that pool releases it.
+     */
+    @Nullable
+    private PoolUse poolUses;
+
+    /** The fingerprint of the icon, or {@link ItemFingerprint#EMPTY} if it has not been computed yet. */
+    private long fingerprint;
+
     /**
      * Creates an SGButton with the specified {@link ItemStack} as it's 'icon' in the inventory.
      *
@@ -36,6 +56,36 @@ public class SGButton {
         this.icon = validateIcon(icon);
     }
 
+    /**
+     * Creates an SGButton with the specified {@link ItemStack} as it's 'icon' in the inventory, along with the icon's
+     * (already computed) fingerprint.
+     *
+     * @param icon The desired 'icon' for the SGButton.
+     * @param fingerprint The {@link ItemFingerprint} of the icon.
+     */
+    public SGButton(@Nonnull ItemStack icon, long fingerprint) {
+        this.icon = validateIcon(icon);
+        this.fingerprint = fingerprint;
+    }
+
+    /**
+     * Creates an SGButton without an icon. This is for subclasses that supply the icon some other way (e.g.,
+     * {@link SGLazyButton}), which must then override {@link #getIcon()} to ensure an icon is always returned.
+     */
+    protected SGButton() {}
+
+    /**
+     * Creates an SGButton with the item configured on the specified builder as it's 'icon' in the inventory. The icon's
+     * fingerprint is taken from the builder, so it needn't be computed from the icon.
+     *
+     * @param builder The builder of the desired 'icon' for the SGButton.
+     * @return The created SGButton.
+     */
+    @Nonnull
+    public static SGButton from(@Nonnull ItemBuilderBase builder) {
+        return new SGButton(builder.build(), builder.fingerprint());
+    }
+
     /**
      * Sets the {@link SGButtonListener} to be called when the button is clicked.
      *
@@ -71,20 +121,150 @@ public class SGButton {
     /**
      * Returns the {@link ItemStack} that will be used as the SGButton's icon in the SGMenu (GUI).
      *
+     * <p>The icon should not be modified in place. Its {@link #getFingerprint() fingerprint} is cached, so menus would
+     * not notice the change when they are refreshed - pass the modified icon to {@link #setIcon(ItemStack)} instead.
+     *
+     * <p>If the icon has been compacted (see {@link #compactInto(SGIconPool)}), it is not cached: a fresh copy is
+     * inflated from the pool on every call, so callers should hold on to the result rather than calling this
+     * repeatedly.
+     *
      * @return The icon ({@link ItemStack}) that will be used to represent the button.
      */
     @Nonnull
     public ItemStack getIcon() {
-        return icon;
+        if (icon != null) return icon;
+        return Objects.requireNonNull(compactIcon).inflate();
     }
 
     /**
      * Changes the SGButton's icon.
      *
+     * <p>If the button is held by any {@link SGIconPool}s (see {@link #compactInto(SGIconPool)}), the new icon is
+     * interned into each of them in place of the old one, keeping the button's uses in each pool. Otherwise, the new
+     * icon is held as-is until it is next compacted.
+     *
      * @param icon The icon ({@link ItemStack}) that will be used to represent the button.
      */
     public void setIcon(@Nonnull ItemStack icon) {
         this.icon = validateIcon(icon);
+        this.compactIcon = null;
+        this.fingerprint = ItemFingerprint.EMPTY;
+
+        for (PoolUse use = poolUses; use != null; use = use.next) {
+            final SGIconPool.Entry previous = use.entry;
+            use.entry = use.pool.intern(icon);
+            if (previous != null) use.pool.release(previous);
+            this.compactIcon = use.entry;
+        }
+
+        if (compactIcon != null) this.icon = null;
+    }
+
+    /**
+     * Changes the SGButton's icon, along with the icon's (already computed) fingerprint.
+     *
+     * @param icon The icon ({@link ItemStack}) that will be used to represent the button.
+     * @param fingerprint The {@link ItemFingerprint} of the icon.
+     * @see #setIcon(ItemStack)
+     */
+    public void setIcon(@Nonnull ItemStack icon, long fingerprint) {
+        setIcon(icon);
+        this.fingerprint = fingerprint;
+    }
+
+    /**
+     * Returns the {@link ItemFingerprint} of the button's icon, so that icons can be checked for changes with a single
+     * comparison (e.g., to skip re-rendering slots whose icon is unchanged).
+     *
+     * <p>The fingerprint is computed when it is first needed after the icon is set (unless it was supplied with the
+     * icon), and is then kept until the icon is next changed with {@link #setIcon(ItemStack)}. Changes made to the
+     * icon in place (i.e., to the item returned by {@link #getIcon()}) are not reflected in the fingerprint.
+     *
+     * @return The fingerprint of the icon.
+     */
+    public long getFingerprint() {
+        if (fingerprint == ItemFingerprint.EMPTY) fingerprint = ItemFingerprint.of(getIcon());
+        return fingerprint;
+    }
+
+    /**
+     * Moves the button's icon into the specified {@link SGIconPool}, where it is deduplicated against other icons in
+     * the pool and held in compressed form. The icon is then inflated each time {@link #getIcon()} is called.
+     *
+     * <p>This is typically invoked by an {@link com.samjakob.spigui.menu.SGMenu} with compact icon storage enabled,
+     * rather than being called directly. If the icon has not been resolved yet (see {@link #isIconResolved()}), the use
+     * is still counted, and the icon is interned once it is resolved (when it is {@link #setIcon(ItemStack) set}).
+     *
+     * <p>Each call must be balanced with a call to {@link #releaseFrom(SGIconPool)}. A button used in several places
+     * (e.g., several slots of the same menu) is interned into each pool once, and keeps its reference in that pool
+     * until it has been released by each use in it. References held in other pools are unaffected.
+     *
+     * @param pool to intern the icon into.
+     */
+    public void compactInto(@Nonnull SGIconPool pool) {
+        Objects.requireNonNull(pool);
+
+        PoolUse use = poolUses;
+        while (use != null && use.pool != pool) use = use.next;
+        if (use == null) {
+            use = new PoolUse(pool, poolUses);
+            this.poolUses = use;
+        }
+
+        use.uses++;
+        if (use.entry != null || !isIconResolved()) return;
+
+        // If the icon is already compacted (into another pool), copy it across rather than inflating it.
+        final SGIconPool.Entry compacted = compactIcon;
+        use.entry = compacted != null && icon == null ? pool.intern(compacted) : pool.intern(getIcon());
+        this.compactIcon = use.entry;
+        this.icon = null;
+    }
+
+    /**
+     * Releases the button's reference to its icon in the specified {@link SGIconPool} (e.g., because the button was
+     * removed from the menu that owns the pool).
+     *
+     * <p>The button retains its compacted icon, so it remains usable, but it no longer counts towards the pool's
+     * statistics once every use of it in the pool has been released. If the button is not held by the specified pool,
+     * this does nothing.
+     *
+     * @param pool to release the icon from.
+     */
+    public void releaseFrom(@Nonnull SGIconPool pool) {
+        PoolUse previous = null;
+        PoolUse use = poolUses;
+        while (use != null && use.pool != pool) {
+            previous = use;
+            use = use.next;
+        }
+
+        if (use == null || --use.uses > 0) return;
+
+        if (use.entry != null) pool.release(use.entry);
+        if (previous == null) this.poolUses = use.next;
+        else previous.next = use.next;
+    }
+
+    /**
+     * Checks whether the button's icon is currently available without further work (i.e., without building it).
+     *
+     * <p>This is always true for a regular button, but may be false for buttons whose icon is built on demand (such as
+     * {@link SGLazyButton}). Buttons whose icon has not yet been resolved are not compacted.
+     *
+     * @return true if the icon has been resolved, otherwise false.
+     */
+    public boolean isIconResolved() {
+        return true;
+    }
+
+    /**
+     * Checks whether the button's icon is currently held in compacted form.
+     *
+     * @return true if the icon is compacted, otherwise false.
+     */
+    public boolean isIconCompacted() {
+        return compactIcon != null && icon == null;
     }
 
     /**
@@ -103,4 +283,37 @@ public class SGButton {
 
         return Objects.requireNonNull(icon, "Don't use a null icon - remove the button instead.");
     }
+
+    /**
+     * The uses of a button in a single {@link SGIconPool}. A button is rarely held by more than one pool, so these are
+     * kept in a (short) chain rather than a map.
+     */
+    private static final class PoolUse {
+
+        /** The pool holding the button's icon. */
+        @Nonnull
+        private final SGIconPool pool;
+
+        /** The pool's entry for the icon, or null if the icon had not been resolved when the button was used. */
+        @Nullable
+        private SGIconPool.Entry entry;
+
+        /** The number of uses of the button in the pool. */
+        private int uses;
+
+        /** The uses of the button in the next pool, if any. */
+        @Nullable
+        private PoolUse next;
+
+        /**
+         * Create the (initially empty) uses of a button in a pool.
+         *
+         * @param pool holding the button's icon.
+         * @param next uses of the button in another pool, if any.
+         */
+        private PoolUse(@Nonnull SGIconPool pool, @Nullable PoolUse next) {
+            this.pool = pool;
+            this.next = next;
+        }
+    }
 }
@@ -0,0 +1,337 @@
+package com.samjakob.spigui.buttons;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.StringJoiner;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+import javax.annotation.Nonnull;
+
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.util.io.BukkitObjectInputStream;
+import org.bukkit.util.io.BukkitObjectOutputStream;
+
+/**
+ * A content-addressed pool of compressed {@link SGButton} icons.
+ *
+ * <p>When an {@link com.samjakob.spigui.menu.SGMenu} has compact icon storage enabled, each button's icon is
+ * serialized, compressed and interned into the menu's pool. Buttons with identical icons then share a single
+ * compressed entry, and the full {@link ItemStack} (with its {@link org.bukkit.inventory.meta.ItemMeta}) is only
+ * inflated when the button's icon is requested - i.e., when a page containing the button is rendered.
+ *
+ * <p>This trades some CPU time on render for a (potentially substantial) memory saving in large menus where many
+ * buttons have the same, or very similar, icons.
+ *
+ * <p>The pool is not thread-safe and is intended to be used from the server thread, as with the rest of the menu API.
+ */
+public final class SGIconPool {
+
+    /** The interned entries, keyed by the content hash of their serialized icon. */
+    @Nonnull
+    private final Map<Long, List<Entry>> entries = new HashMap<>();
+
+    /** The number of distinct entries in the pool. */
+    private int uniqueIcons;
+
+    /** The total number of live references to entries in this pool. */
+    private int references;
+
+    /** Create a new (empty) {@link SGIconPool}. */
+    public SGIconPool() {}
+
+    /**
+     * Interns the specified icon into the pool, returning the shared entry for its content. The entry's reference
+     * count is incremented, so each call must be balanced with a call to {@link #release(Entry)}.
+     *
+     * <p>The icon is looked up by the content of its serialized form, so it is only compressed if the pool does not
+     * already hold an identical icon.
+     *
+     * @param icon to intern.
+     * @return the shared entry for the icon.
+     */
+    @Nonnull
+    Entry intern(@Nonnull ItemStack icon) {
+        return intern(serialize(Objects.requireNonNull(icon)));
+    }
+
+    /**
+     * Interns the icon held by an entry of another pool (or of this pool) into this pool, as with
+     * {@link #intern(ItemStack)}. The icon is copied in its serialized form, so it needn't be inflated.
+     *
+     * @param entry holding the icon to intern.
+     * @return the shared entry for the icon.
+     */
+    @Nonnull
+    Entry intern(@Nonnull Entry entry) {
+        return intern(entry.decompress());
+    }
+
+    /**
+     * Interns the specified serialized icon into the pool, returning the shared entry for its content.
+     *
+     * @param serialized icon to intern.
+     * @return the shared entry for the icon.
+     */
+    @Nonnull
+    private Entry intern(@Nonnull byte[] serialized) {
+        final long hash = hash(serialized);
+
+        final List<Entry> candidates = entries.computeIfAbsent(hash, key -> new ArrayList<>(1));
+        Entry entry = null;
+        for (Entry candidate : candidates) {
+            if (candidate.holds(serialized)) {
+                entry = candidate;
+                break;
+            }
+        }
+
+        if (entry == null) {
+            entry = new Entry(this, hash, deflate(serialized), serialized.length);
+            candidates.add(entry);
+            uniqueIcons++;
+        }
+
+        entry.references++;
+        references++;
+        return entry;
+    }
+
+    /**
+     * Releases a reference to the specified entry. Once an entry has no remaining references, it is dropped from the
+     * pool. (The entry itself remains usable by anything that still holds it.)
+     *
+     * @param entry to release.
+     */
+    void release(@Nonnull Entry entry) {
+        if (entry.pool != this || entry.references <= 0) return;
+
+        entry.references--;
+        references--;
+        if (entry.references > 0) return;
+
+        final List<Entry> candidates = entries.get(entry.hash);
+        if (candidates == null || !candidates.remove(entry)) return;
+
+        uniqueIcons--;
+        if (candidates.isEmpty()) entries.remove(entry.hash);
+    }
+
+    /**
+     * Returns the number of distinct icons held by the pool.
+     *
+     * @return the number of unique icons.
+     */
+    public int getUniqueIconCount() {
+        return uniqueIcons;
+    }
+
+    /**
+     * Returns the number of buttons currently referencing icons in the pool.
+     *
+     * @return the number of icon references.
+     */
+    public int getReferenceCount() {
+        return references;
+    }
+
+    /**
+     * Returns the number of bytes used to store the (compressed) icons in the pool.
+     *
+     * @return the number of stored bytes.
+     */
+    public long getStoredBytes() {
+        long total = 0;
+        for (List<Entry> candidates : entries.values()) {
+            for (Entry entry : candidates) total += entry.compressed.length;
+        }
+        return total;
+    }
+
+    /**
+     * Returns the number of bytes that the serialized (uncompressed) icons would occupy if every referencing button
+     * held its own copy. This is a lower bound for the in-memory footprint of the equivalent {@link ItemStack}s, which
+     * also carry object headers and a separate {@link org.bukkit.inventory.meta.ItemMeta} per stack.
+     *
+     * @return the number of bytes the icons would occupy without deduplication and compression.
+     */
+    public long getUncompactedBytes() {
+        long total = 0;
+        for (List<Entry> candidates : entries.values()) {
+            for (Entry entry : candidates) total += (long) entry.serializedLength * entry.references;
+        }
+        return total;
+    }
+
+    /**
+     * Returns an estimate of the number of bytes saved by the pool (i.e., {@link #getUncompactedBytes()} less
+     * {@link #getStoredBytes()}).
+     *
+     * @return the estimated number of bytes saved.
+     */
+    public long getEstimatedSavedBytes() {
+        return Math.max(0, getUncompactedBytes() - getStoredBytes());
+    }
+
+    @Override
+    public String toString() {
+        return new StringJoiner(", ", SGIconPool.class.getSimpleName() + "[", "]")
+                .add("uniqueIcons=" + getUniqueIconCount())
+                .add("references=" + getReferenceCount())
+                .add("storedBytes=" + getStoredBytes())
+                .add("uncompactedBytes=" + getUncompactedBytes())
+                .add("estimatedSavedBytes=" + getEstimatedSavedBytes())
+                .toString();
+    }
+
+    /**
+     * Serializes the specified {@link ItemStack} with Bukkit's object stream.
+     *
+     * @param stack to serialize.
+     * @return the serialized stack.
+     */
+    @Nonnull
+    private static byte[] serialize(@Nonnull ItemStack stack) {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (BukkitObjectOutputStream out = new BukkitObjectOutputStream(bytes)) {
+            out.writeObject(stack);
+        } catch (IOException ex) {
+            throw new IllegalArgumentException("Failed to serialize icon for compact storage.", ex);
+        }
+
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Compresses the specified bytes.
+     *
+     * @param data to compress.
+     * @return the compressed data.
+     */
+    @Nonnull
+    private static byte[] deflate(@Nonnull byte[] data) {
+        final Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        try {
+            deflater.setInput(data);
+            deflater.finish();
+
+            final ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(16, data.length / 2));
+            final byte[] buffer = new byte[512];
+            while (!deflater.finished()) {
+                out.write(buffer, 0, deflater.deflate(buffer));
+            }
+
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    /**
+     * Computes a 64-bit (FNV-1a) content hash of the specified bytes.
+     *
+     * @param data to hash.
+     * @return the content hash.
+     */
+    private static long hash(@Nonnull byte[] data) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : data) {
+            hash ^= (b & 0xff);
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    /** A single deduplicated, compressed icon held by an {@link SGIconPool}. */
+    static final class Entry {
+
+        /** The pool that this entry was interned into. */
+        @Nonnull
+        private final SGIconPool pool;
+
+        /** The content hash of the serialized icon. */
+        private final long hash;
+
+        /** The compressed, serialized icon. */
+        @Nonnull
+        private final byte[] compressed;
+
+        /** The length of the serialized icon before compression. */
+        private final int serializedLength;
+
+        /** The number of live references to this entry. */
+        private int references;
+
+        /**
+         * Create a pool entry.
+         *
+         * @param pool that the entry belongs to.
+         * @param hash of the serialized icon.
+         * @param compressed serialized icon.
+         * @param serializedLength of the icon before compression.
+         */
+        private Entry(@Nonnull SGIconPool pool, long hash, @Nonnull byte[] compressed, int serializedLength) {
+            this.pool = pool;
+            this.hash = hash;
+            this.compressed = compressed;
+            this.serializedLength = serializedLength;
+        }
+
+        /**
+         * Inflates (decompresses and deserializes) the icon held by this entry into a new {@link ItemStack}.
+         *
+         * @return the inflated icon.
+         */
+        @Nonnull
+        ItemStack inflate() {
+            try (BukkitObjectInputStream in =
+                    new BukkitObjectInputStream(new ByteArrayInputStream(decompress()))) {
+                return (ItemStack) in.readObject();
+            } catch (IOException | ClassNotFoundException ex) {
+                throw new IllegalStateException("Failed to inflate compacted icon.", ex);
+            }
+        }
+
+        /**
+         * Checks whether this entry holds the specified serialized icon. Decompressing the entry to compare it is
+         * much cheaper than compressing the icon.
+         *
+         * @param serialized icon to compare against.
+         * @return true if the entry holds an identical icon, otherwise false.
+         */
+        private boolean holds(@Nonnull byte[] serialized) {
+            return serializedLength == serialized.length && Arrays.equals(decompress(), serialized);
+        }
+
+        /**
+         * Decompresses the serialized icon held by this entry.
+         *
+         * @return the serialized icon.
+         */
+        @Nonnull
+        private byte[] decompress() {
+            final Inflater inflater = new Inflater();
+            try {
+                inflater.setInput(compressed);
+                final byte[] serialized = new byte[serializedLength];
+                int offset = 0;
+                while (offset < serializedLength && !inflater.finished()) {
+                    offset += inflater.inflate(serialized, offset, serializedLength - offset);
+                }
+
+                return serialized;
+            } catch (DataFormatException ex) {
+                throw new IllegalStateException("Failed to inflate compacted icon.", ex);
+            } finally {
+                inflater.end();
+            }
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package com.samjakob.spigui.buttons;
+
+import java.util.Objects;
+import java.util.function.Supplier;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import org.bukkit.inventory.ItemStack;
+
+/**
+ * An {@link SGButton} whose icon is only built when it is first needed - typically, the first time the slot containing
+ * the button is rendered.
+ *
+ * <p>This is useful for menus with many pages, where building every icon up-front (e.g., with an
+ * {@link com.samjakob.spigui.item.ItemBuilder}) would be wasted on pages that are never opened. With lazy buttons, the
+ * cost of building icons scales with the pages that are actually viewed.
+ *
+ * <pre>{@code
+ * menu.addButton(new SGLazyButton(() -> ItemBuilder.create(Material.PAPER).name("&7Entry #" + i).build())
+ *         .withListener(event -> { ... }));
+ * }</pre>
+ *
+ * <p>The icon may be recomputed by calling {@link #invalidate()} (after which the supplier is invoked again on the
+ * next render), or automatically by setting an invalidation check with {@link #setInvalidator(Invalidator)}. The
+ * check is evaluated once per render of the button's slot (when the menu reads the button's
+ * {@link #getFingerprint() fingerprint}), or explicitly with {@link #revalidate()}.
+ */
+public class SGLazyButton extends SGButton {
+
+    /** Supplies the icon for this button when it is first needed. */
+    @Nonnull
+    private final Supplier<ItemStack> iconSupplier;
+
+    /** An optional check, evaluated once per render, which may request that the icon be recomputed. */
+    @Nullable
+    private Invalidator invalidator;
+
+    /** Whether the icon has been resolved (and is therefore held by the superclass). */
+    private boolean resolved;
+
+    /**
+     * Creates an SGLazyButton whose icon is produced by the specified supplier the first time it is needed.
+     *
+     * <p>The supplied icon is subject to the same checks as {@link SGButton#SGButton(ItemStack)} when it is resolved.
+     *
+     * @param iconSupplier The supplier that builds the button's icon.
+     */
+    public SGLazyButton(@Nonnull Supplier<ItemStack> iconSupplier) {
+        super();
+        this.iconSupplier = Objects.requireNonNull(iconSupplier);
+    }
+
+    /**
+     * Returns the button's icon, building it with the icon supplier if it has not yet been built (or if it has been
+     * invalidated since it was last built).
+     *
+     * <p>The {@link #setInvalidator(Invalidator) invalidation check} is not evaluated here, so that it runs only once
+     * per render (see {@link #getFingerprint()}).
+     *
+     * <p>If the button was placed in a menu with compact icon storage before its icon was resolved, the icon is
+     * compacted into the menu's pool as soon as it is built.
+     *
+     * @return The icon ({@link ItemStack}) that will be used to represent the button.
+     */
+    @Nonnull
+    @Override
+    public ItemStack getIcon() {
+        if (!resolved) {
+            final ItemStack icon = Objects.requireNonNull(
+                    iconSupplier.get(), "The icon supplier for an SGLazyButton must not return null.");
+            super.setIcon(icon);
+            resolved = true;
+
+            // The icon may have just been compacted, so return it as built rather than inflating it again.
+            return icon;
+        }
+
+        return super.getIcon();
+    }
+
+    /**
+     * Changes the button's icon. The icon is treated as resolved until the button is next invalidated.
+     *
+     * @param icon The icon ({@link ItemStack}) that will be used to represent the button.
+     */
+    @Override
+    public void setIcon(@Nonnull ItemStack icon) {
+        super.setIcon(icon);
+        resolved = true;
+    }
+
+    /**
+     * Returns the fingerprint of the button's icon, first {@link #revalidate() revalidating} the icon (and building it,
+     * if necessary).
+     *
+     * <p>Menus read each button's fingerprint once when rendering its slot (before reading its icon), so this is where
+     * the invalidation check is evaluated.
+     *
+     * @return The fingerprint of the icon.
+     */
+    @Override
+    public long getFingerprint() {
+        // Resolve the icon first, so that the fingerprint is recomputed if the icon was rebuilt.
+        revalidate();
+        getIcon();
+        return super.getFingerprint();
+    }
+
+    @Override
+    public boolean isIconResolved() {
+        return resolved;
+    }
+
+    /**
+     * Discards the resolved icon, so that the icon supplier is invoked again the next time the icon is needed (i.e.,
+     * the next time the button is rendered).
+     *
+     * <p>Menus are not automatically refreshed by this method, so if the button is currently being displayed you should
+     * refresh the menu for its viewers afterward.
+     */
+    public void invalidate() {
+        resolved = false;
+    }
+
+    /**
+     * Evaluates the {@link #setInvalidator(Invalidator) invalidation check} (if there is one), discarding the resolved
+     * icon if the check returns true. If the icon has not been resolved, the check is skipped.
+     *
+     * <p>This is called automatically by {@link #getFingerprint()} on each render, so it only needs to be called
+     * directly if the icon is read some other way.
+     */
+    public void revalidate() {
+        if (resolved && invalidator != null && invalidator.isInvalid(this)) resolved = false;
+    }
+
+    /**
+     * Sets an optional check that is evaluated once each time the button is rendered (see {@link #getFingerprint()}).
+     * If the check returns true, the icon is rebuilt with the icon supplier.
+     *
+     * @param invalidator The invalidation check, or null to remove it.
+     */
+    public void setInvalidator(@Nullable Invalidator invalidator) {
+        this.invalidator = invalidator;
+    }
+
+    /**
+     * A chainable alias of {@link #setInvalidator(Invalidator)}.
+     *
+     * @param invalidator The invalidation check, or null to remove it.
+     * @return The {@link SGLazyButton} the invalidation check was applied to.
+     */
+    public SGLazyButton withInvalidator(@Nullable Invalidator invalidator) {
+        setInvalidator(invalidator);
+        return this;
+    }
+
+    /**
+     * A chainable alias of {@link #setListener(SGButtonListener)}.
+     *
+     * @param listener The listener to be called when the button is clicked.
+     * @return The {@link SGLazyButton} the listener was applied to.
+     */
+    @Override
+    public SGLazyButton withListener(@Nullable SGButtonListener listener) {
+        super.withListener(listener);
+        return this;
+    }
+
+    /** Decides whether the resolved icon of an {@link SGLazyButton} is stale and should be rebuilt. */
+    @FunctionalInterface
+    public interface Invalidator {
+
+        /**
+         * Checks whether the button's resolved icon should be rebuilt.
+         *
+         * @param button The button whose icon is being requested.
+         * @return True if the icon should be rebuilt, otherwise false.
+         */
+        boolean isInvalid(@Nonnull SGLazyButton button);
+    }
+}
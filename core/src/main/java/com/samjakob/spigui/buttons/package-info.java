@@ -1,7 +1,8 @@
 /**
  * Clickable elements for SpiGUI menus ({@link com.samjakob.spigui.menu.SGMenu}).
  *
- * <p>Presently, only a button is implemented: {@link com.samjakob.spigui.buttons.SGButton}.
+ * <p>Presently, only a button is implemented: {@link com.samjakob.spigui.buttons.SGButton} (along with
+ * {@link com.samjakob.spigui.buttons.SGLazyButton}, a variant whose icon is built on demand).
  *
  * @since 1.0.0
  * @version 1.3.0
@@ -0,0 +1,461 @@
+package com.samjakob.spigui.heads;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import org.bukkit.Material;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.plugin.Plugin;
+
+import com.samjakob.spigui.SpiGUI;
+import com.samjakob.spigui.buttons.SGButton;
+import com.samjakob.spigui.item.ItemBuilderBase;
+import com.samjakob.spigui.menu.SGMenu;
+
+/**
+ * Resolves player heads in the background, so that menus containing many heads (e.g., leaderboards or friends lists)
+ * can be displayed without waiting for each head's profile to be looked up.
+ *
+ * <p>Setting the owner of a head (i.e., {@link ItemBuilderBase#skullOwner(UUID)}) may require the server to look up
+ * the player's profile, which can block the thread doing so. The resolver instead builds heads on a small number of
+ * asynchronous tasks and keeps the resolved heads in a bounded, least-recently-used cache. While a head is being
+ * resolved, a placeholder head is displayed in its place, which is swapped for the real head once it is available:
+ *
+ * <pre>{@code
+ * final SGHeadResolver heads = spiGUI.getHeadResolver();
+ * for (int i = 0; i < leaders.size(); i++) {
+ *     final Leader leader = leaders.get(i);
+ *     heads.setHead(menu, i, leader.getUniqueId(), head -> head.name("&e" + leader.getName()));
+ * }
+ * }</pre>
+ *
+ * <p>The resolver also prefetches the head of each player that joins the server, so that their head is usually already
+ * cached by the time it is displayed. (This requires the resolver to be registered as a listener, which
+ * {@link SpiGUI#getHeadResolver()} does when it first creates the resolver.)
+ *
+ * <p>Unless otherwise noted, the methods of this class should be called from the server thread. Resolution callbacks
+ * (i.e., the completion of the futures returned by {@link #resolve(UUID)}) are also delivered on the server thread -
+ * except when the plugin is disabled while heads are being resolved, in which case their futures are cancelled on the
+ * asynchronous task, as tasks can no longer be scheduled on the server thread.
+ */
+public final class SGHeadResolver implements Listener {
+
+    /** The default number of resolved heads kept by a resolver. */
+    public static final int DEFAULT_CAPACITY = 1024;
+
+    /** The maximum number of heads resolved concurrently (i.e., the number of asynchronous tasks used). */
+    private static final int MAX_WORKERS = 2;
+
+    /** The material of a player head ({@code PLAYER_HEAD} on 1.13+ or {@code SKULL_ITEM} on older versions). */
+    @Nonnull
+    private static final Material HEAD_MATERIAL = Objects.requireNonNull(
+            Optional.ofNullable(Material.matchMaterial("PLAYER_HEAD")).orElse(Material.matchMaterial("SKULL_ITEM")),
+            "Failed to find the player head material for this server version.");
+
+    /** The plugin that asynchronous tasks are scheduled for. */
+    @Nonnull
+    private final Plugin plugin;
+
+    /** The maximum number of resolved heads to keep. */
+    private final int capacity;
+
+    /** The resolved heads, in least- to most-recently used order. Guarded by {@code this}. */
+    @Nonnull
+    private final LinkedHashMap<UUID, ItemStack> heads;
+
+    /** The futures for heads that are being resolved. */
+    @Nonnull
+    private final Map<UUID, CompletableFuture<ItemStack>> pending = new ConcurrentHashMap<>();
+
+    /** The heads waiting to be resolved. */
+    @Nonnull
+    private final Queue<UUID> queue = new ConcurrentLinkedQueue<>();
+
+    /** The number of asynchronous tasks currently resolving heads. */
+    @Nonnull
+    private final AtomicInteger activeWorkers = new AtomicInteger();
+
+    /** The on-disk store checked before resolving a head (or null if heads are not stored). */
+    @Nullable
+    private volatile SGHeadStore store;
+
+    /** The head displayed while a head is being resolved (or null to use the default). */
+    @Nullable
+    private ItemStack placeholder;
+
+    /** The number of head requests served from the cache. Guarded by {@code this}. */
+    private long hits;
+
+    /** The number of head requests that started resolving a head. Guarded by {@code this}. */
+    private long misses;
+
+    /**
+     * Create a head resolver for the specified plugin. Typically, you should use {@link SpiGUI#getHeadResolver()}
+     * rather than creating your own resolver.
+     *
+     * <p>The resolver must be registered as an event listener for heads to be prefetched when players join.
+     *
+     * @param plugin The plugin that asynchronous tasks should be scheduled for.
+     * @param capacity The maximum number of resolved heads to keep.
+     * @throws IllegalArgumentException if the capacity is not positive.
+     */
+    public SGHeadResolver(@Nonnull Plugin plugin, int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException(
+                    String.format("The capacity of an SGHeadResolver must be positive (got %d).", capacity));
+        }
+
+        this.plugin = Objects.requireNonNull(plugin);
+        this.capacity = capacity;
+        this.heads = new LinkedHashMap<UUID, ItemStack>(16, 0.75f, true) {
+            /** Serial version UID (unused - the cache is not serialized). */
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<UUID, ItemStack> eldest) {
+                return size() > SGHeadResolver.this.capacity;
+            }
+        };
+    }
+
+    /**
+     * Returns the head displayed while a head is being resolved.
+     *
+     * @return A copy of the placeholder head.
+     */
+    @Nonnull
+    public ItemStack getPlaceholder() {
+        if (placeholder == null) {
+            placeholder = ItemBuilderBase.create(HEAD_MATERIAL).skullOwner((UUID) null).build();
+        }
+
+        return placeholder.clone();
+    }
+
+    /**
+     * Sets the head (or any other item) displayed while a head is being resolved.
+     *
+     * @param placeholder The placeholder item, or null to use the default (a head without an owner).
+     */
+    public void setPlaceholder(@Nullable ItemStack placeholder) {
+        this.placeholder = placeholder != null ? placeholder.clone() : null;
+    }
+
+    /**
+     * Returns the on-disk store checked before resolving a head.
+     *
+     * @return The store, or null if heads are not stored.
+     */
+    @Nullable
+    public SGHeadStore getStore() {
+        return store;
+    }
+
+    /**
+     * Sets the on-disk store checked before resolving a head. Heads found in the store are used without being resolved
+     * again, and each head that is resolved is added to the store.
+     *
+     * @param store The store, or null to stop storing heads.
+     * @see SGHeadStore#open(org.bukkit.plugin.Plugin)
+     */
+    public void setStore(@Nullable SGHeadStore store) {
+        this.store = store;
+    }
+
+    /**
+     * Returns the resolved head of the specified player, if it is cached. This does not start resolving the head.
+     *
+     * @param uuid The UUID of the player.
+     * @return A copy of the player's head, or null if it has not been resolved.
+     */
+    @Nullable
+    public ItemStack getCached(@Nonnull UUID uuid) {
+        final ItemStack head = lookup(uuid);
+        return head != null ? head.clone() : null;
+    }
+
+    /**
+     * Returns the head of the specified player if it has been resolved. Otherwise, this starts resolving the head and
+     * returns the placeholder.
+     *
+     * @param uuid The UUID of the player.
+     * @return A copy of the player's head, or of the placeholder.
+     */
+    @Nonnull
+    public ItemStack getHead(@Nonnull UUID uuid) {
+        final ItemStack head = lookup(uuid);
+        if (head != null) return head.clone();
+
+        resolve(uuid);
+        return getPlaceholder();
+    }
+
+    /**
+     * Resolves the head of the specified player. If the head is already cached, the returned future is already
+     * complete. Otherwise, the head is resolved asynchronously and the future is completed on the server thread. If
+     * the head is already being resolved, the future for that resolution is returned.
+     *
+     * <p>If the head cannot be resolved, the future is completed exceptionally. If the plugin is disabled before the
+     * head is resolved, the future is cancelled.
+     *
+     * <p>The item the future is completed with is shared with the cache, and must not be modified (copy it with
+     * {@link ItemStack#clone()} or {@link ItemBuilderBase#from(ItemStack)} first).
+     *
+     * @param uuid The UUID of the player.
+     * @return A future completed with the player's head.
+     */
+    @Nonnull
+    public CompletableFuture<ItemStack> resolve(@Nonnull UUID uuid) {
+        final ItemStack head = lookup(Objects.requireNonNull(uuid));
+        if (head != null) return CompletableFuture.completedFuture(head);
+
+        final CompletableFuture<ItemStack> future = new CompletableFuture<>();
+        final CompletableFuture<ItemStack> existing = pending.putIfAbsent(uuid, future);
+        if (existing != null) return existing;
+
+        // Only requests that start resolving a head are misses (requests for a head already being resolved share the
+        // pending future).
+        synchronized (this) {
+            misses++;
+        }
+
+        queue.add(uuid);
+        startWorkers();
+        return future;
+    }
+
+    /**
+     * Starts resolving the heads of the specified players (if they are not already cached), so that they are likely
+     * to be cached by the time they are displayed.
+     *
+     * @param uuids The UUIDs of the players.
+     */
+    public void prefetch(@Nonnull Collection<UUID> uuids) {
+        for (UUID uuid : uuids) {
+            if (!isCached(uuid)) resolve(uuid);
+        }
+    }
+
+    /**
+     * Places a button displaying the specified player's head into a menu slot. If the head has not been resolved, the
+     * button initially displays the placeholder, and the slot is refreshed for the menu's viewers once the head is
+     * resolved (as long as the button is still in that slot).
+     *
+     * @param menu The menu to place the button into.
+     * @param slot The slot to place the button into.
+     * @param uuid The UUID of the player whose head should be displayed.
+     * @param customizer Customizes the head (e.g., with a name and lore), or null to display the head as-is. This is
+     *     applied to both the placeholder and the resolved head.
+     * @return The button, so that a listener may be attached to it.
+     */
+    @Nonnull
+    public SGButton setHead(
+            @Nonnull SGMenu menu, int slot, @Nonnull UUID uuid, @Nullable Consumer<ItemBuilderBase> customizer) {
+        final ItemStack cached = lookup(uuid);
+        final SGButton button = new SGButton(customize(cached != null ? cached : getPlaceholder(), customizer));
+        menu.setButton(slot, button);
+        if (cached != null) return button;
+
+        resolve(uuid).thenAccept(head -> {
+            if (menu.getButton(slot) != button) return;
+
+            // Put the button back through the menu, so the resolved head is stored as any other icon would be (e.g., in
+            // the menu's icon pool, if compact icon storage is enabled).
+            button.setIcon(customize(head, customizer));
+            menu.setButton(slot, button);
+            menu.refreshSlots(slot, slot);
+        });
+
+        return button;
+    }
+
+    /**
+     * Checks whether the head of the specified player is cached.
+     *
+     * @param uuid The UUID of the player.
+     * @return True if the player's head is cached, otherwise false.
+     */
+    public synchronized boolean isCached(@Nonnull UUID uuid) {
+        return heads.containsKey(uuid);
+    }
+
+    /** Discards every cached head. */
+    public synchronized void clear() {
+        heads.clear();
+    }
+
+    /**
+     * Returns the number of cached heads.
+     *
+     * @return The number of cached heads.
+     */
+    public synchronized int size() {
+        return heads.size();
+    }
+
+    /**
+     * Returns the number of head requests that were served from the cache.
+     *
+     * @return The number of cache hits.
+     */
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    /**
+     * Returns the number of head requests that required the head to be resolved. Requests for a head that was already
+     * being resolved are not counted (nor are they counted as hits).
+     *
+     * @return The number of cache misses.
+     */
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    /**
+     * Prefetches the head of each player that joins the server.
+     *
+     * @param event The join event.
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerJoin(PlayerJoinEvent event) {
+        prefetch(Collections.singleton(event.getPlayer().getUniqueId()));
+    }
+
+    /**
+     * Looks up a head in the cache, counting the request as a hit if it is found.
+     *
+     * @param uuid The UUID of the player.
+     * @return The cached head, or null if it is not cached.
+     */
+    @Nullable
+    private synchronized ItemStack lookup(@Nonnull UUID uuid) {
+        final ItemStack head = heads.get(uuid);
+        if (head != null) hits++;
+        return head;
+    }
+
+    /**
+     * Applies a customizer to a copy of a head.
+     *
+     * @param head The head to customize.
+     * @param customizer The customizer, or null to leave the head as-is.
+     * @return The customized head.
+     */
+    @Nonnull
+    private static ItemStack customize(@Nonnull ItemStack head, @Nullable Consumer<ItemBuilderBase> customizer) {
+        if (customizer == null) return head.clone();
+
+        final ItemBuilderBase builder = ItemBuilderBase.from(head);
+        customizer.accept(builder);
+        return builder.build();
+    }
+
+    /** Starts asynchronous tasks to resolve the queued heads, up to {@link #MAX_WORKERS} at a time. */
+    private void startWorkers() {
+        int active;
+        while (!queue.isEmpty() && (active = activeWorkers.get()) < MAX_WORKERS) {
+            if (activeWorkers.compareAndSet(active, active + 1)) {
+                plugin.getServer().getScheduler().runTaskAsynchronously(plugin, this::drainQueue);
+            }
+        }
+    }
+
+    /** Resolves queued heads until the queue is empty. This runs on an asynchronous task. */
+    private void drainQueue() {
+        try {
+            UUID uuid;
+            while ((uuid = queue.poll()) != null) {
+                // If the plugin has been disabled, tasks can no longer be scheduled for it, so the remaining heads
+                // can't be delivered to the server thread.
+                if (!plugin.isEnabled()) {
+                    cancelPending();
+                    return;
+                }
+
+                resolveNow(uuid);
+            }
+        } finally {
+            activeWorkers.decrementAndGet();
+        }
+
+        // Heads may have been queued after the queue was found empty, but before this worker finished.
+        startWorkers();
+    }
+
+    /**
+     * Builds the head of the specified player (on the current, asynchronous, thread), or reads it from the store, then
+     * caches it and completes its future on the server thread.
+     *
+     * @param uuid The UUID of the player.
+     */
+    private void resolveNow(@Nonnull UUID uuid) {
+        final SGHeadStore store = this.store;
+        final ItemStack stored = store != null ? store.get(uuid) : null;
+
+        final ItemStack head;
+        try {
+            if (stored != null) {
+                head = stored;
+            } else {
+                head = ItemBuilderBase.create(HEAD_MATERIAL).skullOwner(uuid).build();
+                if (store != null) store.put(uuid, head);
+            }
+        } catch (RuntimeException ex) {
+            plugin.getLogger().log(Level.WARNING, String.format("Failed to resolve the head of player %s.", uuid), ex);
+            completeOnServerThread(uuid, future -> future.completeExceptionally(ex));
+            return;
+        }
+
+        completeOnServerThread(uuid, future -> {
+            synchronized (this) {
+                heads.put(uuid, head);
+            }
+
+            future.complete(head);
+        });
+    }
+
+    /**
+     * Completes the pending future for the specified player's head on the server thread. If the plugin has been
+     * disabled (so tasks can no longer be scheduled on the server thread), every pending future is cancelled instead.
+     *
+     * @param uuid The UUID of the player.
+     * @param completion Completes the future.
+     */
+    private void completeOnServerThread(
+            @Nonnull UUID uuid, @Nonnull Consumer<CompletableFuture<ItemStack>> completion) {
+        if (!plugin.isEnabled()) {
+            cancelPending();
+            return;
+        }
+
+        plugin.getServer().getScheduler().runTask(plugin, () -> {
+            final CompletableFuture<ItemStack> future = pending.remove(uuid);
+            if (future != null) completion.accept(future);
+        });
+    }
+
+    /** Discards the queued heads and cancels the future of every head that is being resolved. */
+    private void cancelPending() {
+        queue.clear();
+
+        final Iterator<CompletableFuture<ItemStack>> futures = pending.values().iterator();
+        while (futures.hasNext()) {
+            final CompletableFuture<ItemStack> future = futures.next();
+            futures.remove();
+            future.cancel(false);
+        }
+    }
+}
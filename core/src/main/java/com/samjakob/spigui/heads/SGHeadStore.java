@@ -0,0 +1,353 @@
+package com.samjakob.spigui.heads;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Map;
+import java.util.Objects;
+import java.util.StringJoiner;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import java.util.logging.Level;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitTask;
+
+/**
+ * An on-disk store of resolved player heads, so that heads resolved before a restart need not be resolved again
+ * afterward.
+ *
+ * <p>The store is optional, and is used by attaching it to an {@link SGHeadResolver}. The resolver then checks the
+ * store before resolving a head, and adds each head it resolves to the store:
+ *
+ * <pre>{@code
+ * // In onEnable:
+ * headStore = SGHeadStore.open(this);
+ * spiGUI.getHeadResolver().setStore(headStore);
+ *
+ * // In onDisable:
+ * headStore.close();
+ * }</pre>
+ *
+ * <p>The store file is read on an asynchronous task when the store is opened, so that a large store does not delay
+ * the plugin's startup. Heads are written back periodically (also on an asynchronous task), and only if any have been
+ * added since the last write. Heads older than the store's time-to-live are treated as missing, so that they are
+ * resolved again (e.g., to pick up a player's new skin), and are dropped when the store is next written.
+ */
+public final class SGHeadStore {
+
+    /** The name of the store file created by {@link #open(Plugin)}, in the plugin's data folder. */
+    public static final String DEFAULT_FILE_NAME = "spigui-heads.yml";
+
+    /** The default time-to-live of a stored head (7 days), in milliseconds. */
+    public static final long DEFAULT_TTL = TimeUnit.DAYS.toMillis(7);
+
+    /** The interval between writes of the store file (1 minute), in ticks. */
+    private static final long FLUSH_INTERVAL_TICKS = 20L * 60;
+
+    /** The key of a head within its section of the store file. */
+    private static final String HEAD_KEY = "head";
+
+    /** The key of the time a head was resolved within its section of the store file. */
+    private static final String RESOLVED_AT_KEY = "resolvedAt";
+
+    /** The plugin that asynchronous tasks are scheduled for. */
+    @Nonnull
+    private final Plugin plugin;
+
+    /** The store file. */
+    @Nonnull
+    private final File file;
+
+    /** The time-to-live of a stored head, in milliseconds. */
+    private final long ttl;
+
+    /** Supplies the current time, in milliseconds since the epoch. */
+    @Nonnull
+    private final LongSupplier clock;
+
+    /** The stored heads. */
+    @Nonnull
+    private final Map<UUID, Entry> entries = new ConcurrentHashMap<>();
+
+    /**
+     * Serializes writes of the store file, and guards {@link #flushTask}. This is separate from the monitor of the
+     * store (which guards reading the store file), so that heads can be looked up while the store file is written.
+     */
+    @Nonnull
+    private final Object writeLock = new Object();
+
+    /** Whether the store file has been read. This is only set once the read has completed. */
+    private volatile boolean loaded;
+
+    /** Whether heads have been added since the store file was last written. */
+    private volatile boolean dirty;
+
+    /** The task periodically writing the store file (or null if the store has not been opened, or was closed). */
+    @Nullable
+    private BukkitTask flushTask;
+
+    /**
+     * Create a store backed by the specified file. The store must be opened with {@link #start()} before it is used.
+     *
+     * @param plugin The plugin that asynchronous tasks should be scheduled for.
+     * @param file The store file. It is created when the store is first written, if it does not exist.
+     * @param ttl The time-to-live of a stored head, in milliseconds.
+     * @throws IllegalArgumentException if the time-to-live is not positive.
+     */
+    public SGHeadStore(@Nonnull Plugin plugin, @Nonnull File file, long ttl) {
+        this(plugin, file, ttl, System::currentTimeMillis);
+    }
+
+    /**
+     * Create a store backed by the specified file, which reads the current time from the specified clock.
+     *
+     * @param plugin The plugin that asynchronous tasks should be scheduled for.
+     * @param file The store file.
+     * @param ttl The time-to-live of a stored head, in milliseconds.
+     * @param clock Supplies the current time, in milliseconds since the epoch.
+     * @throws IllegalArgumentException if the time-to-live is not positive.
+     */
+    SGHeadStore(@Nonnull Plugin plugin, @Nonnull File file, long ttl, @Nonnull LongSupplier clock) {
+        if (ttl <= 0) {
+            throw new IllegalArgumentException(
+                    String.format("The time-to-live of an SGHeadStore must be positive (got %d).", ttl));
+        }
+
+        this.plugin = Objects.requireNonNull(plugin);
+        this.file = Objects.requireNonNull(file);
+        this.ttl = ttl;
+        this.clock = Objects.requireNonNull(clock);
+    }
+
+    /**
+     * Opens a store backed by {@link #DEFAULT_FILE_NAME} in the plugin's data folder, with the
+     * {@link #DEFAULT_TTL default time-to-live}.
+     *
+     * @param plugin The plugin that owns the store.
+     * @return The opened store.
+     */
+    @Nonnull
+    public static SGHeadStore open(@Nonnull Plugin plugin) {
+        final SGHeadStore store =
+                new SGHeadStore(plugin, new File(plugin.getDataFolder(), DEFAULT_FILE_NAME), DEFAULT_TTL);
+        store.start();
+        return store;
+    }
+
+    /**
+     * Starts reading the store file (on an asynchronous task) and schedules the periodic writes of the store file.
+     *
+     * <p>Heads may be requested from the store before it has been read, in which case the request waits for the read to
+     * complete. As heads are only requested by the resolver's asynchronous tasks, this never blocks the server thread.
+     */
+    public void start() {
+        synchronized (writeLock) {
+            if (flushTask != null) return;
+
+            plugin.getServer().getScheduler().runTaskAsynchronously(plugin, this::ensureLoaded);
+            flushTask = plugin.getServer()
+                    .getScheduler()
+                    .runTaskTimerAsynchronously(plugin, this::flush, FLUSH_INTERVAL_TICKS, FLUSH_INTERVAL_TICKS);
+        }
+    }
+
+    /**
+     * Stops the periodic writes of the store file and writes any heads added since the last write. This should be
+     * called when the plugin is disabled, so that recently resolved heads are not lost.
+     *
+     * <p>As this is usually called on the server thread, it never reads the store file itself: if the store file has
+     * not finished being read (e.g., because the plugin is disabled shortly after it was enabled), the final write is
+     * skipped, and any heads added since the store was opened will be resolved again.
+     */
+    public void close() {
+        synchronized (writeLock) {
+            if (flushTask != null) {
+                flushTask.cancel();
+                flushTask = null;
+            }
+
+            if (loaded) flush();
+        }
+    }
+
+    /**
+     * Returns the stored head of the specified player, if it has not expired. If the store file has not been read, this
+     * waits for it to be read, so it should not be called from the server thread.
+     *
+     * <p>The returned item is shared with the store, and must not be modified.
+     *
+     * @param uuid The UUID of the player.
+     * @return The stored head, or null if the head is not stored or has expired.
+     */
+    @Nullable
+    public ItemStack get(@Nonnull UUID uuid) {
+        ensureLoaded();
+
+        final Entry entry = entries.get(uuid);
+        return entry != null && !entry.isExpired(clock.getAsLong(), ttl) ? entry.head : null;
+    }
+
+    /**
+     * Stores the head of the specified player, replacing any previously stored head. The head is written to the store
+     * file by the next periodic write.
+     *
+     * @param uuid The UUID of the player.
+     * @param head The player's head. It must not be modified after it is stored.
+     */
+    public void put(@Nonnull UUID uuid, @Nonnull ItemStack head) {
+        entries.put(Objects.requireNonNull(uuid), new Entry(Objects.requireNonNull(head), clock.getAsLong()));
+        dirty = true;
+    }
+
+    /**
+     * Returns the number of stored heads (including any that have expired, but have not yet been dropped).
+     *
+     * @return The number of stored heads.
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Returns the time-to-live of a stored head.
+     *
+     * @return The time-to-live, in milliseconds.
+     */
+    public long getTtl() {
+        return ttl;
+    }
+
+    /**
+     * Writes the store file if any heads have been added since it was last written, dropping any heads that have
+     * expired.
+     *
+     * <p>Heads can still be looked up (and added) while the store file is being written, as the file is written from a
+     * snapshot of the stored heads. If the store file has not been read yet, this reads it first.
+     */
+    public void flush() {
+        synchronized (writeLock) {
+            if (!dirty) return;
+
+            // Heads in the store file that have not been read yet would otherwise be lost.
+            ensureLoaded();
+
+            // Heads added after this point set the flag again, so they're written by the next flush.
+            dirty = false;
+
+            final long now = clock.getAsLong();
+            entries.values().removeIf(entry -> entry.isExpired(now, ttl));
+
+            final YamlConfiguration config = new YamlConfiguration();
+            for (Map.Entry<UUID, Entry> entry : entries.entrySet()) {
+                final ConfigurationSection section = config.createSection(entry.getKey().toString());
+                section.set(HEAD_KEY, entry.getValue().head);
+                section.set(RESOLVED_AT_KEY, entry.getValue().resolvedAt);
+            }
+
+            try {
+                final File folder = file.getParentFile();
+                if (folder != null && !folder.isDirectory() && !folder.mkdirs()) {
+                    throw new IOException(String.format("Failed to create the folder %s.", folder));
+                }
+
+                config.save(file);
+            } catch (IOException ex) {
+                // Try again with the next periodic write.
+                dirty = true;
+                plugin.getLogger().log(Level.WARNING, String.format("Failed to write the head store %s.", file), ex);
+            }
+        }
+    }
+
+    /**
+     * Reads the store file, if it has not already been read. Heads that have expired, or that cannot be read, are
+     * skipped.
+     */
+    private void ensureLoaded() {
+        if (loaded) return;
+
+        synchronized (this) {
+            if (loaded) return;
+
+            try {
+                load();
+            } finally {
+                loaded = true;
+            }
+        }
+    }
+
+    /** Reads the stored heads from the store file (if it exists). This is only called by {@link #ensureLoaded()}. */
+    private void load() {
+        if (!file.isFile()) return;
+
+        final long now = clock.getAsLong();
+        final YamlConfiguration config = YamlConfiguration.loadConfiguration(file);
+        for (String key : config.getKeys(false)) {
+            final ConfigurationSection section = config.getConfigurationSection(key);
+            if (section == null) continue;
+
+            final UUID uuid;
+            try {
+                uuid = UUID.fromString(key);
+            } catch (IllegalArgumentException ex) {
+                continue;
+            }
+
+            final ItemStack head = section.getItemStack(HEAD_KEY);
+            final Entry entry = new Entry(head, section.getLong(RESOLVED_AT_KEY));
+            if (head == null || entry.isExpired(now, ttl)) continue;
+
+            // Heads stored while the file was being read are newer than those in the file.
+            entries.putIfAbsent(uuid, entry);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return new StringJoiner(", ", SGHeadStore.class.getSimpleName() + "[", "]")
+                .add("file=" + file)
+                .add("size=" + entries.size())
+                .add("ttl=" + ttl)
+                .toString();
+    }
+
+    /** A stored head, along with the time it was resolved. */
+    private static final class Entry {
+
+        /** The player's head. */
+        private final ItemStack head;
+
+        /** The time the head was resolved, in milliseconds since the epoch. */
+        private final long resolvedAt;
+
+        /**
+         * Create a stored head.
+         *
+         * @param head The player's head.
+         * @param resolvedAt The time the head was resolved, in milliseconds since the epoch.
+         */
+        private Entry(ItemStack head, long resolvedAt) {
+            this.head = head;
+            this.resolvedAt = resolvedAt;
+        }
+
+        /**
+         * Checks whether the head has expired.
+         *
+         * @param now The current time, in milliseconds since the epoch.
+         * @param ttl The time-to-live of a stored head, in milliseconds.
+         * @return True if the head has expired, otherwise false.
+         */
+        private boolean isExpired(long now, long ttl) {
+            return now - resolvedAt > ttl;
+        }
+    }
+}
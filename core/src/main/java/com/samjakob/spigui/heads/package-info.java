@@ -0,0 +1,7 @@
+/**
+ * Asynchronous resolution and caching of player heads, so that menus displaying many heads do not wait on profile
+ * lookups.
+ *
+ * @see com.samjakob.spigui.heads.SGHeadResolver
+ */
+package com.samjakob.spigui.heads;
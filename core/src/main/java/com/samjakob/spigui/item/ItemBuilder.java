@@ -106,6 +106,18 @@ public final class ItemBuilder implements ItemBuilderBase {
         return new ItemBuilder(ItemBuilderBase.from(stack));
     }
 
+    /**
+     * Create a new {@link ItemBuilder} configured with the options of the provided {@link ItemSpec}.
+     *
+     * @param spec to derive the builder options from.
+     * @return the constructed {@link ItemBuilder}.
+     * @see ItemBuilderBase#from(ItemSpec)
+     */
+    @Nonnull
+    public static ItemBuilder from(@Nonnull ItemSpec spec) {
+        return new ItemBuilder(ItemBuilderBase.from(spec));
+    }
+
     @Nonnull
     @Override
     public ItemBuilder type(@Nonnull Material material) {
@@ -256,4 +268,9 @@ public final class ItemBuilder implements ItemBuilderBase {
     public ItemStack build() {
         return builder.build();
     }
+
+    @Override
+    public long fingerprint() {
+        return builder.fingerprint();
+    }
 }
@@ -64,6 +64,20 @@ public interface ItemBuilderBase {
         return ItemBuilderFactory.get().from(stack);
     }
 
+    /**
+     * Create a new {@link ItemBuilderBase} configured with the options of the provided {@link ItemSpec}.
+     *
+     * <p>If the item does not need to be customized further, prefer {@link ItemSpec#build()}, which re-uses the item if
+     * it has been built before.
+     *
+     * @param spec to derive the builder options from.
+     * @return the constructed {@link ItemBuilderBase}.
+     */
+    @Nonnull
+    static ItemBuilderBase from(@Nonnull ItemSpec spec) {
+        return spec.toBuilder();
+    }
+
     /**
      * Sets the type ({@link Material}) of the ItemStack.
      *
@@ -334,6 +348,20 @@ public interface ItemBuilderBase {
     @Nonnull
     ItemStack build();
 
+    /**
+     * Returns the {@link ItemFingerprint} of the {@link ItemStack} that has been configured on the
+     * {@link ItemBuilderBase} (i.e., the fingerprint of the item that {@link #build()} returns).
+     *
+     * <p>Implementations compute this from the metadata they already hold, rather than building the item and reading
+     * its metadata again. {@link com.samjakob.spigui.buttons.SGButton#from(ItemBuilderBase)} passes it to the button,
+     * so that the button needn't compute it.
+     *
+     * @return The fingerprint of the configured item.
+     */
+    default long fingerprint() {
+        return ItemFingerprint.of(build());
+    }
+
     /**
      * An alias for {@link #build()}.
      *
@@ -1,5 +1,7 @@
 package com.samjakob.spigui.item;
 
+import java.util.Collection;
+import java.util.function.BiConsumer;
 import javax.annotation.Nonnull;
 
 import org.bukkit.Material;
@@ -31,4 +33,36 @@ public interface ItemBuilderConstructors {
      * @return the constructed {@link ItemBuilderBase}.
      */
     ItemBuilderBase from(@Nonnull ItemStack stack);
+
+    /**
+     * Builds one item for each of the specified rows, starting each item from the same template and customizing it
+     * for its row.
+     *
+     * <p>This is equivalent to calling {@link #from(ItemStack)} with the template, applying the customizer and building
+     * the item for each row in turn. Implementations may override it to share work between the rows (e.g., reading
+     * the template's metadata once, rather than once per row).
+     *
+     * @param template the item that each item starts from.
+     * @param rows the rows to build an item for.
+     * @param customizer customizes the builder of an item for its row.
+     * @param <T> the type of the rows.
+     * @throws IllegalArgumentException if the template's type (material) is a non-item type.
+     * @return the built items, in the iteration order of the rows.
+     */
+    @Nonnull
+    default <T> ItemStack[] createBatch(
+            @Nonnull ItemStack template,
+            @Nonnull Collection<? extends T> rows,
+            @Nonnull BiConsumer<ItemBuilderBase, ? super T> customizer) {
+        final ItemStack[] items = new ItemStack[rows.size()];
+
+        int i = 0;
+        for (T row : rows) {
+            final ItemBuilderBase builder = from(template);
+            customizer.accept(builder, row);
+            items[i++] = builder.build();
+        }
+
+        return items;
+    }
 }
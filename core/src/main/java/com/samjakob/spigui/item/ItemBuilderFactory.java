@@ -1,6 +1,8 @@
 package com.samjakob.spigui.item;
 
+import java.util.Collection;
 import java.util.Objects;
+import java.util.function.BiConsumer;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 
@@ -94,4 +96,39 @@ public final class ItemBuilderFactory implements ItemBuilderConstructors {
     public ItemBuilderBase from(@Nonnull ItemStack stack) {
         return getConstructors().from(stack);
     }
+
+    /**
+     * Builds one item for each of the specified rows, starting each item from the same template and customizing it
+     * for its row.
+     *
+     * <p>This is intended for pages of items generated from data (e.g., one item per entry in a shop or leaderboard).
+     * The template is only prepared once for the whole batch, and each item is built without the intermediate copies
+     * made when each is built with its own {@link ItemBuilderBase}.
+     *
+     * <pre>{@code
+     * final ItemStack template = ItemBuilder.create(Material.PAPER).lore("&7Click to view.").build();
+     * final ItemStack[] icons = ItemBuilderFactory.get().createBatch(template, entries, (item, entry) -> item
+     *         .name("&e" + entry.getName())
+     *         .amount(entry.getCount()));
+     * }</pre>
+     *
+     * @param template the item that each item starts from.
+     * @param rows the rows to build an item for.
+     * @param customizer customizes the builder of an item for its row. The builder must not be used once the
+     *     customizer returns.
+     * @param <T> the type of the rows.
+     * @throws IllegalArgumentException if the template's type (material) is a non-item type.
+     * @return the built items, in the iteration order of the rows.
+     */
+    @Nonnull
+    @Override
+    public <T> ItemStack[] createBatch(
+            @Nonnull ItemStack template,
+            @Nonnull Collection<? extends T> rows,
+            @Nonnull BiConsumer<ItemBuilderBase, ? super T> customizer) {
+        Objects.requireNonNull(template);
+        Objects.requireNonNull(rows);
+        Objects.requireNonNull(customizer);
+        return getConstructors().createBatch(template, rows, customizer);
+    }
 }
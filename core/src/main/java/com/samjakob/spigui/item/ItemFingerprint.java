@@ -0,0 +1,123 @@
+package com.samjakob.spigui.item;
+
+import java.util.List;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import org.bukkit.Material;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.ItemMeta;
+
+/**
+ * Computes 64-bit content fingerprints of items, so that items can be checked for changes with a single comparison.
+ *
+ * <p>Comparing items with {@link ItemStack#equals(Object)} or {@link ItemStack#isSimilar(ItemStack)} compares their
+ * full metadata each time, which is expensive for items with lore. A fingerprint is computed once (e.g., when an icon
+ * is set on a {@link com.samjakob.spigui.buttons.SGButton}), after which comparing two items is a comparison of their
+ * fingerprints.
+ *
+ * <p>Items with equal content always have equal fingerprints. Items with different content have different fingerprints
+ * with very high probability, so fingerprints are suitable for skipping work when an item is unchanged, but not as a
+ * substitute for equality where a collision would be harmful. Fingerprints are only comparable within one run of the
+ * server (i.e., they should not be persisted).
+ */
+public final class ItemFingerprint {
+
+    /** The fingerprint of an empty slot (i.e., no item, or air). No item has this fingerprint. */
+    public static final long EMPTY = 0;
+
+    /** The initial value of a fingerprint (the FNV-1a offset basis). */
+    private static final long OFFSET = 0xcbf29ce484222325L;
+
+    /** The multiplier applied for each value mixed into a fingerprint (the FNV-1a prime). */
+    private static final long PRIME = 0x100000001b3L;
+
+    /** Private constructor. */
+    private ItemFingerprint() {}
+
+    /**
+     * Computes the fingerprint of the specified item.
+     *
+     * <p>This reads the item's metadata once. Where the metadata is already at hand (e.g., in an
+     * {@link ItemBuilderBase} implementation), use {@link #of(Material, int, int, ItemMeta)} instead.
+     *
+     * @param stack The item (or null for an empty slot).
+     * @return The fingerprint of the item, or {@link #EMPTY} if it is null or air.
+     */
+    public static long of(@Nullable ItemStack stack) {
+        if (stack == null || stack.getType() == Material.AIR) return EMPTY;
+
+        final ItemMeta meta = stack.hasItemMeta() ? stack.getItemMeta() : null;
+        return of(stack.getType(), stack.getAmount(), stack.getDurability(), meta);
+    }
+
+    /**
+     * Computes the fingerprint of an item with the specified properties.
+     *
+     * @param type The type of the item.
+     * @param amount The amount of the item.
+     * @param durability The durability (damage) of the item, as returned by {@link ItemStack#getDurability()}.
+     * @param meta The metadata of the item (or null if it has none).
+     * @return The fingerprint of the item.
+     */
+    public static long of(@Nonnull Material type, int amount, int durability, @Nullable ItemMeta meta) {
+        long hash = OFFSET;
+        hash = mix(hash, type.ordinal());
+        hash = mix(hash, amount);
+        hash = mix(hash, durability);
+
+        if (meta != null) {
+            // The metadata's hash code covers all of its content, but is only 32 bits. The text (which is what
+            // typically differs between icons) is mixed in separately, so that it contributes the full 64 bits.
+            if (meta.hasDisplayName()) hash = mix(hash, meta.getDisplayName());
+
+            final List<String> lore = meta.hasLore() ? meta.getLore() : null;
+            if (lore != null) {
+                hash = mix(hash, lore.size());
+                for (String line : lore) hash = mix(hash, line);
+            }
+
+            hash = mix(hash, meta.hashCode());
+        }
+
+        return hash != EMPTY ? hash : 1;
+    }
+
+    /**
+     * Mixes a value into a fingerprint.
+     *
+     * @param hash The fingerprint so far.
+     * @param value The value to mix in.
+     * @return The updated fingerprint.
+     */
+    private static long mix(long hash, int value) {
+        for (int shift = 0; shift < 32; shift += 8) {
+            hash ^= (value >>> shift) & 0xff;
+            hash *= PRIME;
+        }
+
+        return hash;
+    }
+
+    /**
+     * Mixes a string into a fingerprint.
+     *
+     * @param hash The fingerprint so far.
+     * @param value The string to mix in (or null).
+     * @return The updated fingerprint.
+     */
+    private static long mix(long hash, @Nullable String value) {
+        if (value == null) return mix(hash, -1);
+
+        hash = mix(hash, value.length());
+        for (int i = 0; i < value.length(); i++) {
+            final char c = value.charAt(i);
+            hash ^= c & 0xff;
+            hash *= PRIME;
+            hash ^= c >>> 8;
+            hash *= PRIME;
+        }
+
+        return hash;
+    }
+}
@@ -0,0 +1,496 @@
+package com.samjakob.spigui.item;
+
+import java.util.*;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.Immutable;
+
+import org.bukkit.Material;
+import org.bukkit.enchantments.Enchantment;
+import org.bukkit.inventory.ItemFlag;
+import org.bukkit.inventory.ItemStack;
+
+/**
+ * An immutable, hashable description of an item - i.e., the options that would be passed to an
+ * {@link ItemBuilderBase} to build it.
+ *
+ * <p>Because two specs with the same options are equal, a spec can be used as a key to look up an item that has
+ * already been built. {@link #build()} does exactly that with the shared {@link ItemSpecCache}, so icons that are built
+ * over and over (e.g., toolbar arrows, fillers or status badges) are only built once:
+ *
+ * <pre>{@code
+ * private static final ItemSpec FILLER =
+ *         ItemSpec.of(Material.STAINED_GLASS_PANE).withColor(ItemColor.GRAY).withName(" ");
+ *
+ * menu.setButton(slot, new SGButton(FILLER.build()));
+ * }</pre>
+ *
+ * <p>Each {@code with...} method returns a new spec, leaving the original unchanged. Names and lore are stored as they
+ * were given (i.e., with '&amp;' color codes untranslated), and are translated when the item is built.
+ *
+ * @see ItemBuilderBase#from(ItemSpec)
+ */
+@Immutable
+public final class ItemSpec {
+
+    /** The type of the item. */
+    @Nonnull
+    private final Material type;
+
+    /** The number of items in the stack. */
+    private final int amount;
+
+    /** The display name of the item, or null to leave it unset. */
+    @Nullable
+    private final String name;
+
+    /** The lore of the item (an unmodifiable list), or null to leave it unset. */
+    @Nullable
+    private final List<String> lore;
+
+    /** The color of the item, or null to leave it unset. */
+    @Nullable
+    private final ItemColor color;
+
+    /** The durability of the item, or null to leave it unset. */
+    @Nullable
+    private final Integer durability;
+
+    /** The enchantments (and their levels) applied to the item (an unmodifiable map). */
+    @Nonnull
+    private final Map<Enchantment, Integer> enchantments;
+
+    /** The flags applied to the item (an unmodifiable set). */
+    @Nonnull
+    private final Set<ItemFlag> flags;
+
+    /** The UUID of the player whose head this item is, or null to leave it unset. */
+    @Nullable
+    private final UUID skullOwner;
+
+    /** The hash code of the spec, computed once as the spec is immutable. */
+    private final int hashCode;
+
+    /**
+     * Create a spec. The collections must already be unmodifiable copies.
+     *
+     * @param type The type of the item.
+     * @param amount The number of items in the stack.
+     * @param name The display name of the item.
+     * @param lore The lore of the item.
+     * @param color The color of the item.
+     * @param durability The durability of the item.
+     * @param enchantments The enchantments applied to the item.
+     * @param flags The flags applied to the item.
+     * @param skullOwner The UUID of the player whose head this item is.
+     */
+    private ItemSpec(
+            @Nonnull Material type,
+            int amount,
+            @Nullable String name,
+            @Nullable List<String> lore,
+            @Nullable ItemColor color,
+            @Nullable Integer durability,
+            @Nonnull Map<Enchantment, Integer> enchantments,
+            @Nonnull Set<ItemFlag> flags,
+            @Nullable UUID skullOwner) {
+        if (type == Material.AIR) {
+            throw new IllegalArgumentException(String.format("Cannot create ItemSpec for invalid type: %s", type));
+        }
+
+        this.type = type;
+        this.amount = amount;
+        this.name = name;
+        this.lore = lore;
+        this.color = color;
+        this.durability = durability;
+        this.enchantments = enchantments;
+        this.flags = flags;
+        this.skullOwner = skullOwner;
+        this.hashCode = Objects.hash(type, amount, name, lore, color, durability, enchantments, flags, skullOwner);
+    }
+
+    /**
+     * Create a spec for a single item of the specified type, with no other options set.
+     *
+     * @param type The type of the item.
+     * @return The spec.
+     * @throws IllegalArgumentException if the type is a non-item type.
+     */
+    @Nonnull
+    public static ItemSpec of(@Nonnull Material type) {
+        return new ItemSpec(
+                Objects.requireNonNull(type),
+                1,
+                null,
+                null,
+                null,
+                null,
+                Collections.emptyMap(),
+                Collections.emptySet(),
+                null);
+    }
+
+    /**
+     * Returns a copy of this spec with the specified type.
+     *
+     * @param type The type of the item.
+     * @return The updated spec.
+     * @see ItemBuilderBase#type(Material)
+     */
+    @Nonnull
+    public ItemSpec withType(@Nonnull Material type) {
+        return new ItemSpec(
+                Objects.requireNonNull(type), amount, name, lore, color, durability, enchantments, flags, skullOwner);
+    }
+
+    /**
+     * Returns a copy of this spec with the specified amount.
+     *
+     * @param amount The number of items in the stack.
+     * @return The updated spec.
+     * @see ItemBuilderBase#amount(int)
+     */
+    @Nonnull
+    public ItemSpec withAmount(int amount) {
+        return new ItemSpec(type, amount, name, lore, color, durability, enchantments, flags, skullOwner);
+    }
+
+    /**
+     * Returns a copy of this spec with the specified display name.
+     *
+     * @param name The display name of the item (with '&amp;' color codes), or null to leave it unset.
+     * @return The updated spec.
+     * @see ItemBuilderBase#name(String)
+     */
+    @Nonnull
+    public ItemSpec withName(@Nullable String name) {
+        return new ItemSpec(type, amount, name, lore, color, durability, enchantments, flags, skullOwner);
+    }
+
+    /**
+     * Returns a copy of this spec with the specified lore.
+     *
+     * @param lore The lines of the item's lore (with '&amp;' color codes), or null to leave it unset.
+     * @return The updated spec.
+     * @see ItemBuilderBase#lore(String...)
+     */
+    @Nonnull
+    public ItemSpec withLore(@Nullable String... lore) {
+        return withLore(lore != null ? Arrays.asList(lore) : null);
+    }
+
+    /**
+     * Returns a copy of this spec with the specified lore.
+     *
+     * @param lore The lines of the item's lore (with '&amp;' color codes), or null to leave it unset.
+     * @return The updated spec.
+     * @see ItemBuilderBase#lore(List)
+     */
+    @Nonnull
+    public ItemSpec withLore(@Nullable List<String> lore) {
+        return new ItemSpec(
+                type,
+                amount,
+                name,
+                lore != null ? Collections.unmodifiableList(new ArrayList<>(lore)) : null,
+                color,
+                durability,
+                enchantments,
+                flags,
+                skullOwner);
+    }
+
+    /**
+     * Returns a copy of this spec with the specified color.
+     *
+     * @param color The color of the item, or null to leave it unset.
+     * @return The updated spec.
+     * @see ItemBuilderBase#color(ItemColor)
+     */
+    @Nonnull
+    public ItemSpec withColor(@Nullable ItemColor color) {
+        return new ItemSpec(type, amount, name, lore, color, durability, enchantments, flags, skullOwner);
+    }
+
+    /**
+     * Returns a copy of this spec with the specified durability.
+     *
+     * @param durability The durability of the item, or null to leave it unset.
+     * @return The updated spec.
+     * @see ItemBuilderBase#durability(int)
+     */
+    @Nonnull
+    public ItemSpec withDurability(@Nullable Integer durability) {
+        return new ItemSpec(type, amount, name, lore, color, durability, enchantments, flags, skullOwner);
+    }
+
+    /**
+     * Returns a copy of this spec with the specified enchantment added (or its level changed).
+     *
+     * @param enchantment The enchantment to add.
+     * @param level The level of the enchantment.
+     * @return The updated spec.
+     * @see ItemBuilderBase#enchant(Enchantment, int)
+     */
+    @Nonnull
+    public ItemSpec withEnchantment(@Nonnull Enchantment enchantment, int level) {
+        final Map<Enchantment, Integer> updated = new LinkedHashMap<>(enchantments);
+        updated.put(Objects.requireNonNull(enchantment), level);
+        return new ItemSpec(
+                type,
+                amount,
+                name,
+                lore,
+                color,
+                durability,
+                Collections.unmodifiableMap(updated),
+                flags,
+                skullOwner);
+    }
+
+    /**
+     * Returns a copy of this spec with the specified enchantment removed.
+     *
+     * @param enchantment The enchantment to remove.
+     * @return The updated spec.
+     * @see ItemBuilderBase#unenchant(Enchantment)
+     */
+    @Nonnull
+    public ItemSpec withoutEnchantment(@Nonnull Enchantment enchantment) {
+        if (!enchantments.containsKey(enchantment)) return this;
+
+        final Map<Enchantment, Integer> updated = new LinkedHashMap<>(enchantments);
+        updated.remove(enchantment);
+        return new ItemSpec(
+                type,
+                amount,
+                name,
+                lore,
+                color,
+                durability,
+                Collections.unmodifiableMap(updated),
+                flags,
+                skullOwner);
+    }
+
+    /**
+     * Returns a copy of this spec with the specified flags added.
+     *
+     * @param flags The flags to add.
+     * @return The updated spec.
+     * @see ItemBuilderBase#flag(ItemFlag...)
+     */
+    @Nonnull
+    public ItemSpec withFlags(@Nonnull ItemFlag... flags) {
+        final EnumSet<ItemFlag> updated = EnumSet.noneOf(ItemFlag.class);
+        updated.addAll(this.flags);
+        updated.addAll(Arrays.asList(flags));
+        return new ItemSpec(
+                type,
+                amount,
+                name,
+                lore,
+                color,
+                durability,
+                enchantments,
+                Collections.unmodifiableSet(updated),
+                skullOwner);
+    }
+
+    /**
+     * Returns a copy of this spec with the specified flags removed.
+     *
+     * @param flags The flags to remove.
+     * @return The updated spec.
+     * @see ItemBuilderBase#deflag(ItemFlag...)
+     */
+    @Nonnull
+    public ItemSpec withoutFlags(@Nonnull ItemFlag... flags) {
+        final EnumSet<ItemFlag> updated = EnumSet.noneOf(ItemFlag.class);
+        updated.addAll(this.flags);
+        updated.removeAll(Arrays.asList(flags));
+        return new ItemSpec(
+                type,
+                amount,
+                name,
+                lore,
+                color,
+                durability,
+                enchantments,
+                Collections.unmodifiableSet(updated),
+                skullOwner);
+    }
+
+    /**
+     * Returns a copy of this spec with the specified skull owner.
+     *
+     * @param skullOwner The UUID of the player whose head this item is, or null to leave it unset.
+     * @return The updated spec.
+     * @see ItemBuilderBase#skullOwner(UUID)
+     */
+    @Nonnull
+    public ItemSpec withSkullOwner(@Nullable UUID skullOwner) {
+        return new ItemSpec(type, amount, name, lore, color, durability, enchantments, flags, skullOwner);
+    }
+
+    /**
+     * Returns the type of the item.
+     *
+     * @return The item's type.
+     */
+    @Nonnull
+    public Material getType() {
+        return type;
+    }
+
+    /**
+     * Returns the number of items in the stack.
+     *
+     * @return The item's amount.
+     */
+    public int getAmount() {
+        return amount;
+    }
+
+    /**
+     * Returns the display name of the item (with '&amp;' color codes untranslated).
+     *
+     * @return The item's name, or null if it is unset.
+     */
+    @Nullable
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns the lore of the item (with '&amp;' color codes untranslated).
+     *
+     * @return The item's lore (an unmodifiable list), or null if it is unset.
+     */
+    @Nullable
+    public List<String> getLore() {
+        return lore;
+    }
+
+    /**
+     * Returns the color of the item.
+     *
+     * @return The item's color, or null if it is unset.
+     */
+    @Nullable
+    public ItemColor getColor() {
+        return color;
+    }
+
+    /**
+     * Returns the durability of the item.
+     *
+     * @return The item's durability, or null if it is unset.
+     */
+    @Nullable
+    public Integer getDurability() {
+        return durability;
+    }
+
+    /**
+     * Returns the enchantments applied to the item.
+     *
+     * @return The item's enchantments and their levels (an unmodifiable map).
+     */
+    @Nonnull
+    public Map<Enchantment, Integer> getEnchantments() {
+        return enchantments;
+    }
+
+    /**
+     * Returns the flags applied to the item.
+     *
+     * @return The item's flags (an unmodifiable set).
+     */
+    @Nonnull
+    public Set<ItemFlag> getFlags() {
+        return flags;
+    }
+
+    /**
+     * Returns the UUID of the player whose head this item is.
+     *
+     * @return The skull owner, or null if it is unset.
+     */
+    @Nullable
+    public UUID getSkullOwner() {
+        return skullOwner;
+    }
+
+    /**
+     * Creates a new {@link ItemBuilderBase} configured with this spec's options, so that the item can be customized
+     * further.
+     *
+     * @return The configured {@link ItemBuilderBase}.
+     */
+    @Nonnull
+    public ItemBuilderBase toBuilder() {
+        final ItemBuilderBase builder = ItemBuilderBase.create(type).amount(amount);
+
+        if (name != null) builder.name(name);
+        if (lore != null) builder.lore(lore);
+        if (color != null) builder.color(color);
+        if (durability != null) builder.durability(durability);
+        for (Map.Entry<Enchantment, Integer> enchantment : enchantments.entrySet()) {
+            builder.enchant(enchantment.getKey(), enchantment.getValue());
+        }
+        if (!flags.isEmpty()) builder.flag(flags.toArray(new ItemFlag[0]));
+        if (skullOwner != null) builder.skullOwner(skullOwner);
+
+        return builder;
+    }
+
+    /**
+     * Returns the item described by this spec, from the shared {@link ItemSpecCache} if it has been built before.
+     *
+     * @return A copy of the item described by this spec.
+     * @see ItemSpecCache#build(ItemSpec)
+     */
+    @Nonnull
+    public ItemStack build() {
+        return ItemSpecCache.get().build(this);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof ItemSpec)) return false;
+
+        final ItemSpec other = (ItemSpec) o;
+        return hashCode == other.hashCode
+                && amount == other.amount
+                && type == other.type
+                && Objects.equals(name, other.name)
+                && Objects.equals(lore, other.lore)
+                && color == other.color
+                && Objects.equals(durability, other.durability)
+                && enchantments.equals(other.enchantments)
+                && flags.equals(other.flags)
+                && Objects.equals(skullOwner, other.skullOwner);
+    }
+
+    @Override
+    public int hashCode() {
+        return hashCode;
+    }
+
+    @Override
+    public String toString() {
+        final StringJoiner joiner = new StringJoiner(", ", ItemSpec.class.getSimpleName() + "[", "]");
+        joiner.add("type=" + type).add("amount=" + amount);
+        if (name != null) joiner.add("name='" + name + "'");
+        if (lore != null) joiner.add("lore=" + lore);
+        if (color != null) joiner.add("color=" + color);
+        if (durability != null) joiner.add("durability=" + durability);
+        if (!enchantments.isEmpty()) joiner.add("enchantments=" + enchantments);
+        if (!flags.isEmpty()) joiner.add("flags=" + flags);
+        if (skullOwner != null) joiner.add("skullOwner=" + skullOwner);
+        return joiner.toString();
+    }
+}
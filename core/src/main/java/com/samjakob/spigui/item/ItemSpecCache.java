@@ -0,0 +1,208 @@
+package com.samjakob.spigui.item;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.StringJoiner;
+import java.util.function.Function;
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.ThreadSafe;
+
+import org.bukkit.inventory.ItemStack;
+
+/**
+ * A bounded, least-recently-used cache of the items built from {@link ItemSpec}s.
+ *
+ * <p>The first time a spec is requested, the item is built with an {@link ItemBuilderBase} and kept. Subsequent
+ * requests for an equal spec return the kept item without building it again. Once the cache is full, the spec that
+ * was least recently requested is discarded to make room.
+ *
+ * <p>A shared cache is available with {@link #get()} (and is used by {@link ItemSpec#build()}), but separate caches
+ * can be created where a different capacity is wanted.
+ */
+@ThreadSafe
+public final class ItemSpecCache {
+
+    /** The default number of items kept by a cache. */
+    public static final int DEFAULT_CAPACITY = 256;
+
+    /** The shared cache. */
+    @Nonnull
+    private static final ItemSpecCache SHARED = new ItemSpecCache(DEFAULT_CAPACITY);
+
+    /** The maximum number of items kept by the cache. */
+    private final int capacity;
+
+    /** Builds the item described by a spec. */
+    @Nonnull
+    private final Function<ItemSpec, ItemStack> builder;
+
+    /** The built items, in least- to most-recently requested order. */
+    @Nonnull
+    private final LinkedHashMap<ItemSpec, ItemStack> items;
+
+    /** The number of requests that were served from the cache. */
+    private long hits;
+
+    /** The number of requests that required an item to be built. */
+    private long misses;
+
+    /** The number of items that were discarded to make room for others. */
+    private long evictions;
+
+    /**
+     * Create a cache that keeps up to the specified number of items.
+     *
+     * @param capacity The maximum number of items to keep.
+     * @throws IllegalArgumentException if the capacity is not positive.
+     */
+    public ItemSpecCache(int capacity) {
+        this(capacity, spec -> spec.toBuilder().build());
+    }
+
+    /**
+     * Create a cache that keeps up to the specified number of items, building them with the specified function.
+     *
+     * @param capacity The maximum number of items to keep.
+     * @param builder Builds the item described by a spec.
+     * @throws IllegalArgumentException if the capacity is not positive.
+     */
+    ItemSpecCache(int capacity, @Nonnull Function<ItemSpec, ItemStack> builder) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException(
+                    String.format("The capacity of an ItemSpecCache must be positive (got %d).", capacity));
+        }
+
+        this.capacity = capacity;
+        this.builder = Objects.requireNonNull(builder);
+        this.items = new LinkedHashMap<ItemSpec, ItemStack>(16, 0.75f, true) {
+            /** Serial version UID (unused - the cache is not serialized). */
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<ItemSpec, ItemStack> eldest) {
+                if (size() <= ItemSpecCache.this.capacity) return false;
+                evictions++;
+                return true;
+            }
+        };
+    }
+
+    /**
+     * Get the shared {@link ItemSpecCache} instance.
+     *
+     * @return the shared cache.
+     */
+    @Nonnull
+    public static ItemSpecCache get() {
+        return SHARED;
+    }
+
+    /**
+     * Returns a copy of the item described by the spec, building (and caching) it if it is not already cached.
+     *
+     * <p>The copy may be freely modified.
+     *
+     * @param spec The spec of the item.
+     * @return A copy of the item.
+     */
+    @Nonnull
+    public ItemStack build(@Nonnull ItemSpec spec) {
+        return buildShared(spec).clone();
+    }
+
+    /**
+     * Returns the cached item described by the spec, building (and caching) it if it is not already cached.
+     *
+     * <p>This avoids copying the item, so the returned item is shared with every other caller requesting an equal
+     * spec. It <b>must not</b> be modified. Items may safely be placed into inventories (e.g., as button icons), as
+     * Bukkit copies the item when it is set in an inventory.
+     *
+     * @param spec The spec of the item.
+     * @return The shared item.
+     */
+    @Nonnull
+    public synchronized ItemStack buildShared(@Nonnull ItemSpec spec) {
+        final ItemStack cached = items.get(Objects.requireNonNull(spec));
+        if (cached != null) {
+            hits++;
+            return cached;
+        }
+
+        misses++;
+        final ItemStack built = Objects.requireNonNull(builder.apply(spec));
+        items.put(spec, built);
+        return built;
+    }
+
+    /** Discards every cached item. The statistics are not reset. */
+    public synchronized void clear() {
+        items.clear();
+    }
+
+    /**
+     * Returns the maximum number of items kept by the cache.
+     *
+     * @return The cache's capacity.
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Returns the number of items currently cached.
+     *
+     * @return The number of cached items.
+     */
+    public synchronized int size() {
+        return items.size();
+    }
+
+    /**
+     * Returns the number of requests that were served from the cache.
+     *
+     * @return The number of cache hits.
+     */
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    /**
+     * Returns the number of requests that required an item to be built.
+     *
+     * @return The number of cache misses.
+     */
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    /**
+     * Returns the number of items that were discarded to make room for others.
+     *
+     * @return The number of evictions.
+     */
+    public synchronized long getEvictions() {
+        return evictions;
+    }
+
+    /**
+     * Returns the proportion of requests that were served from the cache.
+     *
+     * @return The hit rate, between 0 and 1 (or 0 if there have been no requests).
+     */
+    public synchronized double getHitRate() {
+        final long requests = hits + misses;
+        return requests == 0 ? 0 : (double) hits / requests;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return new StringJoiner(", ", ItemSpecCache.class.getSimpleName() + "[", "]")
+                .add("size=" + items.size())
+                .add("capacity=" + capacity)
+                .add("hits=" + hits)
+                .add("misses=" + misses)
+                .add("evictions=" + evictions)
+                .toString();
+    }
+}
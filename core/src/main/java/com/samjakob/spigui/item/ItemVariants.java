@@ -0,0 +1,286 @@
+package com.samjakob.spigui.item;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.ObjIntConsumer;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.ItemMeta;
+
+import com.samjakob.spigui.text.ColorCodes;
+
+/**
+ * Produces many variants of one base item, where each variant differs from the base only in a few properties (its
+ * amount, name or lines of lore).
+ *
+ * <p>This is intended for menus containing many similar icons, such as quantity pickers or numbered slots. Rather than
+ * building each icon with {@link ItemBuilder#from(ItemStack)} (which copies the item and its meta, and copies the meta
+ * again for each change), the base item is frozen once, and each variant copies only the parts it overrides:
+ *
+ * <ul>
+ *   <li>A variant overriding only the amount is given the base's meta as-is, without it being read or modified.
+ *   <li>A variant overriding the name or lore copies the base's meta once, and applies every override to that copy.
+ *   <li>The base's lore is read from its meta once, and is the starting point of every variant that replaces
+ *       individual lines of it. It is copied as-is (the base item's lore has already been translated, e.g. by the
+ *       {@link ItemBuilder} that built it), and only the replacement lines are translated.
+ * </ul>
+ *
+ * <pre>{@code
+ * final ItemStack emerald = ItemBuilder.create(Material.EMERALD).lore("&7Click to buy.").build();
+ * final ItemStack[] icons = ItemVariants.of(emerald).buildAll(64, (variant, i) -> variant.amount(i + 1).name("&aBuy"));
+ * }</pre>
+ */
+public final class ItemVariants {
+
+    /** The base item, without its meta. */
+    @Nonnull
+    private final ItemStack base;
+
+    /** The base item's meta (or null if it has none). This is never modified. */
+    @Nullable
+    private final ItemMeta baseMeta;
+
+    /** The base item's lore, as read from its meta (without any further translation). */
+    @Nonnull
+    private final List<String> baseLore;
+
+    /**
+     * Create a variant producer for the specified base item.
+     *
+     * @param base The base item, without its meta.
+     * @param baseMeta The base item's meta (or null if it has none).
+     */
+    private ItemVariants(@Nonnull ItemStack base, @Nullable ItemMeta baseMeta) {
+        this.base = base;
+        this.baseMeta = baseMeta;
+        this.baseLore = baseMeta != null && baseMeta.hasLore()
+                ? Collections.unmodifiableList(new ArrayList<>(Objects.requireNonNull(baseMeta.getLore())))
+                : Collections.<String>emptyList();
+    }
+
+    /**
+     * Creates a variant producer for the specified base item. The base item is copied, so it may be modified afterward
+     * without affecting the variants.
+     *
+     * @param base The base item.
+     * @return The variant producer.
+     */
+    @Nonnull
+    public static ItemVariants of(@Nonnull ItemStack base) {
+        final ItemStack stripped = Objects.requireNonNull(base).clone();
+        final ItemMeta meta = stripped.hasItemMeta() ? stripped.getItemMeta() : null;
+        stripped.setItemMeta(null);
+        return new ItemVariants(stripped, meta);
+    }
+
+    /**
+     * Returns a copy of the base item.
+     *
+     * @return The base item.
+     */
+    @Nonnull
+    public ItemStack getBase() {
+        return build(new Variant());
+    }
+
+    /**
+     * Builds a single variant of the base item.
+     *
+     * @param overrides Applies the overrides of the variant.
+     * @return The variant.
+     */
+    @Nonnull
+    public ItemStack build(@Nonnull Consumer<Variant> overrides) {
+        final Variant variant = new Variant();
+        overrides.accept(variant);
+        return build(variant);
+    }
+
+    /**
+     * Builds the specified number of variants of the base item. The same {@link Variant} is passed to the overrides
+     * function for each index, and is reset between them, so the overrides of one variant are not carried over to the
+     * next.
+     *
+     * @param count The number of variants to build.
+     * @param overrides Applies the overrides of the variant with the specified index.
+     * @return The variants, in order of their indexes.
+     * @throws IllegalArgumentException if the count is negative.
+     */
+    @Nonnull
+    public ItemStack[] buildAll(int count, @Nonnull ObjIntConsumer<Variant> overrides) {
+        if (count < 0) {
+            throw new IllegalArgumentException(
+                    String.format("The number of variants to build must not be negative (got %d).", count));
+        }
+
+        final ItemStack[] variants = new ItemStack[count];
+        final Variant variant = new Variant();
+        for (int i = 0; i < count; i++) {
+            variant.reset();
+            overrides.accept(variant, i);
+            variants[i] = build(variant);
+        }
+
+        return variants;
+    }
+
+    /**
+     * Builds a variant of the base item.
+     *
+     * @param variant The overrides of the variant.
+     * @return The variant.
+     */
+    @Nonnull
+    private ItemStack build(@Nonnull Variant variant) {
+        final ItemStack stack = base.clone();
+        if (variant.amount != null) stack.setAmount(variant.amount);
+        if (baseMeta == null) return stack;
+
+        if (!variant.overridesMeta()) {
+            stack.setItemMeta(baseMeta);
+            return stack;
+        }
+
+        final ItemMeta meta = baseMeta.clone();
+        if (variant.name != null) meta.setDisplayName(ColorCodes.translateItemText(variant.name));
+        if (variant.lore != null || !variant.loreLines.isEmpty()) meta.setLore(variant.buildLore(baseLore));
+        stack.setItemMeta(meta);
+        return stack;
+    }
+
+    /**
+     * The overrides applied to the base item to produce one variant. Properties that are not overridden are taken from
+     * the base item.
+     */
+    public static final class Variant {
+
+        /** The amount of the variant (or null to use the base item's amount). */
+        @Nullable
+        private Integer amount;
+
+        /** The (untranslated) name of the variant (or null to use the base item's name). */
+        @Nullable
+        private String name;
+
+        /** The (untranslated) lore of the variant (or null to use the base item's lore). */
+        @Nullable
+        private List<String> lore;
+
+        /** The (untranslated) lines of lore replaced in the variant, by line index. */
+        @Nonnull
+        private final Map<Integer, String> loreLines = new HashMap<>();
+
+        /** Create an empty set of overrides. */
+        private Variant() {}
+
+        /**
+         * Overrides the amount of the variant.
+         *
+         * @param amount The amount of the variant.
+         * @return this, for chaining.
+         */
+        @Nonnull
+        public Variant amount(int amount) {
+            this.amount = amount;
+            return this;
+        }
+
+        /**
+         * Overrides the name of the variant.
+         *
+         * @param name The name of the variant (with '&amp;' color codes).
+         * @return this, for chaining.
+         */
+        @Nonnull
+        public Variant name(@Nonnull String name) {
+            this.name = Objects.requireNonNull(name);
+            return this;
+        }
+
+        /**
+         * Overrides the lore of the variant.
+         *
+         * @param lore The lines of lore of the variant (with '&amp;' color codes).
+         * @return this, for chaining.
+         */
+        @Nonnull
+        public Variant lore(@Nonnull String... lore) {
+            return lore(Arrays.asList(lore));
+        }
+
+        /**
+         * Overrides the lore of the variant.
+         *
+         * @param lore The lines of lore of the variant (with '&amp;' color codes).
+         * @return this, for chaining.
+         */
+        @Nonnull
+        public Variant lore(@Nonnull List<String> lore) {
+            this.lore = Objects.requireNonNull(lore);
+            return this;
+        }
+
+        /**
+         * Replaces a single line of the variant's lore, keeping the other lines. If the lore has fewer lines than the
+         * index, it is padded with empty lines.
+         *
+         * @param index The index of the line to replace.
+         * @param line The replacement line (with '&amp;' color codes).
+         * @return this, for chaining.
+         * @throws IllegalArgumentException if the index is negative.
+         */
+        @Nonnull
+        public Variant loreLine(int index, @Nonnull String line) {
+            if (index < 0) {
+                throw new IllegalArgumentException(
+                        String.format("The index of a line of lore must not be negative (got %d).", index));
+            }
+
+            loreLines.put(index, Objects.requireNonNull(line));
+            return this;
+        }
+
+        /** Clears every override. */
+        private void reset() {
+            amount = null;
+            name = null;
+            lore = null;
+            loreLines.clear();
+        }
+
+        /**
+         * Checks whether the variant overrides any property stored in the item's meta.
+         *
+         * @return True if the meta must be copied for the variant, otherwise false.
+         */
+        private boolean overridesMeta() {
+            return name != null || lore != null || !loreLines.isEmpty();
+        }
+
+        /**
+         * Builds the (translated) lore of the variant.
+         *
+         * @param baseLore The base item's lore (as read from its meta), used if the lore is not overridden.
+         * @return The lore of the variant.
+         */
+        @Nonnull
+        private List<String> buildLore(@Nonnull List<String> baseLore) {
+            final List<String> result = new ArrayList<>(lore != null ? ColorCodes.translateItemLore(lore) : baseLore);
+
+            for (Map.Entry<Integer, String> line : loreLines.entrySet()) {
+                while (result.size() <= line.getKey()) result.add("");
+                result.set(line.getKey(), ColorCodes.translateItemText(line.getValue()));
+            }
+
+            return result;
+        }
+    }
+}
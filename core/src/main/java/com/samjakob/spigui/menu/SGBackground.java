@@ -0,0 +1,120 @@
+package com.samjakob.spigui.menu;
+
+import java.util.Objects;
+import java.util.StringJoiner;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.Immutable;
+
+import org.bukkit.inventory.ItemStack;
+
+import com.samjakob.spigui.item.ItemFingerprint;
+
+/**
+ * A background layer for an {@link SGMenu}, displayed in the slots of each page that have no button.
+ *
+ * <p>Filling the empty slots of a menu with buttons (e.g., glass panes) stores a button for every such slot on every
+ * page, and counts those buttons when the number of pages is computed. A background is instead applied when the menu is
+ * rendered: it is not stored as buttons, is not clickable, and does not affect the menu's pages.
+ *
+ * <pre>{@code
+ * // Fill every empty slot with the same item.
+ * menu.setBackground(SGBackground.filler(pane));
+ *
+ * // Alternate between two items.
+ * menu.setBackground(SGBackground.pattern(blackPane, grayPane));
+ * }</pre>
+ *
+ * <p>The background's items are copied when it is created, and their {@link ItemFingerprint fingerprints} are computed
+ * once, so a background may be shared by any number of menus.
+ */
+@Immutable
+public final class SGBackground {
+
+    /** The items of the pattern, repeated across the slots of a page (null entries leave the slot empty). */
+    @Nonnull
+    private final ItemStack[] icons;
+
+    /** The fingerprints of the items of the pattern. */
+    @Nonnull
+    private final long[] fingerprints;
+
+    /**
+     * Create a background with the specified pattern, which is owned by the background afterward.
+     *
+     * @param icons The items of the pattern.
+     */
+    private SGBackground(@Nonnull ItemStack[] icons) {
+        this.icons = icons;
+        this.fingerprints = new long[icons.length];
+        for (int i = 0; i < icons.length; i++) fingerprints[i] = ItemFingerprint.of(icons[i]);
+    }
+
+    /**
+     * Creates a background that displays the specified item in every empty slot.
+     *
+     * @param filler The item to display.
+     * @return The background.
+     */
+    @Nonnull
+    public static SGBackground filler(@Nonnull ItemStack filler) {
+        return new SGBackground(new ItemStack[] {Objects.requireNonNull(filler).clone()});
+    }
+
+    /**
+     * Creates a background that repeats the specified items across the slots of each page, so slot {@code n} of a page
+     * displays item {@code n % pattern.length} (if the slot is empty). A null item leaves its slots empty, so, for
+     * example, a pattern the size of a page describes a fixed layout (e.g., a border).
+     *
+     * @param pattern The items to repeat.
+     * @return The background.
+     * @throws IllegalArgumentException if the pattern is empty.
+     */
+    @Nonnull
+    public static SGBackground pattern(@Nonnull ItemStack... pattern) {
+        if (pattern.length == 0) {
+            throw new IllegalArgumentException("The pattern of an SGBackground must contain at least one item.");
+        }
+
+        final ItemStack[] icons = new ItemStack[pattern.length];
+        for (int i = 0; i < pattern.length; i++) icons[i] = pattern[i] != null ? pattern[i].clone() : null;
+        return new SGBackground(icons);
+    }
+
+    /**
+     * Returns the item displayed in the specified slot of a page, if the slot is empty.
+     *
+     * @param slot The slot of the page.
+     * @return The item (which must not be modified), or null if the background leaves the slot empty.
+     */
+    @Nullable
+    public ItemStack getIcon(int slot) {
+        return slot >= 0 ? icons[slot % icons.length] : null;
+    }
+
+    /**
+     * Returns the fingerprint of the item displayed in the specified slot of a page, if the slot is empty.
+     *
+     * @param slot The slot of the page.
+     * @return The item's fingerprint, or {@link ItemFingerprint#EMPTY} if the background leaves the slot empty.
+     */
+    public long getFingerprint(int slot) {
+        return slot >= 0 ? fingerprints[slot % fingerprints.length] : ItemFingerprint.EMPTY;
+    }
+
+    /**
+     * Returns the number of items in the background's pattern (1 for a {@link #filler(ItemStack) filler}).
+     *
+     * @return The length of the pattern.
+     */
+    public int getPatternLength() {
+        return icons.length;
+    }
+
+    @Override
+    public String toString() {
+        return new StringJoiner(", ", SGBackground.class.getSimpleName() + "[", "]")
+                .add("patternLength=" + icons.length)
+                .toString();
+    }
+}
@@ -0,0 +1,193 @@
+package com.samjakob.spigui.menu;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Objects;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import com.samjakob.spigui.buttons.SGButton;
+
+/**
+ * A read-only, filtered view over the buttons of another {@link SGMenu}.
+ *
+ * <p>The filtered menu does not copy the source menu's buttons. Instead, it holds the set of matching slots (e.g., as
+ * produced by {@link SGSearchIndex#filter(String)}) and resolves each of its own slots to the corresponding button in
+ * the source menu when it is rendered or clicked. The matching slots are themselves resolved incrementally, so only the
+ * matches up to the page being displayed are ever walked.
+ *
+ * <p>The view pages like any other menu, and clicking a button invokes the original button's listener. Buttons cannot
+ * be added to, or removed from, a filtered menu - modify the source menu (and update its search index) instead.
+ */
+public final class SGFilteredMenu extends SGMenu {
+
+    /** The menu whose buttons are being filtered. */
+    @Nonnull
+    private final SGMenu source;
+
+    /** The slots of the source menu that match the filter. */
+    @Nonnull
+    private final BitSet matches;
+
+    /** The number of matching slots. */
+    private final int matchCount;
+
+    /** The source slots of the matches resolved so far (in order). */
+    @Nonnull
+    private int[] resolved;
+
+    /** The number of entries of {@link #resolved} that are populated. */
+    private int resolvedCount;
+
+    /**
+     * Create a filtered view over the specified menu. The view inherits the source menu's name, tag, size, slot masks
+     * (i.e., stickied, locked and input slots), background and interaction settings.
+     *
+     * @param source The menu whose buttons are being filtered.
+     * @param matches The slots of the source menu that match the filter. This set must not be modified afterward.
+     */
+    SGFilteredMenu(@Nonnull SGMenu source, @Nonnull BitSet matches) {
+        super(source.getSpiGUI(), "", source.getRowsPerPage(), source.getTag());
+        this.source = Objects.requireNonNull(source);
+        this.matches = Objects.requireNonNull(matches);
+        this.matchCount = matches.cardinality();
+        this.resolved = new int[Math.min(matchCount, source.getPageSize())];
+
+        setRawName(source.getName());
+        setToolbarBuilder(source.getToolbarBuilder());
+        setAutomaticPaginationEnabled(source.isAutomaticPaginationEnabled());
+        setScrollMode(source.isScrollMode());
+        setBlockDefaultInteractions(source.areDefaultInteractionsBlocked());
+        setInteractionPolicy(source.getInteractionPolicy());
+        setBackground(source.getBackground());
+
+        for (int slot = 0; slot < getPageSize(); slot++) {
+            if (source.isStickiedSlot(slot)) stickSlot(slot);
+            if (source.isLockedSlot(slot)) lockSlot(slot);
+            if (source.isInputSlot(slot)) markInputSlot(slot);
+        }
+    }
+
+    /**
+     * Returns the menu whose buttons are being filtered.
+     *
+     * @return The source menu.
+     */
+    @Nonnull
+    public SGMenu getSource() {
+        return source;
+    }
+
+    /**
+     * Returns the number of buttons that matched the filter.
+     *
+     * @return The number of matches.
+     */
+    public int getMatchCount() {
+        return matchCount;
+    }
+
+    /**
+     * Returns the slot, in the source menu, of the button displayed in the specified slot of this view.
+     *
+     * @param slot The slot of this view.
+     * @return The corresponding slot of the source menu, or -1 if the slot is out of range.
+     */
+    public int getSourceSlot(int slot) {
+        if (slot < 0 || slot >= matchCount) return -1;
+
+        // Walk the matches as far as the requested slot, remembering them for subsequent lookups.
+        if (slot >= resolvedCount) {
+            if (slot >= resolved.length) {
+                resolved = Arrays.copyOf(resolved, Math.min(matchCount, Math.max(slot + 1, resolved.length * 2)));
+            }
+
+            int next = matches.nextSetBit(resolvedCount == 0 ? 0 : resolved[resolvedCount - 1] + 1);
+            while (resolvedCount <= slot) {
+                resolved[resolvedCount++] = next;
+                next = matches.nextSetBit(next + 1);
+            }
+        }
+
+        return resolved[slot];
+    }
+
+    @Nullable
+    @Override
+    public SGButton getButton(int slot) {
+        final int sourceSlot = getSourceSlot(slot);
+        return sourceSlot < 0 ? null : source.getButton(sourceSlot);
+    }
+
+    @Override
+    public int getHighestFilledSlot() {
+        return Math.max(0, matchCount - 1);
+    }
+
+    /**
+     * Filtered menus are read-only, so this always throws.
+     *
+     * @param slot Ignored.
+     * @param button Ignored.
+     * @throws UnsupportedOperationException always.
+     */
+    @Override
+    public void setButton(int slot, SGButton button) {
+        throw new UnsupportedOperationException("Cannot modify a filtered menu - modify the source menu instead.");
+    }
+
+    /**
+     * Filtered menus are read-only, so this always throws.
+     *
+     * @param slot Ignored.
+     * @throws UnsupportedOperationException always.
+     */
+    @Override
+    public void removeButton(int slot) {
+        throw new UnsupportedOperationException("Cannot modify a filtered menu - modify the source menu instead.");
+    }
+
+    /**
+     * Filtered menus are read-only, so this always throws.
+     *
+     * @param fromSlot Ignored.
+     * @param toSlot Ignored.
+     * @throws UnsupportedOperationException always.
+     */
+    @Override
+    public void removeRange(int fromSlot, int toSlot) {
+        throw new UnsupportedOperationException("Cannot modify a filtered menu - modify the source menu instead.");
+    }
+
+    /**
+     * Filtered menus are read-only, so this always throws.
+     *
+     * @param page Ignored.
+     * @throws UnsupportedOperationException always.
+     */
+    @Override
+    public void clearPage(int page) {
+        throw new UnsupportedOperationException("Cannot modify a filtered menu - modify the source menu instead.");
+    }
+
+    /**
+     * Filtered menus are read-only (and have no gaps between their buttons), so this always throws.
+     *
+     * @param fromSlot Ignored.
+     * @throws UnsupportedOperationException always.
+     */
+    @Override
+    public void compact(int fromSlot) {
+        throw new UnsupportedOperationException("Cannot modify a filtered menu - modify the source menu instead.");
+    }
+
+    /**
+     * Filtered menus are read-only, so this always throws.
+     *
+     * @throws UnsupportedOperationException always.
+     */
+    @Override
+    public void clearAllButStickiedSlots() {
+        throw new UnsupportedOperationException("Cannot modify a filtered menu - modify the source menu instead.");
+    }
+}
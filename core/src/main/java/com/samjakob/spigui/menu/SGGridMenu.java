@@ -0,0 +1,604 @@
+package com.samjakob.spigui.menu;
+
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import org.bukkit.Material;
+import org.bukkit.entity.HumanEntity;
+import org.bukkit.event.Event;
+
+import com.samjakob.spigui.SpiGUI;
+import com.samjakob.spigui.buttons.SGButton;
+import com.samjakob.spigui.buttons.SGIconPool;
+import com.samjakob.spigui.item.ItemBuilder;
+import com.samjakob.spigui.text.TextTemplate;
+import com.samjakob.spigui.toolbar.SGToolbarButtonType;
+
+/**
+ * A menu that displays a window onto a two-dimensional grid of buttons, which may be much larger than the menu (e.g., a
+ * map or a skill tree), and which players pan across with the controls in the toolbar.
+ *
+ * <p>Each cell of the grid is addressed by its column ({@code x}) and row ({@code y}), with {@code y} increasing
+ * downward. Cells are held in a sparse store (so only the cells that have a button take up space), and may also be
+ * supplied on demand by a {@link CellProvider}:
+ *
+ * <pre>{@code
+ * final SGGridMenu map = spiGUI.createGrid("&8Claims", 5);
+ * map.setProvider((x, y) -> claimButtonAt(x, y));
+ * map.setCell(0, 0, spawnButton);
+ * map.setView(playerChunkX - 4, playerChunkZ - 2);
+ * }</pre>
+ *
+ * <p>Only the cells in the visible window are fetched. When the window is panned, the cells that remain visible are
+ * reused, so only the newly exposed row or column is fetched, and only the slots whose icon changed are updated.
+ *
+ * <p>The menu has a single page (the visible window), so the toolbar displays the pan controls rather than pagination
+ * buttons. Buttons cannot be set in (or removed from) specific slots of a grid menu (i.e., with
+ * {@link #setButton(int, SGButton)} or the range operations) - set cells of the grid instead.
+ */
+public final class SGGridMenu extends SGMenu {
+
+    /** The toolbar slot of the button that pans the window left. */
+    private static final int PAN_LEFT_SLOT = 1;
+
+    /** The toolbar slot of the button that pans the window up. */
+    private static final int PAN_UP_SLOT = 3;
+
+    /** The toolbar slot of the indicator displaying the window's position. */
+    private static final int POSITION_SLOT = 4;
+
+    /** The toolbar slot of the button that pans the window down. */
+    private static final int PAN_DOWN_SLOT = 5;
+
+    /** The toolbar slot of the button that pans the window right. */
+    private static final int PAN_RIGHT_SLOT = 7;
+
+    /** The label of the position indicator. */
+    private static final TextTemplate POSITION_LABEL = TextTemplate.compile("&7&lPosition {x}, {y}", "x", "y");
+
+    /**
+     * Supplies the buttons of the cells of a grid on demand (e.g., from the world, or from another data structure),
+     * rather than having them stored in the menu.
+     */
+    @FunctionalInterface
+    public interface CellProvider {
+
+        /**
+         * Returns the button in the specified cell of the grid. This is called when the cell comes into view, so it
+         * should be inexpensive.
+         *
+         * @param x The column of the cell.
+         * @param y The row of the cell.
+         * @return The button in the cell, or null to leave the cell empty.
+         */
+        @Nullable
+        SGButton getCell(int x, int y);
+    }
+
+    /** The buttons stored in the grid, keyed by {@link #key(int, int)}. */
+    @Nonnull
+    private final Map<Long, SGButton> cells = new HashMap<>();
+
+    /** The provider consulted for cells that have no stored button (or null if there is none). */
+    @Nullable
+    private CellProvider provider;
+
+    /** The lowest column that can be displayed. */
+    private int minX = Integer.MIN_VALUE;
+
+    /** The lowest row that can be displayed. */
+    private int minY = Integer.MIN_VALUE;
+
+    /** The highest column that can be displayed. */
+    private int maxX = Integer.MAX_VALUE;
+
+    /** The highest row that can be displayed. */
+    private int maxY = Integer.MAX_VALUE;
+
+    /** The column displayed in the first column of the window. */
+    private int viewX;
+
+    /** The row displayed in the first row of the window. */
+    private int viewY;
+
+    /** The buttons of the visible window (indexed by slot) that have been fetched so far. */
+    @Nullable
+    private SGButton[] window;
+
+    /** The slots of {@link #window} that have been fetched. */
+    @Nonnull
+    private BitSet fetched = new BitSet();
+
+    /**
+     * <b>For internal use only</b>: you should probably use {@link SpiGUI#createGrid(String, int)} or
+     * {@link SpiGUI#createGrid(String, int, String)}!
+     *
+     * <p>The name parameter is color code translated.
+     *
+     * @param spiGUI The SpiGUI instance associated with this menu.
+     * @param name The name of the menu.
+     * @param rowsPerPage The number of rows in the visible window.
+     * @param tag The tag associated with this menu.
+     */
+    public SGGridMenu(@Nonnull SpiGUI spiGUI, String name, int rowsPerPage, String tag) {
+        super(spiGUI, name, rowsPerPage, tag);
+        setAutomaticPaginationEnabled(true);
+        setToolbarBuilder(this::buildPanControl);
+    }
+
+    // -- CELLS -- //
+
+    /**
+     * Returns the button in the specified cell of the grid: the stored button if there is one, otherwise the button
+     * supplied by the {@link #setProvider(CellProvider) provider} (if any).
+     *
+     * @param x The column of the cell.
+     * @param y The row of the cell.
+     * @return The button in the cell, or null if the cell is empty (or outside the bounds of the grid).
+     */
+    @Nullable
+    public SGButton getCell(int x, int y) {
+        if (x < minX || x > maxX || y < minY || y > maxY) return null;
+
+        final SGButton button = cells.get(key(x, y));
+        if (button != null || provider == null) return button;
+
+        return provider.getCell(x, y);
+    }
+
+    /**
+     * Stores a button in the specified cell of the grid, replacing any button stored there. If the cell is visible, the
+     * window is marked as {@link #isPageDirty(int) dirty}, but viewers are not refreshed.
+     *
+     * @param x The column of the cell.
+     * @param y The row of the cell.
+     * @param button The button to store, or null to remove the stored button.
+     */
+    public void setCell(int x, int y, @Nullable SGButton button) {
+        final SGIconPool iconPool = getIconPool();
+        if (iconPool != null && button != null) button.compactInto(iconPool);
+
+        final SGButton replaced = button != null ? cells.put(key(x, y), button) : cells.remove(key(x, y));
+        if (iconPool != null && replaced != null) replaced.releaseFrom(iconPool);
+
+        // Drop the visible cell, so that it's fetched again (from the store or the provider) when it's next rendered.
+        final int slot = getSlotOf(x, y);
+        if (slot >= 0) {
+            fetched.clear(slot);
+            markSlotsDirty(slot, slot);
+        }
+    }
+
+    /**
+     * Removes the button stored in the specified cell of the grid.
+     *
+     * @param x The column of the cell.
+     * @param y The row of the cell.
+     */
+    public void removeCell(int x, int y) {
+        setCell(x, y, null);
+    }
+
+    /** Removes every button stored in the grid. */
+    public void clearCells() {
+        final SGIconPool iconPool = getIconPool();
+        if (iconPool != null) {
+            for (SGButton button : cells.values()) button.releaseFrom(iconPool);
+        }
+
+        cells.clear();
+        fetched.clear();
+        markSlotsDirty(0, getPageSize() - 1);
+    }
+
+    /**
+     * Returns the number of buttons stored in the grid (not including those supplied by the provider).
+     *
+     * @return The number of stored buttons.
+     */
+    public int getCellCount() {
+        return cells.size();
+    }
+
+    /**
+     * Sets the provider consulted for the cells of the grid that have no stored button.
+     *
+     * <p>If the provider's data changes, call {@link #refreshViewers()} to fetch the visible cells again.
+     *
+     * @param provider The provider, or null to only display stored buttons.
+     */
+    public void setProvider(@Nullable CellProvider provider) {
+        this.provider = provider;
+        fetched.clear();
+        markSlotsDirty(0, getPageSize() - 1);
+    }
+
+    /**
+     * Returns the provider consulted for the cells of the grid that have no stored button.
+     *
+     * @return The provider, or null if there is none.
+     */
+    @Nullable
+    public CellProvider getProvider() {
+        return provider;
+    }
+
+    /**
+     * Limits the cells of the grid that can be displayed to the specified range (inclusive). The window can't be panned
+     * beyond the bounds, and cells outside of them are left empty. By default, the grid is unbounded.
+     *
+     * @param minX The lowest column.
+     * @param minY The lowest row.
+     * @param maxX The highest column.
+     * @param maxY The highest row.
+     * @throws IllegalArgumentException if a maximum is lower than the corresponding minimum.
+     */
+    public void setBounds(int minX, int minY, int maxX, int maxY) {
+        if (maxX < minX || maxY < minY) {
+            throw new IllegalArgumentException(String.format(
+                    "The bounds (%d, %d) to (%d, %d) of a grid must not be inverted.", minX, minY, maxX, maxY));
+        }
+
+        this.minX = minX;
+        this.minY = minY;
+        this.maxX = maxX;
+        this.maxY = maxY;
+
+        fetched.clear();
+        markSlotsDirty(0, getPageSize() - 1);
+        setView(viewX, viewY);
+    }
+
+    /** Removes the bounds of the grid, so that the window can be panned to any cell. */
+    public void clearBounds() {
+        setBounds(Integer.MIN_VALUE, Integer.MIN_VALUE, Integer.MAX_VALUE, Integer.MAX_VALUE);
+    }
+
+    // -- VIEW -- //
+
+    /**
+     * Returns the column displayed in the first column of the window.
+     *
+     * @return The window's first column.
+     */
+    public int getViewX() {
+        return viewX;
+    }
+
+    /**
+     * Returns the row displayed in the first row of the window.
+     *
+     * @return The window's first row.
+     */
+    public int getViewY() {
+        return viewY;
+    }
+
+    /**
+     * Moves the window so that the specified cell is displayed in its first slot (or as close to it as the bounds of
+     * the grid allow). The window is marked as {@link #isPageDirty(int) dirty}, but (like
+     * {@link #setCurrentPage(int)}) viewers are not refreshed.
+     *
+     * @param x The column to display in the first column of the window.
+     * @param y The row to display in the first row of the window.
+     */
+    public void setView(int x, int y) {
+        final int targetX = clamp(x, minX, (long) maxX - 8);
+        final int targetY = clamp(y, minY, (long) maxY - (getRowsPerPage() - 1));
+        if (targetX == viewX && targetY == viewY) return;
+
+        // Keep the cells that remain visible, shifted to their new slots.
+        final SGButton[] previous = window;
+        final BitSet previousFetched = fetched;
+        final long dx = (long) targetX - viewX;
+        final long dy = (long) targetY - viewY;
+
+        window = new SGButton[getPageSize()];
+        fetched = new BitSet(window.length);
+        if (previous != null && previous.length == window.length) {
+            for (int slot = 0; slot < window.length; slot++) {
+                final long column = slot % 9 + dx;
+                final long row = slot / 9 + dy;
+                if (column < 0 || column >= 9 || row < 0 || row >= getRowsPerPage()) continue;
+
+                final int previousSlot = (int) (row * 9 + column);
+                if (!previousFetched.get(previousSlot)) continue;
+
+                window[slot] = previous[previousSlot];
+                fetched.set(slot);
+            }
+        }
+
+        viewX = targetX;
+        viewY = targetY;
+        markSlotsDirty(0, getPageSize() - 1);
+    }
+
+    /**
+     * Pans the window by the specified number of columns and rows, stopping at the bounds of the grid. This will
+     * automatically refresh the inventory by calling {@link #refreshInventory(HumanEntity)} if the window was moved.
+     *
+     * @param viewer The {@link HumanEntity} viewing the inventory.
+     * @param dx The number of columns to pan by (negative to pan left).
+     * @param dy The number of rows to pan by (negative to pan up).
+     * @return Whether the window could be moved (false means it is already at the bounds of the grid).
+     */
+    public boolean pan(HumanEntity viewer, int dx, int dy) {
+        final int previousX = viewX;
+        final int previousY = viewY;
+        setView(
+                clamp((long) viewX + dx, Integer.MIN_VALUE, Integer.MAX_VALUE),
+                clamp((long) viewY + dy, Integer.MIN_VALUE, Integer.MAX_VALUE));
+        if (viewX == previousX && viewY == previousY) return false;
+
+        refreshInventory(viewer);
+        return true;
+    }
+
+    /**
+     * Pans the window up by one row.
+     *
+     * @see #pan(HumanEntity, int, int)
+     * @param viewer The {@link HumanEntity} viewing the inventory.
+     * @return Whether the window could be moved.
+     */
+    public boolean panUp(HumanEntity viewer) {
+        return pan(viewer, 0, -1);
+    }
+
+    /**
+     * Pans the window down by one row.
+     *
+     * @see #pan(HumanEntity, int, int)
+     * @param viewer The {@link HumanEntity} viewing the inventory.
+     * @return Whether the window could be moved.
+     */
+    public boolean panDown(HumanEntity viewer) {
+        return pan(viewer, 0, 1);
+    }
+
+    /**
+     * Pans the window left by one column.
+     *
+     * @see #pan(HumanEntity, int, int)
+     * @param viewer The {@link HumanEntity} viewing the inventory.
+     * @return Whether the window could be moved.
+     */
+    public boolean panLeft(HumanEntity viewer) {
+        return pan(viewer, -1, 0);
+    }
+
+    /**
+     * Pans the window right by one column.
+     *
+     * @see #pan(HumanEntity, int, int)
+     * @param viewer The {@link HumanEntity} viewing the inventory.
+     * @return Whether the window could be moved.
+     */
+    public boolean panRight(HumanEntity viewer) {
+        return pan(viewer, 1, 0);
+    }
+
+    /**
+     * Returns the slot of the window in which the specified cell is displayed.
+     *
+     * @param x The column of the cell.
+     * @param y The row of the cell.
+     * @return The slot, or -1 if the cell is not visible.
+     */
+    public int getSlotOf(int x, int y) {
+        final long column = (long) x - viewX;
+        final long row = (long) y - viewY;
+        if (column < 0 || column >= 9 || row < 0 || row >= getRowsPerPage()) return -1;
+
+        return (int) (row * 9 + column);
+    }
+
+    /**
+     * Builds the toolbar of the grid: the pan controls (for the directions the window can be moved in) and the
+     * position indicator.
+     *
+     * @param slot The slot of the toolbar.
+     * @param page Ignored (the grid has a single page).
+     * @param defaultType Ignored (the grid's toolbar has its own layout).
+     * @param menu Ignored (this menu).
+     * @return The button for the slot, or null to leave it empty.
+     */
+    @Nullable
+    private SGButton buildPanControl(
+            int slot, int page, @Nonnull SGToolbarButtonType defaultType, @Nonnull SGMenu menu) {
+        switch (slot) {
+            case PAN_LEFT_SLOT:
+                return viewX > minX ? buildPanButton("&a&l← Left", -1, 0) : null;
+            case PAN_UP_SLOT:
+                return viewY > minY ? buildPanButton("&a&l↑ Up", 0, -1) : null;
+            case PAN_DOWN_SLOT:
+                return (long) viewY + getRowsPerPage() - 1 < maxY ? buildPanButton("&a&l↓ Down", 0, 1) : null;
+            case PAN_RIGHT_SLOT:
+                return (long) viewX + 8 < maxX ? buildPanButton("&a&lRight →", 1, 0) : null;
+            case POSITION_SLOT:
+                return SGButton.from(ItemBuilder.create(Material.COMPASS)
+                                .name(POSITION_LABEL.render(viewX, viewY))
+                                .lore("&7The top-left cell of the view."))
+                        .withListener(event -> event.setResult(Event.Result.DENY));
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Builds a button that pans the window of the clicking player's menu.
+     *
+     * @param label The label of the button.
+     * @param dx The number of columns to pan by.
+     * @param dy The number of rows to pan by.
+     * @return The button.
+     */
+    @Nonnull
+    private SGButton buildPanButton(@Nonnull String label, int dx, int dy) {
+        return SGButton.from(ItemBuilder.create(Material.ARROW).name(label)).withListener(event -> {
+            event.setResult(Event.Result.DENY);
+            pan(event.getWhoClicked(), dx, dy);
+        });
+    }
+
+    /**
+     * Packs the coordinates of a cell into a single key.
+     *
+     * @param x The column of the cell.
+     * @param y The row of the cell.
+     * @return The cell's key.
+     */
+    private static long key(int x, int y) {
+        return ((long) x << 32) | (y & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Clamps a value to the specified range (or to the minimum, if the range is empty).
+     *
+     * @param value The value to clamp.
+     * @param min The minimum.
+     * @param max The maximum.
+     * @return The clamped value.
+     */
+    private static int clamp(long value, int min, long max) {
+        return (int) Math.max(min, Math.min(value, max));
+    }
+
+    /**
+     * Fetches the visible cells again when every viewer is refreshed, so that changes to the
+     * {@link #setProvider(CellProvider) provider}'s data are displayed.
+     */
+    @Override
+    public void refreshViewers() {
+        fetched.clear();
+        super.refreshViewers();
+    }
+
+    @Nullable
+    @Override
+    public SGButton getButton(int slot) {
+        if (slot < 0 || slot >= getPageSize()) return null;
+
+        if (window == null || window.length != getPageSize()) {
+            window = new SGButton[getPageSize()];
+            fetched.clear();
+        }
+
+        if (!fetched.get(slot)) {
+            window[slot] = getCell(viewX + slot % 9, viewY + slot / 9);
+            fetched.set(slot);
+        }
+
+        return window[slot];
+    }
+
+    /**
+     * Returns the last slot of the window, as every slot of the window displays a cell of the grid (so the menu always
+     * has a single page).
+     *
+     * @return The last slot of the window.
+     */
+    @Override
+    public int getHighestFilledSlot() {
+        return Math.max(0, getPageSize() - 1);
+    }
+
+    /**
+     * Buttons cannot be set in specific slots of a grid menu, so this always throws.
+     *
+     * @param slot Ignored.
+     * @param button Ignored.
+     * @throws UnsupportedOperationException always.
+     */
+    @Override
+    public void setButton(int slot, SGButton button) {
+        throw new UnsupportedOperationException("Cannot set slots of a grid menu - use setCell instead.");
+    }
+
+    /**
+     * Buttons cannot be removed from specific slots of a grid menu, so this always throws.
+     *
+     * @param slot Ignored.
+     * @throws UnsupportedOperationException always.
+     */
+    @Override
+    public void removeButton(int slot) {
+        throw new UnsupportedOperationException("Cannot remove slots of a grid menu - use removeCell instead.");
+    }
+
+    /**
+     * Buttons cannot be removed from specific slots of a grid menu, so this always throws.
+     *
+     * @param fromSlot Ignored.
+     * @param toSlot Ignored.
+     * @throws UnsupportedOperationException always.
+     */
+    @Override
+    public void removeRange(int fromSlot, int toSlot) {
+        throw new UnsupportedOperationException("Cannot remove slots of a grid menu - use removeCell instead.");
+    }
+
+    /**
+     * A grid menu has a single page (the visible window), which can't be cleared by slot, so this always throws.
+     *
+     * @param page Ignored.
+     * @throws UnsupportedOperationException always.
+     */
+    @Override
+    public void clearPage(int page) {
+        throw new UnsupportedOperationException("Cannot clear pages of a grid menu - use clearCells instead.");
+    }
+
+    /**
+     * The cells of a grid can't be moved between slots, so this always throws.
+     *
+     * @param fromSlot Ignored.
+     * @throws UnsupportedOperationException always.
+     */
+    @Override
+    public void compact(int fromSlot) {
+        throw new UnsupportedOperationException("Cannot compact a grid menu.");
+    }
+
+    /**
+     * A grid menu has no stickied slots to keep, so this always throws.
+     *
+     * @throws UnsupportedOperationException always.
+     */
+    @Override
+    public void clearAllButStickiedSlots() {
+        throw new UnsupportedOperationException("Cannot keep stickied slots of a grid menu - use clearCells instead.");
+    }
+
+    /**
+     * Enables or disables compact icon storage for this menu, compacting (or inflating) the icons of the buttons that
+     * are already stored in the grid. Buttons supplied by the {@link #setProvider(CellProvider) provider} are not
+     * compacted.
+     *
+     * @param compactIconStorage Whether button icons should be held in compact form.
+     * @see SGMenu#setCompactIconStorage(boolean)
+     */
+    @Override
+    public void setCompactIconStorage(boolean compactIconStorage) {
+        if (compactIconStorage == isCompactIconStorageEnabled()) return;
+
+        // Release every use of the pool before it is discarded, and only then re-set the (inflated) icons, so that
+        // they aren't interned again.
+        final SGIconPool previousPool = getIconPool();
+        if (previousPool != null) {
+            for (SGButton button : cells.values()) button.releaseFrom(previousPool);
+        }
+
+        super.setCompactIconStorage(compactIconStorage);
+
+        final SGIconPool iconPool = getIconPool();
+        for (SGButton button : cells.values()) {
+            if (iconPool != null) button.compactInto(iconPool);
+            else if (button.isIconCompacted()) button.setIcon(button.getIcon());
+        }
+    }
+}
@@ -0,0 +1,289 @@
+package com.samjakob.spigui.menu;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.StringJoiner;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.Immutable;
+
+import org.bukkit.event.inventory.ClickType;
+import org.bukkit.event.inventory.InventoryAction;
+
+/**
+ * The click types permitted, and the inventory actions blocked, in an {@link SGMenu}.
+ *
+ * <p>A policy is immutable, so a single policy is shared by every menu that uses it. Menus use the {@link #DEFAULT}
+ * policy unless they are configured otherwise, and modifying a menu's interactions (e.g., with
+ * {@link SGMenu#addBlockedMenuAction(InventoryAction)}) replaces that menu's policy with a modified copy, leaving the
+ * shared policy (and every other menu using it) unaffected. To configure many menus the same way, create the policy
+ * once and assign it to each of them with {@link SGMenu#setInteractionPolicy(SGInteractionPolicy)}:
+ *
+ * <pre>{@code
+ * private static final SGInteractionPolicy SHOP_POLICY = SGInteractionPolicy.DEFAULT
+ *         .withPermittedClickTypes(ClickType.LEFT, ClickType.RIGHT, ClickType.SHIFT_LEFT);
+ *
+ * menu.setInteractionPolicy(SHOP_POLICY);
+ * }</pre>
+ *
+ * <p>Each set is backed by an {@link EnumSet} (i.e., a bit mask), so the checks made by the menu listener for each
+ * click are single bit tests.
+ */
+@Immutable
+public final class SGInteractionPolicy {
+
+    /**
+     * The default policy, which permits only {@link ClickType#LEFT left} and {@link ClickType#RIGHT right} clicks, and
+     * blocks {@link InventoryAction#MOVE_TO_OTHER_INVENTORY} and {@link InventoryAction#COLLECT_TO_CURSOR} both in the
+     * menu and in the adjacent inventory.
+     */
+    public static final SGInteractionPolicy DEFAULT = new SGInteractionPolicy(
+            EnumSet.of(ClickType.LEFT, ClickType.RIGHT),
+            EnumSet.of(InventoryAction.MOVE_TO_OTHER_INVENTORY, InventoryAction.COLLECT_TO_CURSOR),
+            EnumSet.of(InventoryAction.MOVE_TO_OTHER_INVENTORY, InventoryAction.COLLECT_TO_CURSOR));
+
+    /** The click types permitted in the menu. This is never modified. */
+    @Nonnull
+    private final EnumSet<ClickType> permittedClickTypes;
+
+    /** The actions blocked in the menu. This is never modified. */
+    @Nonnull
+    private final EnumSet<InventoryAction> blockedMenuActions;
+
+    /** The actions blocked in the inventory adjacent to the menu. This is never modified. */
+    @Nonnull
+    private final EnumSet<InventoryAction> blockedAdjacentActions;
+
+    /**
+     * Create a policy from the specified sets, which are owned by the policy afterward.
+     *
+     * @param permittedClickTypes The click types permitted in the menu.
+     * @param blockedMenuActions The actions blocked in the menu.
+     * @param blockedAdjacentActions The actions blocked in the inventory adjacent to the menu.
+     */
+    private SGInteractionPolicy(
+            @Nonnull EnumSet<ClickType> permittedClickTypes,
+            @Nonnull EnumSet<InventoryAction> blockedMenuActions,
+            @Nonnull EnumSet<InventoryAction> blockedAdjacentActions) {
+        this.permittedClickTypes = permittedClickTypes;
+        this.blockedMenuActions = blockedMenuActions;
+        this.blockedAdjacentActions = blockedAdjacentActions;
+    }
+
+    // -- CHECKS -- //
+
+    /**
+     * Checks whether the specified click type is permitted in the menu.
+     *
+     * @param clickType The click type.
+     * @return True if the click type is permitted, otherwise false.
+     */
+    public boolean isClickPermitted(@Nullable ClickType clickType) {
+        return clickType != null && permittedClickTypes.contains(clickType);
+    }
+
+    /**
+     * Checks whether the specified action is blocked in the menu.
+     *
+     * @param action The action.
+     * @return True if the action is blocked, otherwise false.
+     */
+    public boolean isMenuActionBlocked(@Nullable InventoryAction action) {
+        return action != null && blockedMenuActions.contains(action);
+    }
+
+    /**
+     * Checks whether the specified action is blocked in the inventory adjacent to the menu.
+     *
+     * @param action The action.
+     * @return True if the action is blocked, otherwise false.
+     */
+    public boolean isAdjacentActionBlocked(@Nullable InventoryAction action) {
+        return action != null && blockedAdjacentActions.contains(action);
+    }
+
+    // -- SETS -- //
+
+    /**
+     * Returns the click types permitted in the menu.
+     *
+     * @return An unmodifiable view of the permitted click types.
+     */
+    @Nonnull
+    public Set<ClickType> getPermittedClickTypes() {
+        return Collections.unmodifiableSet(permittedClickTypes);
+    }
+
+    /**
+     * Returns the actions blocked in the menu.
+     *
+     * @return An unmodifiable view of the blocked actions.
+     */
+    @Nonnull
+    public Set<InventoryAction> getBlockedMenuActions() {
+        return Collections.unmodifiableSet(blockedMenuActions);
+    }
+
+    /**
+     * Returns the actions blocked in the inventory adjacent to the menu.
+     *
+     * @return An unmodifiable view of the blocked actions.
+     */
+    @Nonnull
+    public Set<InventoryAction> getBlockedAdjacentActions() {
+        return Collections.unmodifiableSet(blockedAdjacentActions);
+    }
+
+    // -- MODIFIED COPIES -- //
+
+    /**
+     * Returns a copy of this policy that permits only the specified click types.
+     *
+     * @param clickTypes The click types to permit.
+     * @return The modified policy (or this policy, if it already permits exactly those click types).
+     */
+    @Nonnull
+    public SGInteractionPolicy withPermittedClickTypes(@Nonnull ClickType... clickTypes) {
+        final EnumSet<ClickType> permitted = toEnumSet(ClickType.class, Arrays.asList(clickTypes));
+        if (permitted.equals(permittedClickTypes)) return this;
+
+        return new SGInteractionPolicy(permitted, blockedMenuActions, blockedAdjacentActions);
+    }
+
+    /**
+     * Returns a copy of this policy that blocks only the specified actions in the menu.
+     *
+     * @param actions The actions to block.
+     * @return The modified policy (or this policy, if it already blocks exactly those actions).
+     */
+    @Nonnull
+    public SGInteractionPolicy withBlockedMenuActions(@Nonnull InventoryAction... actions) {
+        final EnumSet<InventoryAction> blocked = toEnumSet(InventoryAction.class, Arrays.asList(actions));
+        if (blocked.equals(blockedMenuActions)) return this;
+
+        return new SGInteractionPolicy(permittedClickTypes, blocked, blockedAdjacentActions);
+    }
+
+    /**
+     * Returns a copy of this policy that blocks only the specified actions in the inventory adjacent to the menu.
+     *
+     * @param actions The actions to block.
+     * @return The modified policy (or this policy, if it already blocks exactly those actions).
+     */
+    @Nonnull
+    public SGInteractionPolicy withBlockedAdjacentActions(@Nonnull InventoryAction... actions) {
+        final EnumSet<InventoryAction> blocked = toEnumSet(InventoryAction.class, Arrays.asList(actions));
+        if (blocked.equals(blockedAdjacentActions)) return this;
+
+        return new SGInteractionPolicy(permittedClickTypes, blockedMenuActions, blocked);
+    }
+
+    /**
+     * Returns a copy of this policy that permits (or does not permit) the specified click type.
+     *
+     * @param clickType The click type.
+     * @param permitted Whether the click type should be permitted.
+     * @return The modified policy (or this policy, if the click type is already permitted as specified).
+     */
+    @Nonnull
+    public SGInteractionPolicy withClickTypePermitted(@Nonnull ClickType clickType, boolean permitted) {
+        if (permittedClickTypes.contains(Objects.requireNonNull(clickType)) == permitted) return this;
+
+        return new SGInteractionPolicy(
+                toggle(permittedClickTypes, clickType, permitted), blockedMenuActions, blockedAdjacentActions);
+    }
+
+    /**
+     * Returns a copy of this policy that blocks (or does not block) the specified action in the menu.
+     *
+     * @param action The action.
+     * @param blocked Whether the action should be blocked.
+     * @return The modified policy (or this policy, if the action is already blocked as specified).
+     */
+    @Nonnull
+    public SGInteractionPolicy withMenuActionBlocked(@Nonnull InventoryAction action, boolean blocked) {
+        if (blockedMenuActions.contains(Objects.requireNonNull(action)) == blocked) return this;
+
+        return new SGInteractionPolicy(
+                permittedClickTypes, toggle(blockedMenuActions, action, blocked), blockedAdjacentActions);
+    }
+
+    /**
+     * Returns a copy of this policy that blocks (or does not block) the specified action in the inventory adjacent to
+     * the menu.
+     *
+     * @param action The action.
+     * @param blocked Whether the action should be blocked.
+     * @return The modified policy (or this policy, if the action is already blocked as specified).
+     */
+    @Nonnull
+    public SGInteractionPolicy withAdjacentActionBlocked(@Nonnull InventoryAction action, boolean blocked) {
+        if (blockedAdjacentActions.contains(Objects.requireNonNull(action)) == blocked) return this;
+
+        return new SGInteractionPolicy(
+                permittedClickTypes, blockedMenuActions, toggle(blockedAdjacentActions, action, blocked));
+    }
+
+    /**
+     * Copies the specified values into a new {@link EnumSet}, ignoring nulls.
+     *
+     * @param type The enum type.
+     * @param values The values.
+     * @param <E> The enum type.
+     * @return The new set.
+     */
+    @Nonnull
+    private static <E extends Enum<E>> EnumSet<E> toEnumSet(
+            @Nonnull Class<E> type, @Nonnull Collection<? extends E> values) {
+        final EnumSet<E> set = EnumSet.noneOf(type);
+        for (E value : values) {
+            if (value != null) set.add(value);
+        }
+
+        return set;
+    }
+
+    /**
+     * Copies the specified set, adding or removing a value.
+     *
+     * @param set The set to copy.
+     * @param value The value to add or remove.
+     * @param present Whether the value should be present in the copy.
+     * @param <E> The enum type.
+     * @return The copy.
+     */
+    @Nonnull
+    private static <E extends Enum<E>> EnumSet<E> toggle(@Nonnull EnumSet<E> set, @Nonnull E value, boolean present) {
+        final EnumSet<E> copy = EnumSet.copyOf(set);
+        if (present) copy.add(value);
+        else copy.remove(value);
+        return copy;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (!(o instanceof SGInteractionPolicy)) return false;
+        SGInteractionPolicy that = (SGInteractionPolicy) o;
+        return permittedClickTypes.equals(that.permittedClickTypes)
+                && blockedMenuActions.equals(that.blockedMenuActions)
+                && blockedAdjacentActions.equals(that.blockedAdjacentActions);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(permittedClickTypes, blockedMenuActions, blockedAdjacentActions);
+    }
+
+    @Override
+    public String toString() {
+        return new StringJoiner(", ", SGInteractionPolicy.class.getSimpleName() + "[", "]")
+                .add("permittedClickTypes=" + permittedClickTypes)
+                .add("blockedMenuActions=" + blockedMenuActions)
+                .add("blockedAdjacentActions=" + blockedAdjacentActions)
+                .toString();
+    }
+}
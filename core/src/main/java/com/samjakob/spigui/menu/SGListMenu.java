@@ -0,0 +1,389 @@
+package com.samjakob.spigui.menu;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import com.samjakob.spigui.SpiGUI;
+import com.samjakob.spigui.buttons.SGButton;
+import com.samjakob.spigui.buttons.SGIconPool;
+
+/**
+ * A menu whose content is an ordered list of buttons, which can be inserted into (and removed from) any position.
+ *
+ * <p>In an ordinary {@link SGMenu}, buttons are stored by slot, so inserting a button before others (e.g., a new entry
+ * at the top of a queue or feed) means moving every later button to the next slot. A list menu instead stores its
+ * buttons in a chunked list: each insertion or removal shifts only the buttons of one chunk, and the buttons in the
+ * following slots move implicitly.
+ *
+ * <p>Each insertion or removal returns the first page whose content shifted (every later page shifts as well), marks
+ * those pages as {@link #isPageDirty(int) dirty}, and refreshes viewers only if the page they are viewing is among
+ * them:
+ *
+ * <pre>{@code
+ * final SGListMenu feed = spiGUI.createList("&8Recent Sales", 5);
+ * feed.add(saleButton);
+ * feed.insert(0, newestSaleButton);
+ * }</pre>
+ *
+ * <p>Buttons cannot be set in specific slots of a list menu (i.e., with {@link #setButton(int, SGButton)}) - use the
+ * list operations instead. The list fills every slot of each page, so list menus should not use stickied slots. For
+ * the same reason, the range operations (e.g., {@link #removeRange(int, int)} and {@link #clearPage(int)}) remove
+ * buttons from the list, shifting the later buttons back, rather than leaving the slots empty.
+ */
+public final class SGListMenu extends SGMenu {
+
+    /** The maximum number of buttons in a chunk. A chunk that grows beyond this is split in two. */
+    static final int MAX_CHUNK_SIZE = 128;
+
+    /** The chunks of the list, in order. No chunk is empty. */
+    @Nonnull
+    private final List<List<SGButton>> chunks = new ArrayList<>();
+
+    /** The number of buttons in the list. */
+    private int size;
+
+    /**
+     * The index of the chunk found by the last lookup. Lookups start from this chunk if they can, so that looking up
+     * consecutive indexes (e.g., when a page is rendered) does not walk the chunks from the start each time.
+     */
+    private int cursorChunk;
+
+    /** The index, in the list, of the first button of {@link #cursorChunk}. */
+    private int cursorStart;
+
+    /**
+     * <b>For internal use only</b>: you should probably use {@link SpiGUI#createList(String, int)} or
+     * {@link SpiGUI#createList(String, int, String)}!
+     *
+     * <p>The name parameter is color code translated.
+     *
+     * @param spiGUI The SpiGUI instance associated with this menu.
+     * @param name The name of the menu.
+     * @param rowsPerPage The number of rows per page in the menu.
+     * @param tag The tag associated with this menu.
+     */
+    public SGListMenu(@Nonnull SpiGUI spiGUI, String name, int rowsPerPage, String tag) {
+        super(spiGUI, name, rowsPerPage, tag);
+    }
+
+    /**
+     * Returns the number of buttons in the list.
+     *
+     * @return The size of the list.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the button at the specified index of the list.
+     *
+     * @param index The index of the button.
+     * @return The button.
+     * @throws IndexOutOfBoundsException if the index is out of range.
+     */
+    @Nonnull
+    public SGButton get(int index) {
+        checkIndex(index, size - 1);
+
+        final List<SGButton> chunk = chunks.get(locate(index));
+        return chunk.get(index - cursorStart);
+    }
+
+    /**
+     * Adds a button to the end of the list.
+     *
+     * @param button The button to add.
+     * @return The first page whose content changed.
+     */
+    public int add(@Nonnull SGButton button) {
+        return insert(size, button);
+    }
+
+    /**
+     * Inserts a button at the specified index of the list, shifting the button at that index (and every later button)
+     * to the next slot.
+     *
+     * @param index The index to insert the button at (from 0 to {@link #size()}, inclusive).
+     * @param button The button to insert.
+     * @return The first page whose content shifted (the content of every later page shifts as well).
+     * @throws IndexOutOfBoundsException if the index is out of range.
+     */
+    public int insert(int index, @Nonnull SGButton button) {
+        checkIndex(index, size);
+        Objects.requireNonNull(button);
+
+        final SGIconPool iconPool = getIconPool();
+        if (iconPool != null) button.compactInto(iconPool);
+
+        if (chunks.isEmpty()) chunks.add(new ArrayList<>());
+
+        final int chunkIndex = locate(index);
+        final List<SGButton> chunk = chunks.get(chunkIndex);
+        chunk.add(index - cursorStart, button);
+        size++;
+
+        // Split the chunk once it's full, so that insertions into it stay cheap.
+        if (chunk.size() > MAX_CHUNK_SIZE) {
+            final List<SGButton> tail = chunk.subList(chunk.size() / 2, chunk.size());
+            chunks.add(chunkIndex + 1, new ArrayList<>(tail));
+            tail.clear();
+        }
+
+        return shifted(index, size - 1);
+    }
+
+    /**
+     * Removes the button at the specified index of the list, shifting every later button to the previous slot.
+     *
+     * @param index The index of the button to remove.
+     * @return The first page whose content shifted (the content of every later page shifts as well).
+     * @throws IndexOutOfBoundsException if the index is out of range.
+     */
+    public int remove(int index) {
+        checkIndex(index, size - 1);
+
+        final int chunkIndex = locate(index);
+        final List<SGButton> chunk = chunks.get(chunkIndex);
+        final SGButton removed = chunk.remove(index - cursorStart);
+        size--;
+
+        if (chunk.isEmpty()) chunks.remove(chunkIndex);
+
+        final SGIconPool iconPool = getIconPool();
+        if (iconPool != null) removed.releaseFrom(iconPool);
+
+        return shifted(index, size);
+    }
+
+    /**
+     * Replaces the button at the specified index of the list. No other buttons are shifted.
+     *
+     * @param index The index of the button to replace.
+     * @param button The replacement button.
+     * @return The button that was replaced.
+     * @throws IndexOutOfBoundsException if the index is out of range.
+     */
+    @Nonnull
+    public SGButton set(int index, @Nonnull SGButton button) {
+        checkIndex(index, size - 1);
+        Objects.requireNonNull(button);
+
+        final SGIconPool iconPool = getIconPool();
+        if (iconPool != null) button.compactInto(iconPool);
+
+        final List<SGButton> chunk = chunks.get(locate(index));
+        final SGButton replaced = chunk.set(index - cursorStart, button);
+        if (iconPool != null) replaced.releaseFrom(iconPool);
+
+        shifted(index, index);
+        return replaced;
+    }
+
+    /** Removes every button from the list. */
+    public void clear() {
+        final SGIconPool iconPool = getIconPool();
+        if (iconPool != null) {
+            for (List<SGButton> chunk : chunks) {
+                for (SGButton button : chunk) button.releaseFrom(iconPool);
+            }
+        }
+
+        final int previousSize = size;
+        chunks.clear();
+        size = 0;
+        cursorChunk = 0;
+        cursorStart = 0;
+
+        shifted(0, Math.max(previousSize - 1, 0));
+    }
+
+    // -- RANGE OPERATIONS -- //
+
+    /**
+     * Removes the buttons at the specified range of indexes (inclusive) from the list, shifting every later button
+     * back. Indexes beyond the end of the list are ignored.
+     *
+     * @param fromSlot The index of the first button to remove.
+     * @param toSlot The index of the last button to remove.
+     */
+    @Override
+    public void removeRange(int fromSlot, int toSlot) {
+        final int first = Math.max(fromSlot, 0);
+        final int last = Math.min(toSlot, size - 1);
+        if (first > last) return;
+
+        final SGIconPool iconPool = getIconPool();
+        final int previousSize = size;
+
+        // Trim the range from each chunk it covers, dropping the chunks it empties.
+        int chunkIndex = locate(first);
+        int chunkStart = cursorStart;
+        int remaining = last - first + 1;
+        while (remaining > 0) {
+            final List<SGButton> chunk = chunks.get(chunkIndex);
+            final int from = first - chunkStart;
+            final List<SGButton> removed = chunk.subList(from, Math.min(chunk.size(), from + remaining));
+            if (iconPool != null) {
+                for (SGButton button : removed) button.releaseFrom(iconPool);
+            }
+
+            remaining -= removed.size();
+            size -= removed.size();
+            removed.clear();
+
+            if (chunk.isEmpty()) {
+                chunks.remove(chunkIndex);
+            } else {
+                chunkStart += chunk.size();
+                chunkIndex++;
+            }
+        }
+
+        cursorChunk = 0;
+        cursorStart = 0;
+
+        shifted(first, previousSize - 1);
+    }
+
+    /**
+     * The list has no gaps between its buttons, so this does nothing.
+     *
+     * @param fromSlot Ignored.
+     */
+    @Override
+    public void compact(int fromSlot) {}
+
+    /**
+     * List menus have no stickied slots to keep, so this always throws.
+     *
+     * @throws UnsupportedOperationException always.
+     */
+    @Override
+    public void clearAllButStickiedSlots() {
+        throw new UnsupportedOperationException("Cannot keep stickied slots of a list menu - use clear instead.");
+    }
+
+    // -- COMPACT ICON STORAGE -- //
+
+    /**
+     * Enables or disables compact icon storage for this menu, compacting (or inflating) the icons of the buttons that
+     * are already in the list.
+     *
+     * @param compactIconStorage Whether button icons should be held in compact form.
+     * @see SGMenu#setCompactIconStorage(boolean)
+     */
+    @Override
+    public void setCompactIconStorage(boolean compactIconStorage) {
+        if (compactIconStorage == isCompactIconStorageEnabled()) return;
+
+        // Release every use of the pool before it is discarded, and only then re-set the (inflated) icons, so that
+        // they aren't interned again.
+        final SGIconPool previousPool = getIconPool();
+        if (previousPool != null) {
+            for (List<SGButton> chunk : chunks) {
+                for (SGButton button : chunk) button.releaseFrom(previousPool);
+            }
+        }
+
+        super.setCompactIconStorage(compactIconStorage);
+
+        final SGIconPool iconPool = getIconPool();
+        for (List<SGButton> chunk : chunks) {
+            for (SGButton button : chunk) {
+                if (iconPool != null) button.compactInto(iconPool);
+                else if (button.isIconCompacted()) button.setIcon(button.getIcon());
+            }
+        }
+    }
+
+    /**
+     * Finds the chunk containing the specified index, and moves the cursor to it. An index equal to the size of the
+     * list is located in the last chunk (i.e., for appending to it).
+     *
+     * @param index The index to find.
+     * @return The index of the chunk (whose first button's index is then {@link #cursorStart}).
+     */
+    private int locate(int index) {
+        // Walk forward from the cursor if the index is at or after it, otherwise from the first chunk.
+        if (cursorChunk >= chunks.size() || index < cursorStart) {
+            cursorChunk = 0;
+            cursorStart = 0;
+        }
+
+        while (cursorChunk < chunks.size() - 1 && index >= cursorStart + chunks.get(cursorChunk).size()) {
+            cursorStart += chunks.get(cursorChunk).size();
+            cursorChunk++;
+        }
+
+        return cursorChunk;
+    }
+
+    /**
+     * Marks the pages containing the specified range of indexes as dirty, and refreshes viewers if the page they are
+     * viewing is among them.
+     *
+     * @param fromIndex The first index whose button changed.
+     * @param toIndex The last index whose button changed.
+     * @return The first page that changed.
+     */
+    private int shifted(int fromIndex, int toIndex) {
+        markSlotsDirty(fromIndex, Math.max(toIndex, fromIndex));
+        refreshDirtyPages();
+        return getFirstPageShowing(fromIndex);
+    }
+
+    /**
+     * Checks that an index is within the range of the list.
+     *
+     * @param index The index to check.
+     * @param maxIndex The highest valid index.
+     * @throws IndexOutOfBoundsException if the index is out of range.
+     */
+    private void checkIndex(int index, int maxIndex) {
+        if (index < 0 || index > maxIndex) {
+            throw new IndexOutOfBoundsException(
+                    String.format("Index %d is out of range for a list of size %d.", index, size));
+        }
+    }
+
+    @Nullable
+    @Override
+    public SGButton getButton(int slot) {
+        if (slot < 0 || slot >= size) return null;
+
+        final List<SGButton> chunk = chunks.get(locate(slot));
+        return chunk.get(slot - cursorStart);
+    }
+
+    @Override
+    public int getHighestFilledSlot() {
+        return Math.max(0, size - 1);
+    }
+
+    /**
+     * Buttons cannot be set in specific slots of a list menu, so this always throws.
+     *
+     * @param slot Ignored.
+     * @param button Ignored.
+     * @throws UnsupportedOperationException always.
+     */
+    @Override
+    public void setButton(int slot, SGButton button) {
+        throw new UnsupportedOperationException("Cannot set slots of a list menu - use insert or set instead.");
+    }
+
+    /**
+     * Buttons cannot be removed from specific slots of a list menu, so this always throws.
+     *
+     * @param slot Ignored.
+     * @throws UnsupportedOperationException always.
+     */
+    @Override
+    public void removeButton(int slot) {
+        throw new UnsupportedOperationException("Cannot remove slots of a list menu - use remove instead.");
+    }
+}
@@ -6,17 +6,22 @@ import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 
 import org.bukkit.Bukkit;
-import org.bukkit.ChatColor;
 import org.bukkit.entity.HumanEntity;
 import org.bukkit.event.inventory.ClickType;
 import org.bukkit.event.inventory.InventoryAction;
 import org.bukkit.event.inventory.InventoryCloseEvent;
 import org.bukkit.inventory.Inventory;
 import org.bukkit.inventory.InventoryHolder;
+import org.bukkit.inventory.ItemStack;
 import org.bukkit.plugin.java.JavaPlugin;
 
 import com.samjakob.spigui.SpiGUI;
 import com.samjakob.spigui.buttons.SGButton;
+import com.samjakob.spigui.buttons.SGButtonListener;
+import com.samjakob.spigui.buttons.SGIconPool;
+import com.samjakob.spigui.item.ItemFingerprint;
+import com.samjakob.spigui.text.ColorCodes;
+import com.samjakob.spigui.text.TextTemplate;
 import com.samjakob.spigui.toolbar.SGToolbarBuilder;
 import com.samjakob.spigui.toolbar.SGToolbarButtonType;
 
@@ -44,6 +49,10 @@ public class SGMenu implements InventoryHolder {
     /** The title of the inventory. */
     private String name;
 
+    /** The title of the inventory, compiled as a template (or null if it has not yet been compiled). */
+    @Nullable
+    private TextTemplate nameTemplate;
+
     /** A tag that may be used to identify the type of inventory. */
     private String tag;
 
@@ -55,8 +64,37 @@ public class SGMenu implements InventoryHolder {
     /** The map of items in the inventory. */
     private final Map<Integer, SGButton> items;
 
-    /** The set of sticky slots (that should remain when the page is changed). */
-    private final HashSet<Integer> stickiedSlots;
+    /**
+     * The slot number of the highest filled slot, kept up to date as buttons are set so that
+     * {@link #getHighestFilledSlot()} (which is called for each render and page count) need not walk every button. This
+     * is -1 once the button in that slot has been removed, until the highest filled slot is next found.
+     */
+    private int highestFilledSlot;
+
+    /** The sticky slots (that should remain when the page is changed), as a bit mask of the slots of a page. */
+    private long stickiedSlots;
+
+    /**
+     * The locked slots (that cannot be interacted with), as a bit mask of the slots of a page.
+     *
+     * @see #lockSlot(int)
+     */
+    private long lockedSlots;
+
+    /**
+     * The input slots (that players may place items into), as a bit mask of the slots of a page.
+     *
+     * @see #markInputSlot(int)
+     */
+    private long inputSlots;
+
+    /**
+     * The pool that button icons are compacted into, when compact icon storage is enabled (otherwise, null).
+     *
+     * @see #setCompactIconStorage(boolean)
+     */
+    @Nullable
+    private SGIconPool iconPool;
 
     /** The toolbar builder used to render this GUI's toolbar. */
     private SGToolbarBuilder toolbarBuilder;
@@ -67,33 +105,95 @@ public class SGMenu implements InventoryHolder {
      */
     private boolean enableAutomaticPagination;
 
+    /**
+     * The background displayed in the empty slots of each page (or null to leave them empty).
+     *
+     * @see #setBackground(SGBackground)
+     */
+    @Nullable
+    private SGBackground background;
+
     // Current state
 
-    /** The currently selected page of the inventory. */
+    /** The currently selected page of the inventory (or, in scroll mode, the first visible row). */
     private int currentPage;
 
-    // Interaction management
+    /**
+     * Whether the menu scrolls by rows, rather than by pages.
+     *
+     * @see #setScrollMode(boolean)
+     */
+    private boolean scrollMode;
 
     /**
-     * Whether the "default" behaviors and interactions should be permitted or blocked. (True prevents default behaviors
-     * such as moving items in the inventory, false allows them).
+     * The buttons of the view last rendered in scroll mode (before the stickied slots were overlaid), indexed by slot
+     * of the view, so that the rows that remain visible after scrolling are not fetched again (or null if there are
+     * none to reuse).
      */
-    private boolean blockDefaultInteractions;
+    @Nullable
+    private SGButton[] renderedRows;
+
+    /** The first slot of the view whose buttons are {@link #renderedRows}. */
+    private int renderedRowsStart;
 
     /**
-     * Any actions in this list will be blocked immediately without further processing if they occur in a SpiGUI menu.
+     * The pages whose buttons have changed since they were last rendered.
+     *
+     * @see #isPageDirty(int)
      */
-    private HashSet<InventoryAction> blockedMenuActions = new HashSet<>(Arrays.asList(DEFAULT_BLOCKED_MENU_ACTIONS));
+    @Nonnull
+    private final BitSet dirtyPages = new BitSet();
+
+    /** The number of pages the menu had when it was last rendered (or -1 if it has not been rendered). */
+    private int renderedMaxPageNumber = -1;
+
+    /**
+     * The fingerprints of the icons last rendered into each open inventory of this menu (indexed by slot), so that
+     * refreshes can skip slots whose icon is unchanged. Inventories are removed once they are no longer referenced.
+     */
+    @Nonnull
+    private final Map<Inventory, long[]> renderedFingerprints = new WeakHashMap<>();
+
+    /**
+     * The listeners of the buttons last rendered into each open inventory of this menu (indexed by slot), so that a
+     * click invokes the listener of the button the viewer saw, with a single lookup. Inventories are removed once they
+     * are no longer referenced.
+     */
+    @Nonnull
+    private final Map<Inventory, SGButtonListener[]> dispatchTables = new WeakHashMap<>();
+
+    /**
+     * Whether every viewer is shown the same, shared, inventory.
+     *
+     * @see #setBroadcast(boolean)
+     */
+    private boolean broadcast;
 
-    /** Any actions in this list will be blocked if they occur in the adjacent inventory to an SGMenu. */
-    private HashSet<InventoryAction> blockedAdjacentActions =
-            new HashSet<>(Arrays.asList(DEFAULT_BLOCKED_ADJACENT_ACTIONS));
+    /**
+     * The inventory shared by every viewer, when the menu is broadcast (or null if it has not yet been created). This
+     * is always null when the menu is not broadcast.
+     */
+    @Nullable
+    private Inventory sharedInventory;
+
+    /** The title the shared inventory was created with. */
+    @Nullable
+    private String sharedInventoryTitle;
+
+    // Interaction management
+
+    /**
+     * Whether the "default" behaviors and interactions should be permitted or blocked. (True prevents default behaviors
+     * such as moving items in the inventory, false allows them).
+     */
+    private boolean blockDefaultInteractions;
 
     /**
-     * Any click types not in this array will be immediately prevented in this menu without further processing (i.e.,
-     * the button's listener will not be called).
+     * The click types permitted, and the actions blocked, in this menu. This may be shared with other menus, so it is
+     * replaced with a modified copy (rather than modified) when this menu's interactions are modified.
      */
-    private HashSet<ClickType> permittedMenuClickTypes;
+    @Nonnull
+    private SGInteractionPolicy interactionPolicy;
 
     // Event handlers
 
@@ -103,20 +203,6 @@ public class SGMenu implements InventoryHolder {
     /** The action to be performed on page change. */
     private Consumer<SGMenu> onPageChange;
 
-    // -- DEFAULT PERMITTED / BLOCKED ACTIONS  -- //
-
-    /** The default set of actions that are permitted if they occur in an SGMenu. */
-    private static final ClickType[] DEFAULT_PERMITTED_MENU_CLICK_TYPES =
-            new ClickType[] {ClickType.LEFT, ClickType.RIGHT};
-
-    /** The default set of actions that are blocked if they occur in an SGMenu. */
-    private static final InventoryAction[] DEFAULT_BLOCKED_MENU_ACTIONS =
-            new InventoryAction[] {InventoryAction.MOVE_TO_OTHER_INVENTORY, InventoryAction.COLLECT_TO_CURSOR};
-
-    /** The default set of actions that are blocked if they occur in the adjacent inventory to an SGMenu. */
-    private static final InventoryAction[] DEFAULT_BLOCKED_ADJACENT_ACTIONS =
-            new InventoryAction[] {InventoryAction.MOVE_TO_OTHER_INVENTORY, InventoryAction.COLLECT_TO_CURSOR};
-
     /**
      * <b>For internal use only</b>: you should probably use {@link SpiGUI#create(String, int)} or
      * {@link SpiGUI#create(String, int, String)}!
@@ -134,18 +220,17 @@ public class SGMenu implements InventoryHolder {
      */
     public SGMenu(@Nonnull SpiGUI spiGUI, String name, int rowsPerPage, String tag, @Nullable ClickType... clickTypes) {
         this.spiGUI = Objects.requireNonNull(spiGUI);
-        this.name = ChatColor.translateAlternateColorCodes('&', name);
+        this.name = ColorCodes.translate(name);
         this.rowsPerPage = rowsPerPage;
         this.tag = tag;
 
         this.items = new HashMap<>();
-        this.stickiedSlots = new HashSet<>();
 
         this.currentPage = 0;
 
-        this.permittedMenuClickTypes = clickTypes != null && clickTypes.length > 0
-                ? new HashSet<>(Arrays.asList(clickTypes))
-                : new HashSet<>(Arrays.asList(DEFAULT_PERMITTED_MENU_CLICK_TYPES));
+        this.interactionPolicy = clickTypes != null && clickTypes.length > 0
+                ? SGInteractionPolicy.DEFAULT.withPermittedClickTypes(clickTypes)
+                : SGInteractionPolicy.DEFAULT;
     }
 
     // -- INVENTORY SETTINGS -- //
@@ -211,8 +296,106 @@ public class SGMenu implements InventoryHolder {
         return this.toolbarBuilder;
     }
 
+    /**
+     * Enables or disables compact icon storage for this menu.
+     *
+     * <p>When enabled, the icon of each button in the menu is serialized, compressed and deduplicated into an
+     * {@link SGIconPool} owned by the menu, so buttons with identical icons share a single compressed copy. Icons are
+     * then only inflated back into {@link org.bukkit.inventory.ItemStack}s when a page containing them is rendered.
+     *
+     * <p>This is worthwhile for large menus with many repeated icons, at the cost of some additional work per render:
+     * compacted icons are not cached once inflated, so each {@link SGButton#getIcon()} call (such as for each changed
+     * slot when a page is rendered or refreshed) deserializes a fresh copy of the icon. When disabled, any compacted
+     * icons are inflated back into their original form.
+     *
+     * @param compactIconStorage Whether button icons should be held in compact form.
+     * @see #getIconPool()
+     */
+    public void setCompactIconStorage(boolean compactIconStorage) {
+        if (compactIconStorage == isCompactIconStorageEnabled()) return;
+
+        if (compactIconStorage) {
+            this.iconPool = new SGIconPool();
+            for (SGButton button : items.values()) {
+                if (button != null) button.compactInto(iconPool);
+            }
+        } else {
+            // Release every use of the pool before re-setting the (inflated) icons, so they aren't interned again.
+            for (SGButton button : items.values()) {
+                if (button != null) button.releaseFrom(iconPool);
+            }
+            this.iconPool = null;
+
+            for (SGButton button : items.values()) {
+                if (button != null && button.isIconCompacted()) button.setIcon(button.getIcon());
+            }
+        }
+    }
+
+    /**
+     * Whether compact icon storage is enabled for this menu.
+     *
+     * @return True if button icons are held in compact form, otherwise false.
+     * @see #setCompactIconStorage(boolean)
+     */
+    public boolean isCompactIconStorageEnabled() {
+        return iconPool != null;
+    }
+
+    /**
+     * Returns the {@link SGIconPool} holding this menu's compacted icons, or null if compact icon storage is disabled.
+     *
+     * <p>The pool can be used to report how much memory compact storage is saving for this menu (see
+     * {@link SGIconPool#getEstimatedSavedBytes()}).
+     *
+     * @return The menu's icon pool, or null.
+     * @see #setCompactIconStorage(boolean)
+     */
+    @Nullable
+    public SGIconPool getIconPool() {
+        return iconPool;
+    }
+
+    // -- BACKGROUND -- //
+
+    /**
+     * Sets the background displayed in the slots of each page that have no button (other than
+     * {@link #markInputSlot(int) input slots}).
+     *
+     * <p>The background is applied when the menu is rendered, rather than being stored as buttons, so it does not
+     * affect the number of pages (or {@link #getHighestFilledSlot()}), and its slots are not clickable. Open
+     * inventories are updated when they are next refreshed.
+     *
+     * @see SGBackground
+     * @param background The background (or null to leave empty slots empty).
+     */
+    public void setBackground(@Nullable SGBackground background) {
+        this.background = background;
+    }
+
+    /**
+     * Returns the background displayed in the slots of each page that have no button.
+     *
+     * @see #setBackground(SGBackground)
+     * @return The background (or null if empty slots are left empty).
+     */
+    @Nullable
+    public SGBackground getBackground() {
+        return background;
+    }
+
     // -- INVENTORY OWNER -- //
 
+    /**
+     * Returns the {@link SpiGUI} instance that created this menu.
+     *
+     * @return The SpiGUI instance associated with this menu.
+     */
+    @Nonnull
+    SpiGUI getSpiGUI() {
+        return spiGUI;
+    }
+
     /**
      * Returns the plugin that the inventory is associated with. As this field is final, this would be the plugin that
      * created the inventory.
@@ -299,7 +482,8 @@ public class SGMenu implements InventoryHolder {
      * @param name The display name to set. (and to be color code translated)
      */
     public void setName(String name) {
-        this.name = ChatColor.translateAlternateColorCodes('&', name);
+        this.name = ColorCodes.translate(name);
+        this.nameTemplate = null;
     }
 
     /**
@@ -309,6 +493,7 @@ public class SGMenu implements InventoryHolder {
      */
     public void setRawName(String name) {
         this.name = name;
+        this.nameTemplate = null;
     }
 
     /**
@@ -322,6 +507,18 @@ public class SGMenu implements InventoryHolder {
         return name;
     }
 
+    /**
+     * Returns the inventory's display name with the <code>{currentPage}</code> and <code>{maxPage}</code> placeholders
+     * replaced for the current page.
+     *
+     * @return The inventory's rendered display name.
+     */
+    private String getRenderedName() {
+        if (nameTemplate == null) nameTemplate = TextTemplate.compile(name, "currentPage", "maxPage");
+        if (nameTemplate.isConstant()) return name;
+        return nameTemplate.render(currentPage + 1, getMaxPageNumber());
+    }
+
     // -- BUTTONS -- //
 
     /**
@@ -361,7 +558,10 @@ public class SGMenu implements InventoryHolder {
      * @param button The button to add.
      */
     public void setButton(int slot, SGButton button) {
-        items.put(slot, button);
+        if (iconPool != null && button != null) button.compactInto(iconPool);
+        releaseIcon(items.put(slot, button));
+        slotFilled(slot, button != null);
+        markSlotDirty(slot);
     }
 
     /**
@@ -392,7 +592,35 @@ public class SGMenu implements InventoryHolder {
      * @param slot The slot containing the button you wish to remove.
      */
     public void removeButton(int slot) {
-        items.remove(slot);
+        if (!items.containsKey(slot)) return;
+
+        releaseIcon(items.remove(slot));
+        slotFilled(slot, false);
+        markSlotDirty(slot);
+    }
+
+    /**
+     * Releases a button's icon from this menu's {@link SGIconPool} (if compact icon storage is enabled) once the button
+     * has been replaced or removed. Each slot holding a button holds one use of its icon, so this is needed even if the
+     * button was replaced with itself.
+     *
+     * @param previous The button that was replaced or removed (may be null).
+     */
+    private void releaseIcon(@Nullable SGButton previous) {
+        if (iconPool != null && previous != null) previous.releaseFrom(iconPool);
+    }
+
+    /**
+     * Updates the {@link #highestFilledSlot highest filled slot} once a slot has been filled or emptied.
+     *
+     * @param slot The slot that was filled or emptied.
+     * @param filled Whether the slot now holds a button.
+     */
+    private void slotFilled(int slot, boolean filled) {
+        if (highestFilledSlot < 0) return;
+
+        if (filled) highestFilledSlot = Math.max(highestFilledSlot, slot);
+        else if (slot == highestFilledSlot) highestFilledSlot = -1;
     }
 
     /**
@@ -420,7 +648,8 @@ public class SGMenu implements InventoryHolder {
      *     slot.
      */
     public SGButton getButton(int slot) {
-        if (slot < 0 || slot > getHighestFilledSlot()) return null;
+        // Slots beyond the highest filled slot are, by definition, empty - so there's no need to compute it here.
+        if (slot < 0) return null;
 
         return items.get(slot);
     }
@@ -439,6 +668,172 @@ public class SGMenu implements InventoryHolder {
         return getButton((page * getPageSize()) + slot);
     }
 
+    /**
+     * Checks whether a button (or an explicit empty slot, set with a null button) has been assigned to the specified
+     * slot of this menu.
+     *
+     * @param slot The slot to check.
+     * @return True if the slot has been assigned, otherwise false.
+     */
+    boolean isSlotAssigned(int slot) {
+        return items.containsKey(slot);
+    }
+
+    // -- RANGE OPERATIONS -- //
+
+    /**
+     * Sets the specified buttons in consecutive slots, starting at the specified slot. This is equivalent to calling
+     * {@link #setButton(int, SGButton)} for each button (so a null button leaves its slot empty).
+     *
+     * @param fromSlot The slot of the first button.
+     * @param buttons The buttons to set.
+     * @throws IllegalArgumentException if the first slot is negative.
+     */
+    public void setButtons(int fromSlot, @Nonnull List<? extends SGButton> buttons) {
+        if (fromSlot < 0) {
+            throw new IllegalArgumentException(
+                    String.format("The first slot must not be negative (got %d).", fromSlot));
+        }
+
+        for (int i = 0; i < buttons.size(); i++) setButton(fromSlot + i, buttons.get(i));
+    }
+
+    /**
+     * Removes the buttons from the specified range of slots (inclusive). This takes time proportional to the size of
+     * the range (or to the number of buttons in the menu, if that is smaller).
+     *
+     * @param fromSlot The first slot to clear.
+     * @param toSlot The last slot to clear.
+     */
+    public void removeRange(int fromSlot, int toSlot) {
+        final int first = Math.max(fromSlot, 0);
+        if (toSlot < first) return;
+
+        // Removing the slots one at a time is cheaper than walking every button in the menu, unless the range is larger
+        // than the menu.
+        if ((long) toSlot - first + 1 <= items.size()) {
+            for (int slot = first; slot <= toSlot; slot++) {
+                if (!items.containsKey(slot)) continue;
+
+                releaseIcon(items.remove(slot));
+                slotFilled(slot, false);
+                markSlotDirty(slot);
+            }
+
+            return;
+        }
+
+        items.entrySet().removeIf(item -> {
+            final int slot = item.getKey();
+            if (slot < first || slot > toSlot) return false;
+
+            releaseIcon(item.getValue());
+            slotFilled(slot, false);
+            markSlotDirty(slot);
+            return true;
+        });
+    }
+
+    /**
+     * Removes every button from the specified page (including, on the first page, the buttons in stickied slots).
+     *
+     * @param page The page to clear.
+     */
+    public void clearPage(int page) {
+        if (page < 0) return;
+
+        final long pageStart = (long) page * getPageSize();
+        if (pageStart > Integer.MAX_VALUE) return;
+
+        removeRange((int) pageStart, (int) Math.min(pageStart + getPageSize() - 1, Integer.MAX_VALUE));
+    }
+
+    /**
+     * Closes the gaps between the buttons of the menu, by shifting each button down into the lowest empty slot before
+     * it.
+     *
+     * @see #compact(int)
+     */
+    public void compact() {
+        compact(0);
+    }
+
+    /**
+     * Closes the gaps between the buttons from the specified slot onward, by shifting each button down into the lowest
+     * empty slot (at or after the specified slot) before it. This takes time proportional to the number of slots from
+     * the specified slot to the {@link #getHighestFilledSlot() highest filled slot}.
+     *
+     * <p>Stickied slots are skipped: the buttons in them are not moved, and no buttons are moved into them (on any
+     * page, as the stickied slots of later pages display the buttons of the first page). Likewise, buttons that are
+     * displayed in a slot without being held by the menu itself (e.g., the template buttons of an
+     * {@link SGOverlayMenu}) are neither moved nor covered. Slots that were explicitly emptied (e.g., by
+     * {@link SGOverlayMenu#hideButton(int)}) are left empty, unless a button is moved into them.
+     *
+     * @param fromSlot The first slot to compact.
+     */
+    public void compact(int fromSlot) {
+        if (getPageSize() <= 0) return;
+
+        final int highestFilledSlot = getHighestFilledSlot();
+
+        int target = Math.max(fromSlot, 0);
+        for (int slot = target; slot <= highestFilledSlot; slot++) {
+            if (isStickiedSlot(slot % getPageSize())) continue;
+
+            final SGButton button = items.get(slot);
+            if (button == null) continue;
+
+            // The target never passes this slot, as the slot holds a button of the menu's own.
+            while (isStickiedSlot(target % getPageSize()) || (!isSlotAssigned(target) && getButton(target) != null)) {
+                target++;
+            }
+
+            if (target != slot) {
+                items.remove(slot);
+                items.put(target, button);
+                slotFilled(slot, false);
+                slotFilled(target, true);
+                markSlotDirty(target);
+                markSlotDirty(slot);
+            }
+
+            target++;
+        }
+    }
+
+    /**
+     * Checks whether the buttons on the specified page have changed (by {@link #setButton(int, SGButton)},
+     * {@link #removeButton(int)} or the range operations) since the page was last rendered.
+     *
+     * @param page The page to check.
+     * @return True if the page has changed, otherwise false.
+     */
+    public boolean isPageDirty(int page) {
+        return page >= 0 && dirtyPages.get(page);
+    }
+
+    /**
+     * Marks the pages (or, in scroll mode, the scroll positions) displaying any of the specified range of slots
+     * (inclusive) as changed.
+     *
+     * @param fromSlot The first slot that changed.
+     * @param toSlot The last slot that changed.
+     */
+    void markSlotsDirty(int fromSlot, int toSlot) {
+        if (fromSlot < 0 || toSlot < fromSlot || getPageSize() <= 0) return;
+
+        dirtyPages.set(getFirstPageShowing(fromSlot), getLastPageShowing(toSlot) + 1);
+    }
+
+    /**
+     * Marks the pages (or, in scroll mode, the scroll positions) displaying the specified slot as changed.
+     *
+     * @param slot The slot that changed.
+     */
+    private void markSlotDirty(int slot) {
+        markSlotsDirty(slot, slot);
+    }
+
     // -- PAGINATION -- //
 
     /**
@@ -506,23 +901,65 @@ public class SGMenu implements InventoryHolder {
      * @see #getMaxPageIndex()
      */
     public int getMaxPageNumber() {
+        // In scroll mode, each position shows the rows from its first row onward, so the last position is the one
+        // whose final row is the last row with a button.
+        if (scrollMode) return Math.max(1, getHighestFilledSlot() / 9 + 2 - rowsPerPage);
+
         return (int) Math.ceil(((double) getHighestFilledSlot() + 1) / ((double) getPageSize()));
     }
 
+    /**
+     * Returns the first slot displayed on the specified page (or, in {@link #setScrollMode(boolean) scroll mode}, at
+     * the specified scroll position).
+     *
+     * @param page The page (or scroll position).
+     * @return The slot displayed in the first slot of the inventory.
+     */
+    public int getPageStart(int page) {
+        return scrollMode ? page * 9 : page * getPageSize();
+    }
+
+    /**
+     * Returns the first page (or, in scroll mode, scroll position) on which the specified slot is displayed.
+     *
+     * @param slot The slot (which must not be negative).
+     * @return The first page displaying the slot.
+     */
+    int getFirstPageShowing(int slot) {
+        return scrollMode ? Math.max(0, slot / 9 - rowsPerPage + 1) : slot / getPageSize();
+    }
+
+    /**
+     * Returns the last page (or, in scroll mode, scroll position) on which the specified slot is displayed.
+     *
+     * @param slot The slot (which must not be negative).
+     * @return The last page displaying the slot.
+     */
+    int getLastPageShowing(int slot) {
+        return scrollMode ? slot / 9 : slot / getPageSize();
+    }
+
     /**
      * Returns the slot number of the highest filled slot. This is mainly used to calculate the number of pages there
      * needs to be to display the GUI's contents in the rendered inventory.
      *
+     * <p>The highest filled slot is kept up to date as buttons are set, so this takes constant time - except after the
+     * button in the highest filled slot has been removed, when the first call walks every button to find it again.
+     *
      * @return The highest filled slot's number.
      */
     public int getHighestFilledSlot() {
-        int slot = 0;
+        if (highestFilledSlot < 0) {
+            int slot = 0;
+
+            for (int nextSlot : items.keySet()) {
+                if (items.get(nextSlot) != null && nextSlot > slot) slot = nextSlot;
+            }
 
-        for (int nextSlot : items.keySet()) {
-            if (items.get(nextSlot) != null && nextSlot > slot) slot = nextSlot;
+            highestFilledSlot = slot;
         }
 
-        return slot;
+        return highestFilledSlot;
     }
 
     /**
@@ -561,6 +998,78 @@ public class SGMenu implements InventoryHolder {
         }
     }
 
+    // -- SCROLLING -- //
+
+    /**
+     * Enables or disables scroll mode. In scroll mode, the menu's view moves by rows rather than by pages: the 'page'
+     * (i.e., {@link #getCurrentPage()}) is the index of the first visible row, so {@link #nextPage(HumanEntity)} and
+     * {@link #previousPage(HumanEntity)} (and the toolbar buttons that call them) scroll by one row.
+     *
+     * <p>When the view is scrolled, the rows that remain visible are reused from the previous render (unless their
+     * buttons have changed since), so only the newly exposed row is fetched. If buttons change without the menu's
+     * knowledge (e.g., in the source menu of a filtered menu), call {@link #refreshViewers()} to fetch every row again.
+     *
+     * <p>Slot-based methods (e.g., {@link #setButton(int, SGButton)}) are unaffected, but the page-based methods (e.g.,
+     * {@link #setButton(int, int, SGButton)}) still address whole pages of {@link #getPageSize()} slots. Stickied slots
+     * display the buttons of the first rows at every other scroll position. Changing the mode returns the view to the
+     * first page (or row).
+     *
+     * @param scrollMode Whether the menu should scroll by rows.
+     */
+    public void setScrollMode(boolean scrollMode) {
+        if (this.scrollMode == scrollMode) return;
+
+        this.scrollMode = scrollMode;
+        this.currentPage = 0;
+        this.renderedRows = null;
+
+        // Pages and scroll positions are numbered differently, so every view must be treated as changed.
+        dirtyPages.clear();
+        renderedMaxPageNumber = -1;
+    }
+
+    /**
+     * Checks whether the menu is in scroll mode.
+     *
+     * @see #setScrollMode(boolean)
+     * @return True if the menu scrolls by rows, false if it changes by pages.
+     */
+    public boolean isScrollMode() {
+        return scrollMode;
+    }
+
+    /**
+     * Moves the view by the specified number of rows (in scroll mode) or pages (otherwise), stopping at the first or
+     * last position. This will automatically refresh the inventory by calling {@link #refreshInventory(HumanEntity)}
+     * if the view was moved.
+     *
+     * @param viewer The {@link HumanEntity} viewing the inventory.
+     * @param rows The number of rows to move by (negative to move up).
+     * @return Whether the view could be moved (false means it is already at the first or last position).
+     */
+    public boolean scrollBy(HumanEntity viewer, int rows) {
+        final int target = (int) Math.max(0, Math.min((long) currentPage + rows, getMaxPageIndex()));
+        if (target == currentPage) return false;
+
+        currentPage = target;
+        refreshInventory(viewer);
+        if (this.onPageChange != null) this.onPageChange.accept(this);
+        return true;
+    }
+
+    /**
+     * Returns the buttons of the last view rendered in scroll mode, if they can be reused (i.e., none of them have
+     * changed since).
+     *
+     * @return The buttons of the last rendered view (indexed by slot of the view), or null if they cannot be reused.
+     */
+    @Nullable
+    private SGButton[] getReusableRows() {
+        if (!scrollMode || renderedRows == null || renderedRows.length != getPageSize()) return null;
+
+        return dirtyPages.get(renderedRowsStart / 9) ? null : renderedRows;
+    }
+
     // -- STICKY SLOTS -- //
 
     /**
@@ -575,9 +1084,7 @@ public class SGMenu implements InventoryHolder {
      * @param slot The slot to mark as 'sticky'.
      */
     public void stickSlot(int slot) {
-        if (slot < 0 || slot >= getPageSize()) return;
-
-        this.stickiedSlots.add(slot);
+        this.stickiedSlots |= getSlotBit(slot);
     }
 
     /**
@@ -587,7 +1094,7 @@ public class SGMenu implements InventoryHolder {
      * @param slot The slot to un-mark as 'sticky'.
      */
     public void unstickSlot(int slot) {
-        this.stickiedSlots.remove(slot);
+        this.stickiedSlots &= ~getSlotBit(slot);
     }
 
     /**
@@ -596,7 +1103,7 @@ public class SGMenu implements InventoryHolder {
      * @see #stickSlot(int)
      */
     public void clearStickiedSlots() {
-        this.stickiedSlots.clear();
+        this.stickiedSlots = 0;
     }
 
     /**
@@ -608,9 +1115,7 @@ public class SGMenu implements InventoryHolder {
      * @return True if the slot is sticky, false if it isn't or the slot was out of bounds.
      */
     public boolean isStickiedSlot(int slot) {
-        if (slot < 0 || slot >= getPageSize()) return false;
-
-        return this.stickiedSlots.contains(slot);
+        return (this.stickiedSlots & getSlotBit(slot)) != 0;
     }
 
     /**
@@ -619,8 +1124,129 @@ public class SGMenu implements InventoryHolder {
      * @see #stickSlot(int)
      */
     public void clearAllButStickiedSlots() {
+        if (getPageSize() > 0) dirtyPages.set(0, getMaxPageNumber());
         this.currentPage = 0;
-        items.entrySet().removeIf(item -> !isStickiedSlot(item.getKey()));
+
+        // Set the stickied buttons aside (by walking the stickied slots, rather than checking every button), then clear
+        // the rest.
+        final Map<Integer, SGButton> stickied = new HashMap<>();
+        for (long mask = stickiedSlots; mask != 0; mask &= mask - 1) {
+            final int slot = Long.numberOfTrailingZeros(mask);
+            if (items.containsKey(slot)) stickied.put(slot, items.remove(slot));
+        }
+
+        if (iconPool != null) {
+            for (SGButton button : items.values()) releaseIcon(button);
+        }
+
+        items.clear();
+        items.putAll(stickied);
+        highestFilledSlot = -1;
+    }
+
+    // -- LOCKED AND INPUT SLOTS -- //
+
+    /**
+     * Marks a slot as 'locked', so that it cannot be interacted with on any page. Clicks in a locked slot are always
+     * denied (even if default interactions are not blocked), and do not invoke the listener of the button in the slot.
+     *
+     * <p>If the slot is out of the bounds of a page (i.e. less than 0 or greater than {@link #getPageSize()} - 1) this
+     * method will do nothing.
+     *
+     * @param slot The slot to lock.
+     */
+    public void lockSlot(int slot) {
+        this.lockedSlots |= getSlotBit(slot);
+    }
+
+    /**
+     * Un-marks a slot as locked.
+     *
+     * @see #lockSlot(int)
+     * @param slot The slot to unlock.
+     */
+    public void unlockSlot(int slot) {
+        this.lockedSlots &= ~getSlotBit(slot);
+    }
+
+    /**
+     * Unlocks every locked slot.
+     *
+     * @see #lockSlot(int)
+     */
+    public void clearLockedSlots() {
+        this.lockedSlots = 0;
+    }
+
+    /**
+     * Checks whether a given slot is locked. If the slot is out of the bounds of a page, this will return false.
+     *
+     * @see #lockSlot(int)
+     * @param slot The slot to check.
+     * @return True if the slot is locked, false if it isn't or the slot was out of bounds.
+     */
+    public boolean isLockedSlot(int slot) {
+        return (this.lockedSlots & getSlotBit(slot)) != 0;
+    }
+
+    /**
+     * Marks a slot as an 'input' slot, into which players may place (and from which they may take) their own items,
+     * even if default interactions are blocked.
+     *
+     * <p>The button in an input slot (if any) is rendered when an inventory is first created, but the slot is not
+     * updated when the inventory is refreshed, so that the items players have placed in it are kept. The button's
+     * listener is still invoked when the slot is clicked.
+     *
+     * <p>If the slot is out of the bounds of a page (i.e. less than 0 or greater than {@link #getPageSize()} - 1) this
+     * method will do nothing.
+     *
+     * @param slot The slot to mark as an input slot.
+     */
+    public void markInputSlot(int slot) {
+        this.inputSlots |= getSlotBit(slot);
+    }
+
+    /**
+     * Un-marks a slot as an input slot.
+     *
+     * @see #markInputSlot(int)
+     * @param slot The slot to un-mark.
+     */
+    public void unmarkInputSlot(int slot) {
+        this.inputSlots &= ~getSlotBit(slot);
+    }
+
+    /**
+     * Un-marks every input slot.
+     *
+     * @see #markInputSlot(int)
+     */
+    public void clearInputSlots() {
+        this.inputSlots = 0;
+    }
+
+    /**
+     * Checks whether a given slot is an input slot. If the slot is out of the bounds of a page, this will return false.
+     *
+     * @see #markInputSlot(int)
+     * @param slot The slot to check.
+     * @return True if the slot is an input slot, false if it isn't or the slot was out of bounds.
+     */
+    public boolean isInputSlot(int slot) {
+        return (this.inputSlots & getSlotBit(slot)) != 0;
+    }
+
+    /**
+     * Returns the bit representing the specified slot of a page in the slot masks (i.e., the stickied, locked and input
+     * slots).
+     *
+     * @param slot The slot of the page.
+     * @return The slot's bit, or 0 if the slot is out of the bounds of a page.
+     */
+    private long getSlotBit(int slot) {
+        if (slot < 0 || slot >= getPageSize() || slot >= Long.SIZE) return 0;
+
+        return 1L << slot;
     }
 
     // -- EVENTS -- //
@@ -664,31 +1290,153 @@ public class SGMenu implements InventoryHolder {
         this.onPageChange = onPageChange;
     }
 
+    /**
+     * Returns the click types permitted, and the actions blocked, in this menu.
+     *
+     * @see SGInteractionPolicy
+     * @return The menu's interaction policy.
+     */
+    @Nonnull
+    public SGInteractionPolicy getInteractionPolicy() {
+        return this.interactionPolicy;
+    }
+
+    /**
+     * Sets the click types permitted, and the actions blocked, in this menu. The policy may be shared by any number of
+     * menus.
+     *
+     * @see SGInteractionPolicy
+     * @param interactionPolicy The menu's interaction policy.
+     */
+    public void setInteractionPolicy(@Nonnull SGInteractionPolicy interactionPolicy) {
+        this.interactionPolicy = Objects.requireNonNull(interactionPolicy);
+    }
+
     /**
      * Returns the permitted menu click types.
      *
-     * @return A hashSet of permitted menu click types
+     * @return The permitted menu click types. Changes to the set are written through to the menu (replacing its
+     *     interaction policy).
+     * @deprecated the menu's click types are now held by its (shared, immutable) {@link SGInteractionPolicy} - use
+     *     {@link #getInteractionPolicy()} to read them, and {@link #addPermittedClickType(ClickType)} or
+     *     {@link #removePermittedClickType(ClickType)} to modify them.
      */
+    @Deprecated
     public HashSet<ClickType> getPermittedMenuClickTypes() {
-        return this.permittedMenuClickTypes;
+        return new WriteThroughSet<>(
+                this.interactionPolicy.getPermittedClickTypes(),
+                clickTypes -> setPermittedMenuClickTypes(clickTypes.toArray(new ClickType[0])));
     }
 
     /**
      * Returns an array of blocked menu actions for the current Inventory.
      *
-     * @return A hashSet of blocked menu actions
+     * @return The blocked menu actions. Changes to the set are written through to the menu (replacing its interaction
+     *     policy).
+     * @deprecated the menu's blocked actions are now held by its (shared, immutable) {@link SGInteractionPolicy} - use
+     *     {@link #getInteractionPolicy()} to read them, and {@link #addBlockedMenuAction(InventoryAction)} or
+     *     {@link #removeBlockedMenuAction(InventoryAction)} to modify them.
      */
+    @Deprecated
     public HashSet<InventoryAction> getBlockedMenuActions() {
-        return this.blockedMenuActions;
+        return new WriteThroughSet<>(
+                this.interactionPolicy.getBlockedMenuActions(),
+                actions -> setBlockedMenuActions(actions.toArray(new InventoryAction[0])));
     }
 
     /**
      * Returns the blocked adjacent actions for this object.
      *
-     * @return A hashSet of InventoryAction objects representing the blocked adjacent actions.
+     * @return The blocked adjacent actions. Changes to the set are written through to the menu (replacing its
+     *     interaction policy).
+     * @deprecated the menu's blocked actions are now held by its (shared, immutable) {@link SGInteractionPolicy} - use
+     *     {@link #getInteractionPolicy()} to read them, and {@link #addBlockedAdjacentAction(InventoryAction)} or
+     *     {@link #removeBlockedAdjacentAction(InventoryAction)} to modify them.
      */
+    @Deprecated
     public HashSet<InventoryAction> getBlockedAdjacentActions() {
-        return this.blockedAdjacentActions;
+        return new WriteThroughSet<>(
+                this.interactionPolicy.getBlockedAdjacentActions(),
+                actions -> setBlockedAdjacentActions(actions.toArray(new InventoryAction[0])));
+    }
+
+    /**
+     * A copy of one of the sets held by the menu's {@link SGInteractionPolicy}, returned by the deprecated getters
+     * (which used to return the menu's own, mutable, sets). Each change to the copy is written back to the menu, by
+     * replacing its policy with one holding the copy's contents.
+     *
+     * @param <E> The type of the set's elements.
+     */
+    private static final class WriteThroughSet<E> extends HashSet<E> {
+
+        /** The serialization version. */
+        private static final long serialVersionUID = 1L;
+
+        /** Writes the set's contents back to the menu (or null while the set is being filled). */
+        @Nullable
+        private final transient Consumer<Set<E>> writer;
+
+        /**
+         * Create a copy of the specified set, which writes each change back to the menu.
+         *
+         * @param contents The set to copy.
+         * @param writer Writes the copy's contents back to the menu.
+         */
+        WriteThroughSet(@Nonnull Set<E> contents, @Nonnull Consumer<Set<E>> writer) {
+            for (E element : contents) super.add(element);
+            this.writer = writer;
+        }
+
+        /**
+         * Writes the set's contents back to the menu, if the set was changed.
+         *
+         * @param changed Whether the set was changed.
+         * @return Whether the set was changed.
+         */
+        private boolean written(boolean changed) {
+            if (changed && writer != null) writer.accept(this);
+            return changed;
+        }
+
+        @Override
+        public boolean add(E element) {
+            return written(super.add(element));
+        }
+
+        @Override
+        public boolean remove(Object element) {
+            return written(super.remove(element));
+        }
+
+        @Override
+        public void clear() {
+            final boolean changed = !isEmpty();
+            super.clear();
+            written(changed);
+        }
+
+        @Override
+        @Nonnull
+        public Iterator<E> iterator() {
+            final Iterator<E> iterator = super.iterator();
+            return new Iterator<E>() {
+                @Override
+                public boolean hasNext() {
+                    return iterator.hasNext();
+                }
+
+                @Override
+                public E next() {
+                    return iterator.next();
+                }
+
+                @Override
+                public void remove() {
+                    iterator.remove();
+                    written(true);
+                }
+            };
+        }
     }
 
     /**
@@ -697,7 +1445,7 @@ public class SGMenu implements InventoryHolder {
      * @param clickTypes One or more click types you want to allow for this menu.
      */
     public void setPermittedMenuClickTypes(ClickType... clickTypes) {
-        this.permittedMenuClickTypes = new HashSet<>(Arrays.asList(clickTypes));
+        this.interactionPolicy = this.interactionPolicy.withPermittedClickTypes(clickTypes);
     }
 
     /**
@@ -706,7 +1454,7 @@ public class SGMenu implements InventoryHolder {
      * @param actions the menu actions to be blocked
      */
     public void setBlockedMenuActions(InventoryAction... actions) {
-        this.blockedMenuActions = new HashSet<>(Arrays.asList(actions));
+        this.interactionPolicy = this.interactionPolicy.withBlockedMenuActions(actions);
     }
 
     /**
@@ -715,7 +1463,7 @@ public class SGMenu implements InventoryHolder {
      * @param actions The actions to be blocked.
      */
     public void setBlockedAdjacentActions(InventoryAction... actions) {
-        this.blockedAdjacentActions = new HashSet<>(Arrays.asList(actions));
+        this.interactionPolicy = this.interactionPolicy.withBlockedAdjacentActions(actions);
     }
 
     /**
@@ -724,7 +1472,7 @@ public class SGMenu implements InventoryHolder {
      * @param clickType the click type to be added
      */
     public void addPermittedClickType(ClickType clickType) {
-        this.permittedMenuClickTypes.add(clickType);
+        this.interactionPolicy = this.interactionPolicy.withClickTypePermitted(clickType, true);
     }
 
     /**
@@ -734,7 +1482,7 @@ public class SGMenu implements InventoryHolder {
      * @param action The InventoryAction to be added to the blocked menu actions list.
      */
     public void addBlockedMenuAction(InventoryAction action) {
-        this.blockedMenuActions.add(action);
+        this.interactionPolicy = this.interactionPolicy.withMenuActionBlocked(action, true);
     }
 
     /**
@@ -743,7 +1491,7 @@ public class SGMenu implements InventoryHolder {
      * @param action The inventory action to be added as blocked adjacent action.
      */
     public void addBlockedAdjacentAction(InventoryAction action) {
-        this.getBlockedAdjacentActions().add(action);
+        this.interactionPolicy = this.interactionPolicy.withAdjacentActionBlocked(action, true);
     }
 
     /**
@@ -752,7 +1500,7 @@ public class SGMenu implements InventoryHolder {
      * @param clickType the click type to be removed
      */
     public void removePermittedClickType(ClickType clickType) {
-        this.permittedMenuClickTypes.remove(clickType);
+        this.interactionPolicy = this.interactionPolicy.withClickTypePermitted(clickType, false);
     }
 
     /**
@@ -761,7 +1509,7 @@ public class SGMenu implements InventoryHolder {
      * @param action the InventoryAction to be removed
      */
     public void removeBlockedMenuAction(InventoryAction action) {
-        this.blockedMenuActions.remove(action);
+        this.interactionPolicy = this.interactionPolicy.withMenuActionBlocked(action, false);
     }
 
     /**
@@ -770,20 +1518,217 @@ public class SGMenu implements InventoryHolder {
      * @param action The action to be removed
      */
     public void removeBlockedAdjacentAction(InventoryAction action) {
-        this.getBlockedAdjacentActions().remove(action);
+        this.interactionPolicy = this.interactionPolicy.withAdjacentActionBlocked(action, false);
+    }
+
+    // -- BROADCAST -- //
+
+    /**
+     * Sets whether the menu is broadcast (i.e., whether every viewer is shown the same, shared, inventory).
+     *
+     * <p>Ordinarily, each call to {@link #getInventory()} creates (and renders) a separate inventory, so each update to
+     * the menu must be rendered once for each viewer. A broadcast menu instead owns one live inventory, which every
+     * viewer opens. An update is then rendered into that inventory once, and the server sends the change to each of
+     * its viewers. This suits menus where every player sees the same content (e.g., voting menus, lobbies or live
+     * scoreboards).
+     *
+     * <p>The viewers of a broadcast menu share its current page, so a page change made by one viewer is seen by all of
+     * them. The shared inventory's viewers are tracked by the server, so {@link #getViewers()} does not need to search
+     * the online players.
+     *
+     * <p>Players that already have the menu open are moved straight away: onto the shared inventory when the menu
+     * becomes broadcast, or each onto an inventory of their own when it stops being broadcast. This ensures that they
+     * continue to receive updates to the menu.
+     *
+     * @param broadcast Whether the menu should be broadcast.
+     */
+    public void setBroadcast(boolean broadcast) {
+        if (broadcast == this.broadcast) return;
+
+        final List<HumanEntity> viewers = getViewers();
+        this.broadcast = broadcast;
+        sharedInventory = null;
+        sharedInventoryTitle = null;
+
+        // When broadcasting, the first call creates the shared inventory, and the others re-use it.
+        for (HumanEntity viewer : viewers) viewer.openInventory(getInventory());
+    }
+
+    /**
+     * Checks whether the menu is broadcast (i.e., whether every viewer is shown the same, shared, inventory).
+     *
+     * @return True if the menu is broadcast, otherwise false.
+     * @see #setBroadcast(boolean)
+     */
+    public boolean isBroadcast() {
+        return broadcast;
+    }
+
+    /**
+     * Refreshes the shared inventory of a broadcast menu. If its size or title no longer matches the menu, it is
+     * replaced, and each of its viewers is moved to the new inventory. Otherwise, it is re-rendered in place (once, for
+     * every viewer).
+     */
+    private void refreshSharedInventory() {
+        final Inventory previous = sharedInventory;
+        if (previous == null) return;
+
+        final Inventory current = getInventory();
+        if (current == previous) return;
+
+        for (HumanEntity viewer : new ArrayList<>(previous.getViewers())) viewer.openInventory(current);
     }
 
     // -- INVENTORY API -- //
 
+    /**
+     * Returns the players that currently have this menu open.
+     *
+     * @return The list of players viewing this menu (empty if there are none).
+     */
+    @Nonnull
+    public List<HumanEntity> getViewers() {
+        // If a broadcast menu's shared inventory hasn't been created yet, fall back to searching for its viewers.
+        if (sharedInventory != null) return new ArrayList<>(sharedInventory.getViewers());
+
+        final List<HumanEntity> viewers = new ArrayList<>();
+
+        for (HumanEntity player : spiGUI.getOwner().getServer().getOnlinePlayers()) {
+            if (player.getOpenInventory().getTopInventory() != null
+                    && player.getOpenInventory().getTopInventory().getHolder() == this) {
+                viewers.add(player);
+            }
+        }
+
+        return viewers;
+    }
+
+    /**
+     * Refreshes this menu for every player that currently has it open.
+     *
+     * @see #refreshInventory(HumanEntity)
+     */
+    public void refreshViewers() {
+        renderedRows = null;
+
+        if (sharedInventory != null) {
+            refreshSharedInventory();
+            return;
+        }
+
+        for (HumanEntity viewer : getViewers()) refreshInventory(viewer);
+    }
+
+    /**
+     * Refreshes this menu for every player that currently has it open, but only if the page they are viewing has
+     * changed since it was last rendered (or the number of pages has changed). Changes to other pages don't cause a
+     * refresh, as those pages are rendered when they are opened.
+     *
+     * @see #isPageDirty(int)
+     * @see #refreshViewers()
+     */
+    public void refreshDirtyPages() {
+        if (!isPageDirty(currentPage) && getMaxPageNumber() == renderedMaxPageNumber) return;
+
+        refreshViewers();
+    }
+
+    /**
+     * Refreshes the specified range of slots (inclusive) for every player that currently has this menu open, without
+     * re-rendering the rest of the menu. Slots that are not on the current page are ignored.
+     *
+     * <p>This is intended for small, targeted updates where the number of pages (and therefore the title and toolbar)
+     * is unchanged. If that is not the case, use {@link #refreshViewers()} instead. Slots whose icon is unchanged (by
+     * {@link SGButton#getFingerprint() fingerprint}) since they were last rendered are skipped.
+     *
+     * @param fromSlot The first slot to refresh.
+     * @param toSlot The last slot to refresh.
+     */
+    public void refreshSlots(int fromSlot, int toSlot) {
+        final int pageStart = getPageStart(currentPage);
+        final int first = Math.max(fromSlot, pageStart);
+        final int last = Math.min(toSlot, pageStart + getPageSize() - 1);
+        if (first > last) return;
+
+        // The viewers of a broadcast menu share one inventory, so it only needs to be updated once.
+        final List<Inventory> inventories = new ArrayList<>();
+        if (sharedInventory != null) {
+            if (!sharedInventory.getViewers().isEmpty()) inventories.add(sharedInventory);
+        } else {
+            for (HumanEntity viewer : getViewers()) inventories.add(viewer.getOpenInventory().getTopInventory());
+        }
+
+        if (inventories.isEmpty()) return;
+
+        // Resolve the icons once, rather than once per viewer.
+        final ItemStack[] icons = new ItemStack[last - first + 1];
+        final SGButtonListener[] listeners = new SGButtonListener[icons.length];
+        final long[] fingerprints = new long[icons.length];
+        final boolean[] skipped = new boolean[icons.length];
+        for (int slot = first; slot <= last; slot++) {
+            // Stickied slots display the button from the first page, so they are unaffected on other pages. Input slots
+            // hold the players' items, so they are never refreshed.
+            if ((pageStart != 0 && isStickiedSlot(slot - pageStart)) || isInputSlot(slot - pageStart)) {
+                skipped[slot - first] = true;
+                continue;
+            }
+
+            // The fingerprint is read before the icon, as reading it may rebuild the icon (see SGLazyButton).
+            final SGButton button = getButton(slot);
+            fingerprints[slot - first] =
+                    button != null ? button.getFingerprint() : getBackgroundFingerprint(slot - pageStart);
+            icons[slot - first] = button != null ? button.getIcon() : getBackgroundIcon(slot - pageStart);
+            listeners[slot - first] = button != null ? button.getListener() : null;
+        }
+
+        for (Inventory inventory : inventories) {
+            final long[] rendered = getRenderedFingerprints(inventory);
+            final SGButtonListener[] dispatchTable = getDispatchTable(inventory);
+
+            for (int i = 0; i < icons.length; i++) {
+                if (skipped[i]) continue;
+
+                final int inventorySlot = first + i - pageStart;
+                if (dispatchTable != null) dispatchTable[inventorySlot] = listeners[i];
+                if (rendered != null && rendered[inventorySlot] == fingerprints[i]) continue;
+
+                inventory.setItem(inventorySlot, icons[i]);
+                if (rendered != null) rendered[inventorySlot] = fingerprints[i];
+            }
+        }
+    }
+
+    /**
+     * Checks whether any of the slots in the specified range (inclusive) are on the page that is currently displayed.
+     * This can be used to skip refreshing viewers when a change does not affect what they can see.
+     *
+     * @param fromSlot The first slot of the range.
+     * @param toSlot The last slot of the range.
+     * @return True if the range overlaps the current page, otherwise false.
+     */
+    public boolean isRangeOnCurrentPage(int fromSlot, int toSlot) {
+        final int pageStart = getPageStart(currentPage);
+        final int pageEnd = pageStart + getPageSize() - 1;
+        return fromSlot <= pageEnd && toSlot >= pageStart;
+    }
+
     /**
      * Refresh an inventory that is currently open for a given viewer.
      *
      * <p>This method checks if the specified viewer is looking at an {@link SGMenu} and, if they are, it refreshes the
-     * inventory for them.
+     * inventory for them. Only the slots whose icon has changed (by {@link SGButton#getFingerprint() fingerprint})
+     * since the inventory was last rendered are updated.
      *
      * @param viewer The viewer of the open inventory.
      */
     public void refreshInventory(HumanEntity viewer) {
+        // The viewers of a broadcast menu share one inventory, which is refreshed for all of them at once. (Until the
+        // shared inventory is created, each viewer is refreshed individually, as for any other menu.)
+        if (sharedInventory != null) {
+            refreshSharedInventory();
+            return;
+        }
+
         // If the open inventory isn't an SGMenu - or if it isn't this inventory, do nothing.
         if (!(viewer.getOpenInventory().getTopInventory().getHolder() instanceof SGMenu)
                 || viewer.getOpenInventory().getTopInventory().getHolder() != this) return;
@@ -795,77 +1740,213 @@ public class SGMenu implements InventoryHolder {
         }
 
         // If the name has changed, we'll need to open a new inventory.
-        String newName = name.replace("{currentPage}", String.valueOf(currentPage + 1))
-                .replace("{maxPage}", String.valueOf(getMaxPageNumber()));
-        if (!viewer.getOpenInventory().getTitle().equals(newName)) {
+        if (!viewer.getOpenInventory().getTitle().equals(getRenderedName())) {
             viewer.openInventory(getInventory());
             return;
         }
 
         // Otherwise, we can refresh the contents without re-opening the inventory.
-        viewer.getOpenInventory().getTopInventory().setContents(getInventory().getContents());
+        renderInto(viewer.getOpenInventory().getTopInventory(), false);
     }
 
     /**
      * Returns the Bukkit/Spigot {@link Inventory} that represents the GUI. This is shown to a player using
      * {@link HumanEntity#openInventory(Inventory)}.
      *
+     * <p>If the menu is {@link #setBroadcast(boolean) broadcast}, this returns the menu's shared inventory (brought up
+     * to date with the menu), rather than creating a new one.
+     *
      * @return The created inventory used to display the GUI.
      */
     @Override
     public Inventory getInventory() {
+        final int size = (needsPagination())
+                // Pagination enabled: add the bottom toolbar row.
+                ? getPageSize() + 9
+                // Pagination not required or disabled.
+                : getPageSize();
+        final String title = getRenderedName();
+
+        // A broadcast menu re-uses its shared inventory, unless its size or title must change.
+        if (broadcast
+                && sharedInventory != null
+                && sharedInventory.getSize() == size
+                && title.equals(sharedInventoryTitle)) {
+            renderInto(sharedInventory, false);
+            return sharedInventory;
+        }
+
+        Inventory inventory = Bukkit.createInventory(this, size, title);
+        renderInto(inventory, true);
+
+        if (broadcast) {
+            sharedInventory = inventory;
+            sharedInventoryTitle = title;
+        }
+
+        return inventory;
+    }
+
+    /**
+     * Checks whether the menu currently needs a pagination toolbar (i.e., it has more than one page and automatic
+     * pagination is enabled).
+     *
+     * @return True if the toolbar row should be rendered, otherwise false.
+     */
+    private boolean needsPagination() {
         boolean isAutomaticPaginationEnabled = spiGUI.isAutomaticPaginationEnabled();
         if (isAutomaticPaginationEnabled() != null) {
             isAutomaticPaginationEnabled = isAutomaticPaginationEnabled();
         }
 
-        boolean needsPagination = getMaxPageNumber() > 0 && isAutomaticPaginationEnabled;
+        return getMaxPageNumber() > 0 && isAutomaticPaginationEnabled;
+    }
+
+    /**
+     * Renders the current page of the menu (including the stickied slots and the toolbar) into the specified inventory.
+     *
+     * <p>The fingerprint of each rendered icon is recorded against the inventory. When the inventory is rendered again,
+     * only the slots whose fingerprint has changed are updated. The listener of each rendered button is recorded in
+     * the inventory's {@link #getDispatchTable(Inventory) dispatch table}.
+     *
+     * @param inventory The inventory to render into. This must be the size of the rendered page.
+     * @param fresh Whether the inventory was just created (and is therefore empty).
+     */
+    private void renderInto(@Nonnull Inventory inventory, boolean fresh) {
+        final SGButton[] buttons = new SGButton[inventory.getSize()];
+        final int pageStart = getPageStart(currentPage);
+        final int pageSize = Math.min(getPageSize(), buttons.length);
 
-        Inventory inventory = Bukkit.createInventory(
-                this,
-                ((needsPagination)
-                        // Pagination enabled: add the bottom toolbar row.
-                        ? getPageSize() + 9
-                        // Pagination not required or disabled.
-                        : getPageSize()),
-                name.replace("{currentPage}", String.valueOf(currentPage + 1))
-                        .replace("{maxPage}", String.valueOf(getMaxPageNumber())));
+        // In scroll mode, the rows that were visible in the last rendered view are reused (shifted to their new
+        // position), so only the newly exposed rows are fetched.
+        final SGButton[] previousRows = getReusableRows();
+        final int shift = pageStart - renderedRowsStart;
 
         // Add the main inventory items.
-        for (int key = currentPage * getPageSize(); key < (currentPage + 1) * getPageSize(); key++) {
+        final int highestFilledSlot = getHighestFilledSlot();
+        for (int slot = 0; slot < pageSize; slot++) {
             // If we've already reached the maximum assigned slot, stop assigning
             // slots.
-            if (key > getHighestFilledSlot()) break;
+            if (pageStart + slot > highestFilledSlot) break;
 
-            if (items.containsKey(key)) {
-                inventory.setItem(
-                        key - (currentPage * getPageSize()), items.get(key).getIcon());
-            }
+            final int previousSlot = slot + shift;
+            buttons[slot] = previousRows != null && previousSlot >= 0 && previousSlot < previousRows.length
+                    ? previousRows[previousSlot]
+                    : getButton(pageStart + slot);
         }
 
-        // Update the stickied slots.
-        for (int stickiedSlot : stickiedSlots) {
-            inventory.setItem(stickiedSlot, items.get(stickiedSlot).getIcon());
+        if (scrollMode) {
+            renderedRows = Arrays.copyOf(buttons, getPageSize());
+            renderedRowsStart = pageStart;
+        }
+
+        // Overlay the stickied slots with the buttons from the first page (on the first page, they're already there).
+        if (currentPage != 0) {
+            for (long mask = stickiedSlots; mask != 0; mask &= mask - 1) {
+                final int stickiedSlot = Long.numberOfTrailingZeros(mask);
+                final SGButton button = getButton(stickiedSlot);
+                if (button != null) buttons[stickiedSlot] = button;
+            }
         }
 
         // Render the pagination items.
-        if (needsPagination) {
+        if (needsPagination() && buttons.length >= getPageSize() + 9) {
             SGToolbarBuilder toolbarButtonBuilder = spiGUI.getDefaultToolbarBuilder();
             if (getToolbarBuilder() != null) {
                 toolbarButtonBuilder = getToolbarBuilder();
             }
 
-            int pageSize = getPageSize();
             for (int i = pageSize; i < pageSize + 9; i++) {
                 int offset = i - pageSize;
 
-                SGButton paginationButton = toolbarButtonBuilder.buildToolbarButton(
+                buttons[i] = toolbarButtonBuilder.buildToolbarButton(
                         offset, getCurrentPage(), SGToolbarButtonType.getDefaultForSlot(offset), this);
-                inventory.setItem(i, paginationButton != null ? paginationButton.getIcon() : null);
             }
         }
 
-        return inventory;
+        final long[] rendered = fresh ? null : getRenderedFingerprints(inventory);
+        final long[] fingerprints = new long[buttons.length];
+        final SGButtonListener[] dispatchTable = new SGButtonListener[buttons.length];
+        for (int slot = 0; slot < buttons.length; slot++) {
+            final SGButton button = buttons[slot];
+            fingerprints[slot] = button != null ? button.getFingerprint() : getBackgroundFingerprint(slot);
+            dispatchTable[slot] = button != null ? button.getListener() : null;
+
+            // A new inventory is empty, so only the filled slots need to be set. Input slots hold the players' items
+            // once the inventory has been created, so they are left as they are.
+            if (fresh && fingerprints[slot] == ItemFingerprint.EMPTY) continue;
+            if (!fresh && isInputSlot(slot)) continue;
+            if (rendered != null && rendered[slot] == fingerprints[slot]) continue;
+
+            inventory.setItem(slot, button != null ? button.getIcon() : getBackgroundIcon(slot));
+        }
+
+        renderedFingerprints.put(inventory, fingerprints);
+        dispatchTables.put(inventory, dispatchTable);
+        dirtyPages.clear(currentPage);
+        renderedMaxPageNumber = getMaxPageNumber();
+    }
+
+    /**
+     * Returns the background item displayed in the specified slot of the inventory, if the slot has no button.
+     *
+     * @param slot The slot of the inventory.
+     * @return The background item, or null if the slot is left empty (including toolbar and input slots).
+     */
+    @Nullable
+    private ItemStack getBackgroundIcon(int slot) {
+        if (background == null || slot >= getPageSize() || isInputSlot(slot)) return null;
+
+        return background.getIcon(slot);
+    }
+
+    /**
+     * Returns the fingerprint of the background item displayed in the specified slot of the inventory, if the slot has
+     * no button.
+     *
+     * @param slot The slot of the inventory.
+     * @return The background item's fingerprint, or {@link ItemFingerprint#EMPTY} if the slot is left empty.
+     */
+    private long getBackgroundFingerprint(int slot) {
+        if (background == null || slot >= getPageSize() || isInputSlot(slot)) return ItemFingerprint.EMPTY;
+
+        return background.getFingerprint(slot);
+    }
+
+    /**
+     * Returns the listeners of the buttons last rendered into the specified inventory (including the stickied slots and
+     * the toolbar), indexed by slot.
+     *
+     * <p>The listeners are those of the buttons as they were when the slots were last rendered (or refreshed), so a
+     * click always invokes the listener of the button the viewer saw. Changes to the menu's buttons take effect once
+     * the affected slots are refreshed.
+     *
+     * @param inventory The inventory that was rendered into.
+     * @return The dispatch table (indexed by slot), or null if the inventory was not rendered by this menu.
+     */
+    @Nullable
+    SGButtonListener[] getDispatchTable(@Nonnull Inventory inventory) {
+        final SGButtonListener[] dispatchTable = dispatchTables.get(inventory);
+        return dispatchTable != null && dispatchTable.length == inventory.getSize() ? dispatchTable : null;
+    }
+
+    /**
+     * Returns the fingerprints of the icons last rendered into the specified inventory, if they can be relied upon to
+     * match its contents.
+     *
+     * <p>If default interactions are not blocked (by either the menu or {@link SpiGUI}, as in the menu listener),
+     * players may have changed the contents of the inventory since it was rendered, so the fingerprints are not used
+     * (and every slot is rendered).
+     *
+     * @param inventory The inventory that was rendered into.
+     * @return The rendered fingerprints (indexed by slot), or null if every slot must be rendered.
+     */
+    @Nullable
+    private long[] getRenderedFingerprints(@Nonnull Inventory inventory) {
+        if (!areDefaultInteractionsBlocked() && !spiGUI.areDefaultInteractionsBlocked()) return null;
+
+        final long[] rendered = renderedFingerprints.get(inventory);
+        return rendered != null && rendered.length == inventory.getSize() ? rendered : null;
     }
 
     @Override
@@ -0,0 +1,220 @@
+package com.samjakob.spigui.menu;
+
+import java.util.ArrayList;
+import java.util.Objects;
+import java.util.function.Function;
+import javax.annotation.Nonnull;
+
+import com.samjakob.spigui.buttons.SGButton;
+
+/**
+ * Binds the content of an {@link SGMenu} to an {@link SGObservableList}, so that each change to the list is reflected
+ * in the menu as it happens.
+ *
+ * <p>Each element is mapped to an {@link SGButton} once, when it is added to (or replaced in) the list. When the list
+ * changes, only the slots whose positions shift are rewritten in the menu. Players currently viewing the menu have just
+ * the affected slots of their open inventory updated, unless the change alters the number of pages - in which case the
+ * menu is refreshed for them as usual.
+ *
+ * <pre>{@code
+ * final SGObservableList<Listing> listings = new SGObservableList<>();
+ * final SGMenuBinding<Listing> binding = SGMenuBinding.bind(menu, listings, Listing::toButton);
+ *
+ * listings.add(listing);
+ * listings.move(3, 0);
+ * }</pre>
+ *
+ * @param <T> The type of element displayed in the menu.
+ */
+public final class SGMenuBinding<T> implements SGObservableList.Listener<T> {
+
+    /** The menu that the binding writes its buttons into. */
+    @Nonnull
+    private final SGMenu menu;
+
+    /** The list that is bound to the menu. */
+    @Nonnull
+    private final SGObservableList<T> list;
+
+    /** The first slot (of the menu) that the binding occupies. */
+    private final int startSlot;
+
+    /** Maps an element to the button that represents it. */
+    @Nonnull
+    private final Function<? super T, SGButton> mapper;
+
+    /** The button for each element of the list, in the same order as the list. */
+    @Nonnull
+    private final ArrayList<SGButton> buttons;
+
+    /**
+     * Create a binding. Use {@link #bind(SGMenu, int, SGObservableList, Function)} to create and attach a binding.
+     *
+     * @param menu The menu to display the elements in.
+     * @param startSlot The first slot of the menu that the binding should occupy.
+     * @param list The list to bind.
+     * @param mapper Maps each element to the button that represents it.
+     */
+    private SGMenuBinding(
+            @Nonnull SGMenu menu,
+            int startSlot,
+            @Nonnull SGObservableList<T> list,
+            @Nonnull Function<? super T, SGButton> mapper) {
+        this.menu = Objects.requireNonNull(menu);
+        this.startSlot = startSlot;
+        this.list = Objects.requireNonNull(list);
+        this.mapper = Objects.requireNonNull(mapper);
+        this.buttons = new ArrayList<>(list.size());
+    }
+
+    /**
+     * Binds the specified list to the menu, beginning at the first slot. The list's current elements are written into
+     * the menu immediately.
+     *
+     * @param menu The menu to display the elements in.
+     * @param list The list to bind.
+     * @param mapper Maps each element to the button that represents it.
+     * @return The binding.
+     * @param <T> The type of element displayed in the menu.
+     */
+    @Nonnull
+    public static <T> SGMenuBinding<T> bind(
+            @Nonnull SGMenu menu,
+            @Nonnull SGObservableList<T> list,
+            @Nonnull Function<? super T, SGButton> mapper) {
+        return bind(menu, 0, list, mapper);
+    }
+
+    /**
+     * Binds the specified list to the menu, beginning at the specified slot. The list's current elements are written
+     * into the menu immediately.
+     *
+     * @param menu The menu to display the elements in.
+     * @param startSlot The first slot of the menu that the binding should occupy.
+     * @param list The list to bind.
+     * @param mapper Maps each element to the button that represents it.
+     * @return The binding.
+     * @param <T> The type of element displayed in the menu.
+     */
+    @Nonnull
+    public static <T> SGMenuBinding<T> bind(
+            @Nonnull SGMenu menu,
+            int startSlot,
+            @Nonnull SGObservableList<T> list,
+            @Nonnull Function<? super T, SGButton> mapper) {
+        if (startSlot < 0) throw new IllegalArgumentException("The start slot must not be negative.");
+
+        final SGMenuBinding<T> binding = new SGMenuBinding<>(menu, startSlot, list, mapper);
+        for (T element : list) binding.buttons.add(binding.map(element));
+        binding.render(0, binding.buttons.size(), 0);
+
+        list.addListener(binding);
+        return binding;
+    }
+
+    /**
+     * Detaches the binding from its list. The buttons already in the menu are left in place; subsequent changes to the
+     * list are no longer reflected in the menu.
+     */
+    public void unbind() {
+        list.removeListener(this);
+    }
+
+    /**
+     * Returns the list that is bound to the menu.
+     *
+     * @return The bound list.
+     */
+    @Nonnull
+    public SGObservableList<T> getList() {
+        return list;
+    }
+
+    /**
+     * Returns the menu slot that displays the element at the specified position of the list.
+     *
+     * @param index The position of the element in the list.
+     * @return The element's slot.
+     */
+    public int getSlot(int index) {
+        return startSlot + index;
+    }
+
+    @Override
+    public void onAdded(int index, T element) {
+        buttons.add(index, map(element));
+        render(index, buttons.size(), buttons.size() - 1);
+    }
+
+    @Override
+    public void onRemoved(int index, T element) {
+        buttons.remove(index);
+        render(index, buttons.size() + 1, buttons.size() + 1);
+    }
+
+    @Override
+    public void onReplaced(int index, T previous, T element) {
+        buttons.set(index, map(element));
+        render(index, index + 1, buttons.size());
+    }
+
+    @Override
+    public void onMoved(int from, int to) {
+        buttons.add(to, buttons.remove(from));
+        render(Math.min(from, to), Math.max(from, to) + 1, buttons.size());
+    }
+
+    @Override
+    public void onCleared(int previousSize) {
+        buttons.clear();
+        render(0, previousSize, previousSize);
+    }
+
+    /**
+     * Maps an element to its button.
+     *
+     * @param element The element to map.
+     * @return The element's button.
+     */
+    @Nonnull
+    private SGButton map(T element) {
+        return Objects.requireNonNull(mapper.apply(element), "The mapper for an SGMenuBinding must not return null.");
+    }
+
+    /**
+     * Rewrites the menu slots for the specified range of positions, then updates the menu's viewers. Positions past
+     * the end of the list are cleared.
+     *
+     * <p>If the number of pages spanned by the binding is unchanged, only the rewritten slots are sent to viewers.
+     * Otherwise, the title and toolbar may be stale, so the menu is refreshed in full.
+     *
+     * @param from The first position to rewrite (inclusive).
+     * @param to The last position to rewrite (exclusive).
+     * @param previousSize The number of elements in the list before the change.
+     */
+    private void render(int from, int to, int previousSize) {
+        if (from >= to) return;
+
+        for (int i = from; i < to; i++) {
+            if (i < buttons.size()) menu.setButton(startSlot + i, buttons.get(i));
+            else menu.removeButton(startSlot + i);
+        }
+
+        if (pageOf(previousSize) != pageOf(buttons.size())) {
+            menu.refreshViewers();
+        } else if (menu.isRangeOnCurrentPage(startSlot + from, startSlot + to - 1)) {
+            menu.refreshSlots(startSlot + from, startSlot + to - 1);
+        }
+    }
+
+    /**
+     * Returns the page containing the last slot of a binding with the specified number of elements.
+     *
+     * @param size The number of elements.
+     * @return The page (or, in scroll mode, the last scroll position) showing the last occupied slot (or the start
+     *     slot, if there are no elements).
+     */
+    private int pageOf(int size) {
+        return menu.getLastPageShowing(startSlot + Math.max(0, size - 1));
+    }
+}
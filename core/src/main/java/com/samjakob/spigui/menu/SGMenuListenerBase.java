@@ -3,7 +3,6 @@ package com.samjakob.spigui.menu;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
-import java.util.function.Consumer;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 
@@ -82,9 +81,10 @@ public abstract class SGMenuListenerBase implements Listener {
      * <p>This is a protected method, intended to be delegated to by subclasses of this class and {@link Listener}, so
      * as to re-use common logic across versions whilst providing an avenue for version-specific overrides.
      *
-     * <p>The respective inventory is first checked to ensure that it is a SpiGUI {@link SGMenu} and, if it is, whether
-     * a pagination button was clicked, finally (if not a pagination button) the event is delegated to the inventory the
-     * click occurred in.
+     * <p>The respective inventory is first checked to ensure that it is a SpiGUI {@link SGMenu} and, if it is, the
+     * click is checked against the menu's interaction policy and slot masks. Finally, the event is delegated to the
+     * listener of the button that was rendered in the clicked slot (including stickied and toolbar slots), which is
+     * found with a single lookup in the menu's dispatch table for the inventory.
      *
      * @param event to handle.
      * @see SpiGUI#SpiGUI(JavaPlugin)
@@ -102,55 +102,79 @@ public abstract class SGMenuListenerBase implements Listener {
         final int pageSize = menu.getPageSize();
 
         // If the action is explicitly blocked, deny the event.
-        if (menu.getBlockedMenuActions().stream().anyMatch(action -> action == event.getAction())) {
+        if (menu.getInteractionPolicy().isMenuActionBlocked(event.getAction())) {
             event.setResult(Event.Result.DENY);
             return;
         }
 
         // If the click type is not permitted, instantly deny the event and
         // do nothing else.
-        if (menu.getPermittedMenuClickTypes().stream().noneMatch(type -> type == event.getClick())) {
+        if (!menu.getInteractionPolicy().isClickPermitted(event.getClick())) {
             event.setResult(Event.Result.DENY);
             return;
         }
 
-        // If, by default, interactions should be blocked, do that now.
-        final boolean blockByDefault = menu.areDefaultInteractionsBlocked() || spiGUI.areDefaultInteractionsBlocked();
+        // If the slot is locked, deny the event and do nothing else.
+        if (menu.isLockedSlot(event.getSlot())) {
+            event.setResult(Event.Result.DENY);
+            return;
+        }
+
+        // If, by default, interactions should be blocked, do that now (unless the slot accepts the player's items).
+        final boolean blockByDefault = !menu.isInputSlot(event.getSlot())
+                && (menu.areDefaultInteractionsBlocked() || spiGUI.areDefaultInteractionsBlocked());
         if (blockByDefault) event.setResult(Event.Result.DENY);
 
-        // Set up an SGButtonListener Consumer that can be used to invoke a listener where we want to.
-        final Consumer<SGButtonListener> invokeListener = listener -> listener.onClick(event);
+        // Deny by default in the toolbar row.
+        if (event.getSlot() >= pageSize) event.setResult(Event.Result.DENY);
 
-        // Handle pagination actions if the slot is on the pagination row.
-        if (event.getSlot() > pageSize) {
-            // Deny by default in the toolbar row.
-            event.setResult(Event.Result.DENY);
+        // If the menu rendered this inventory, invoke the listener of the button that was rendered in the slot.
+        final SGButtonListener[] dispatchTable = menu.getDispatchTable(inventory);
+        if (dispatchTable != null) {
+            final int slot = event.getSlot();
+            final SGButtonListener listener = slot >= 0 && slot < dispatchTable.length ? dispatchTable[slot] : null;
+            if (listener != null) listener.onClick(event);
+            return;
+        }
 
+        // Otherwise, resolve the button from the menu as it would be rendered.
+        final SGButton button = resolveButton(menu, page, pageSize, event.getSlot());
+        if (button != null && button.getListener() != null) button.getListener().onClick(event);
+    }
+
+    /**
+     * Resolves the button that the menu would render in the specified slot of the specified page. This is only used for
+     * inventories that the menu did not render (and so have no {@link SGMenu#getDispatchTable(Inventory) dispatch
+     * table}).
+     *
+     * @param menu The menu.
+     * @param page The page of the menu.
+     * @param pageSize The size of a page of the menu.
+     * @param slot The slot of the inventory.
+     * @return The button in the slot, or null if there is none.
+     */
+    @Nullable
+    private SGButton resolveButton(@Nonnull SGMenu menu, int page, int pageSize, int slot) {
+        // Handle pagination actions if the slot is on the pagination row.
+        if (slot >= pageSize) {
             // Compute the toolbar offset (i.e., first icon in the toolbar row is 0).
-            final int offset = event.getSlot() - pageSize;
+            final int offset = slot - pageSize;
             final SGToolbarBuilder paginationBuilder =
                     Optional.ofNullable(menu.getToolbarBuilder()).orElse(spiGUI.getDefaultToolbarBuilder());
 
             // Build the button by deferring to the builder logic in the plugin.
             final SGToolbarButtonType paginationButtonType = SGToolbarButtonType.getDefaultForSlot(offset);
-            final SGButton paginationButton =
-                    paginationBuilder.buildToolbarButton(offset, menu.getCurrentPage(), paginationButtonType, menu);
-
-            // Attempt to invoke the listener for the button (if it exists), then exit early.
-            Optional.ofNullable(paginationButton).map(SGButton::getListener).ifPresent(invokeListener);
-            return;
+            return paginationBuilder.buildToolbarButton(offset, page, paginationButtonType, menu);
         }
 
         // If the slot is 'stickied', get the button from the first page.
-        if (menu.isStickiedSlot(event.getSlot())) {
-            final SGButton button = menu.getButton(0, event.getSlot());
-            Optional.ofNullable(button).map(SGButton::getListener).ifPresent(invokeListener);
+        if (page != 0 && menu.isStickiedSlot(slot)) {
+            final SGButton button = menu.getButton(0, slot);
+            if (button != null) return button;
         }
 
-        // Finally, handle the button normally.
-        Optional.ofNullable(menu.getButton(page, event.getSlot()))
-                .map(SGButton::getListener)
-                .ifPresent(invokeListener);
+        // Finally, get the button normally.
+        return menu.getButton(menu.getPageStart(page) + slot);
     }
 
     /**
@@ -171,7 +195,7 @@ public abstract class SGMenuListenerBase implements Listener {
         // Otherwise, the clicked menu was the bottom inventory. Block the action in it if it is one of the actions
         // blocked by the top (SGMenu).
         final SGMenu menu = (SGMenu) event.getView().getTopInventory().getHolder();
-        if (menu != null && menu.getBlockedMenuActions().stream().anyMatch(action -> action == event.getAction())) {
+        if (menu != null && menu.getInteractionPolicy().isMenuActionBlocked(event.getAction())) {
             event.setResult(Event.Result.DENY);
         }
     }
@@ -187,8 +211,8 @@ public abstract class SGMenuListenerBase implements Listener {
         final SGMenu menu = (SGMenu) event.getInventory().getHolder();
 
         // Cancel the drag event if any of the affected slots are in the
-        // SpiGUI menu (the top inventory).
-        if (slotsIncludeTopInventory(event.getView(), event.getRawSlots())) {
+        // SpiGUI menu (the top inventory), other than its input slots.
+        if (menu != null && slotsIncludeTopInventory(event.getView(), event.getRawSlots(), menu)) {
             event.setResult(Event.Result.DENY);
         }
     }
@@ -264,21 +288,23 @@ public abstract class SGMenuListenerBase implements Listener {
 
     /**
      * Checks whether the specified set of slots includes any slots in the top inventory of the specified
-     * {@link InventoryView}.
+     * {@link InventoryView}, other than the menu's {@link SGMenu#isInputSlot(int) input slots}.
      *
      * @param view The relevant {@link InventoryView}.
      * @param slots The set of slots to check.
-     * @return True if the set of slots includes any slots in the top inventory, otherwise false.
+     * @param menu The menu displayed in the top inventory.
+     * @return True if the set of slots includes any (non-input) slots in the top inventory, otherwise false.
      */
-    private boolean slotsIncludeTopInventory(@Nonnull InventoryView view, @Nonnull Set<Integer> slots) {
+    private boolean slotsIncludeTopInventory(
+            @Nonnull InventoryView view, @Nonnull Set<Integer> slots, @Nonnull SGMenu menu) {
         return slots.stream().anyMatch(slot -> {
             // If the slot is bigger than the SpiGUI menu's page size,
             // it's a pagination button, so we'll ignore it.
             if (slot >= view.getTopInventory().getSize()) return false;
             // Otherwise, we'll check if the slot's converted value matches
             // its raw value. If it matches, it means the slot is in the
-            // SpiGUI menu, so we'll return true.
-            return slot == view.convertSlot(slot);
+            // SpiGUI menu, so we'll return true (unless players may place items in it).
+            return slot == view.convertSlot(slot) && !menu.isInputSlot(slot);
         });
     }
 }
@@ -0,0 +1,270 @@
+package com.samjakob.spigui.menu;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.StringJoiner;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.Immutable;
+
+import com.samjakob.spigui.SpiGUI;
+import com.samjakob.spigui.buttons.SGButton;
+import com.samjakob.spigui.toolbar.SGToolbarBuilder;
+
+/**
+ * An immutable snapshot of a menu's layout and settings, from which any number of lightweight per-player menus can be
+ * created.
+ *
+ * <p>Many menus (e.g., profile, kit or settings menus) share almost all of their layout between players, and differ
+ * only in a few personalized slots. Rather than building a full {@link SGMenu} (with its own button for every slot) for
+ * each player, build the shared layout once as a template. Each player's menu is then an {@link SGOverlayMenu}, which
+ * stores only the slots it overrides and otherwise displays the template's buttons:
+ *
+ * <pre>{@code
+ * // Once:
+ * final SGMenu layout = spiGUI.create("&8Profile", 3);
+ * layout.setButton(26, closeButton);
+ * // ...
+ * final SGMenuTemplate profileTemplate = SGMenuTemplate.of(layout);
+ *
+ * // For each player:
+ * final SGOverlayMenu menu = profileTemplate.instantiate();
+ * menu.setButton(13, heads.setHead(menu, 13, player.getUniqueId(), null));
+ * player.openInventory(menu.getInventory());
+ * }</pre>
+ *
+ * <p>The template's buttons are shared by every menu created from it, so their icons are built (and their
+ * {@link SGButton#getFingerprint() fingerprints} computed) once, when the template is created, rather than once per
+ * player. This saves memory and icon builds only: each menu created from the template is still rendered (and each of
+ * its slots fingerprinted) separately, for each of its viewers.
+ *
+ * <p>The template itself is immutable, but the buttons it shares are not copied, so they remain as mutable as any other
+ * {@link SGButton}. A change to one of them (e.g., setting its icon or listener) affects every menu created from the
+ * template, including menus that are already open. The template's buttons should therefore not be modified once the
+ * template has been created; to change a slot for one player, override it in that player's menu instead.
+ */
+@Immutable
+public final class SGMenuTemplate {
+
+    /** The SpiGUI instance that menus created from the template are associated with. */
+    @Nonnull
+    private final SpiGUI spiGUI;
+
+    /** The (color code translated) name of the menu. */
+    @Nonnull
+    private final String name;
+
+    /** The number of rows to display per page. */
+    private final int rowsPerPage;
+
+    /** A tag that may be used to identify the type of inventory. */
+    @Nullable
+    private final String tag;
+
+    /** The shared buttons, by slot. */
+    @Nonnull
+    private final Map<Integer, SGButton> buttons;
+
+    /** The slot number of the highest filled slot. */
+    private final int highestFilledSlot;
+
+    /** The slots (of the first page) that are sticky, as a bit mask. */
+    private final long stickiedSlots;
+
+    /** The slots (of each page) that are locked, as a bit mask. */
+    private final long lockedSlots;
+
+    /** The slots (of each page) that are input slots, as a bit mask. */
+    private final long inputSlots;
+
+    /** The toolbar builder used to render the menu's toolbar (or null to use the plugin's default). */
+    @Nullable
+    private final SGToolbarBuilder toolbarBuilder;
+
+    /** Whether pagination buttons should be automatically added. */
+    private final boolean automaticPaginationEnabled;
+
+    /** Whether the menu scrolls by rows, rather than by pages. */
+    private final boolean scrollMode;
+
+    /** The background displayed in the empty slots of each page (or null to leave them empty). */
+    @Nullable
+    private final SGBackground background;
+
+    /** Whether the default behavior of click events should be cancelled. */
+    private final boolean blockDefaultInteractions;
+
+    /** The click types permitted, and the actions blocked, in the menu. */
+    @Nonnull
+    private final SGInteractionPolicy interactionPolicy;
+
+    /**
+     * Create a template from the specified menu.
+     *
+     * @param prototype The menu whose layout and settings are captured.
+     */
+    private SGMenuTemplate(@Nonnull SGMenu prototype) {
+        this.spiGUI = prototype.getSpiGUI();
+        this.name = prototype.getName();
+        this.rowsPerPage = prototype.getRowsPerPage();
+        this.tag = prototype.getTag();
+
+        final Map<Integer, SGButton> buttons = new HashMap<>();
+        final int highestFilledSlot = prototype.getHighestFilledSlot();
+        for (int slot = 0; slot <= highestFilledSlot; slot++) {
+            final SGButton button = prototype.getButton(slot);
+            if (button == null) continue;
+
+            // Build the icon (and compute its fingerprint) now, rather than when it is first rendered for each player.
+            button.getFingerprint();
+            buttons.put(slot, button);
+        }
+
+        this.buttons = Collections.unmodifiableMap(buttons);
+        this.highestFilledSlot = highestFilledSlot;
+
+        long stickiedSlots = 0;
+        long lockedSlots = 0;
+        long inputSlots = 0;
+        for (int slot = 0; slot < Math.min(prototype.getPageSize(), Long.SIZE); slot++) {
+            if (prototype.isStickiedSlot(slot)) stickiedSlots |= 1L << slot;
+            if (prototype.isLockedSlot(slot)) lockedSlots |= 1L << slot;
+            if (prototype.isInputSlot(slot)) inputSlots |= 1L << slot;
+        }
+
+        this.stickiedSlots = stickiedSlots;
+        this.lockedSlots = lockedSlots;
+        this.inputSlots = inputSlots;
+
+        this.toolbarBuilder = prototype.getToolbarBuilder();
+        this.automaticPaginationEnabled = prototype.isAutomaticPaginationEnabled();
+        this.scrollMode = prototype.isScrollMode();
+        this.background = prototype.getBackground();
+        this.blockDefaultInteractions = prototype.areDefaultInteractionsBlocked();
+        this.interactionPolicy = prototype.getInteractionPolicy();
+    }
+
+    /**
+     * Creates a template capturing the current layout (i.e., buttons and stickied, locked and input slots) and settings
+     * of the specified menu. Later changes to the menu do not affect the template, although the template shares the
+     * menu's buttons.
+     *
+     * @param prototype The menu whose layout and settings should be captured.
+     * @return The template.
+     */
+    @Nonnull
+    public static SGMenuTemplate of(@Nonnull SGMenu prototype) {
+        return new SGMenuTemplate(Objects.requireNonNull(prototype));
+    }
+
+    /**
+     * Creates a menu that displays the template's layout, to which per-player buttons can be added.
+     *
+     * @return The new menu.
+     */
+    @Nonnull
+    public SGOverlayMenu instantiate() {
+        return new SGOverlayMenu(this);
+    }
+
+    /**
+     * Returns the template's button in the specified slot.
+     *
+     * @param slot The slot.
+     * @return The button in the slot, or null if there is none.
+     */
+    @Nullable
+    public SGButton getButton(int slot) {
+        return buttons.get(slot);
+    }
+
+    /**
+     * Returns the slot number of the template's highest filled slot.
+     *
+     * @return The highest filled slot's number.
+     */
+    public int getHighestFilledSlot() {
+        return highestFilledSlot;
+    }
+
+    /**
+     * Returns the number of buttons in the template.
+     *
+     * @return The number of buttons.
+     */
+    public int getButtonCount() {
+        return buttons.size();
+    }
+
+    /**
+     * Returns the SpiGUI instance that menus created from the template are associated with.
+     *
+     * @return The SpiGUI instance.
+     */
+    @Nonnull
+    SpiGUI getSpiGUI() {
+        return spiGUI;
+    }
+
+    /**
+     * Returns the (color code translated) name of the menu.
+     *
+     * @return The name of the menu.
+     */
+    @Nonnull
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns the number of rows to display per page.
+     *
+     * @return The number of rows per page.
+     */
+    public int getRowsPerPage() {
+        return rowsPerPage;
+    }
+
+    /**
+     * Returns the tag that may be used to identify the type of inventory.
+     *
+     * @return The tag (or null if there is none).
+     */
+    @Nullable
+    public String getTag() {
+        return tag;
+    }
+
+    /**
+     * Applies the template's settings (other than those passed to the {@link SGMenu} constructor) to a menu created
+     * from it.
+     *
+     * @param menu The menu created from the template.
+     */
+    void applyTo(@Nonnull SGMenu menu) {
+        menu.setRawName(name);
+        menu.setToolbarBuilder(toolbarBuilder);
+        menu.setAutomaticPaginationEnabled(automaticPaginationEnabled);
+        menu.setScrollMode(scrollMode);
+        menu.setBackground(background);
+        menu.setBlockDefaultInteractions(blockDefaultInteractions);
+        menu.setInteractionPolicy(interactionPolicy);
+        for (int slot = 0; slot < Long.SIZE; slot++) {
+            if ((stickiedSlots & (1L << slot)) != 0) menu.stickSlot(slot);
+            if ((lockedSlots & (1L << slot)) != 0) menu.lockSlot(slot);
+            if ((inputSlots & (1L << slot)) != 0) menu.markInputSlot(slot);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return new StringJoiner(", ", SGMenuTemplate.class.getSimpleName() + "[", "]")
+                .add("name='" + name + "'")
+                .add("tag='" + tag + "'")
+                .add("rowsPerPage=" + rowsPerPage)
+                .add("buttons=" + buttons.size())
+                .toString();
+    }
+}
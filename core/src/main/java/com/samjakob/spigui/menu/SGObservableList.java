@@ -0,0 +1,175 @@
+package com.samjakob.spigui.menu;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.concurrent.CopyOnWriteArrayList;
+import javax.annotation.Nonnull;
+
+/**
+ * A {@link List} that notifies registered listeners of each change made to it.
+ *
+ * <p>This is primarily intended to be bound to an {@link SGMenu} with {@link SGMenuBinding}, so that changes to the
+ * list are reflected in the menu as they happen. In addition to the usual list operations, it supports
+ * {@link #move(int, int)} so that re-ordering an element can be expressed as a single change.
+ *
+ * <p>As with the rest of the menu API, the list is not thread-safe and should be modified from the server thread.
+ *
+ * @param <T> The type of element in the list.
+ */
+public final class SGObservableList<T> extends AbstractList<T> implements RandomAccess {
+
+    /** The elements of the list. */
+    @Nonnull
+    private final ArrayList<T> elements;
+
+    /** The listeners notified of changes to the list. */
+    @Nonnull
+    private final List<Listener<? super T>> listeners = new CopyOnWriteArrayList<>();
+
+    /** Create an empty observable list. */
+    public SGObservableList() {
+        this.elements = new ArrayList<>();
+    }
+
+    /**
+     * Create an observable list containing the specified elements.
+     *
+     * @param elements The initial elements of the list.
+     */
+    public SGObservableList(@Nonnull Collection<? extends T> elements) {
+        this.elements = new ArrayList<>(elements);
+    }
+
+    /**
+     * Registers a listener to be notified of changes to the list.
+     *
+     * @param listener The listener to register.
+     */
+    public void addListener(@Nonnull Listener<? super T> listener) {
+        listeners.add(Objects.requireNonNull(listener));
+    }
+
+    /**
+     * Un-registers a listener that was registered with {@link #addListener(Listener)}.
+     *
+     * @param listener The listener to remove.
+     */
+    public void removeListener(@Nonnull Listener<? super T> listener) {
+        listeners.remove(listener);
+    }
+
+    @Override
+    public T get(int index) {
+        return elements.get(index);
+    }
+
+    @Override
+    public int size() {
+        return elements.size();
+    }
+
+    @Override
+    public void add(int index, T element) {
+        elements.add(index, element);
+        modCount++;
+        for (Listener<? super T> listener : listeners) listener.onAdded(index, element);
+    }
+
+    @Override
+    public T remove(int index) {
+        final T element = elements.remove(index);
+        modCount++;
+        for (Listener<? super T> listener : listeners) listener.onRemoved(index, element);
+        return element;
+    }
+
+    @Override
+    public T set(int index, T element) {
+        final T previous = elements.set(index, element);
+        for (Listener<? super T> listener : listeners) listener.onReplaced(index, previous, element);
+        return previous;
+    }
+
+    @Override
+    public void clear() {
+        if (elements.isEmpty()) return;
+
+        final int previousSize = elements.size();
+        elements.clear();
+        modCount++;
+        for (Listener<? super T> listener : listeners) listener.onCleared(previousSize);
+    }
+
+    /**
+     * Moves the element at one position of the list to another, shifting the elements in between.
+     *
+     * @param from The current position of the element.
+     * @param to The new position of the element.
+     * @throws IndexOutOfBoundsException if either position is out of range.
+     */
+    public void move(int from, int to) {
+        if (from < 0 || from >= elements.size() || to < 0 || to >= elements.size()) {
+            throw new IndexOutOfBoundsException(
+                    String.format("Cannot move from %d to %d in a list of size %d.", from, to, elements.size()));
+        }
+
+        if (from == to) return;
+
+        elements.add(to, elements.remove(from));
+        modCount++;
+        for (Listener<? super T> listener : listeners) listener.onMoved(from, to);
+    }
+
+    /**
+     * Receives notifications of changes to an {@link SGObservableList}. Each notification is delivered after the change
+     * has been applied to the list.
+     *
+     * @param <T> The type of element in the list.
+     */
+    public interface Listener<T> {
+
+        /**
+         * Called when an element has been inserted into the list.
+         *
+         * @param index The position the element was inserted at.
+         * @param element The inserted element.
+         */
+        void onAdded(int index, T element);
+
+        /**
+         * Called when an element has been removed from the list.
+         *
+         * @param index The position the element was removed from.
+         * @param element The removed element.
+         */
+        void onRemoved(int index, T element);
+
+        /**
+         * Called when an element of the list has been replaced.
+         *
+         * @param index The position of the replaced element.
+         * @param previous The element that was replaced.
+         * @param element The new element.
+         */
+        void onReplaced(int index, T previous, T element);
+
+        /**
+         * Called when an element has been moved from one position of the list to another.
+         *
+         * @param from The previous position of the element.
+         * @param to The new position of the element.
+         */
+        void onMoved(int from, int to);
+
+        /**
+         * Called when every element has been removed from the list.
+         *
+         * @param previousSize The number of elements that were in the list.
+         */
+        void onCleared(int previousSize);
+    }
+}
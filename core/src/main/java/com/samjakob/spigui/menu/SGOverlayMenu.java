@@ -0,0 +1,98 @@
+package com.samjakob.spigui.menu;
+
+import java.util.Objects;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import com.samjakob.spigui.buttons.SGButton;
+
+/**
+ * A menu that displays the layout of an {@link SGMenuTemplate}, overlaid with its own buttons.
+ *
+ * <p>The overlay menu stores only the slots it overrides. Every other slot resolves to the template's button when it is
+ * rendered or clicked, so the template's buttons (and their icons) are shared by every menu created from the template
+ * rather than being copied into each one.
+ *
+ * <p>Setting a button in a slot overrides the template's button in that slot, and removing it reverts the slot to the
+ * template's button. To display an empty slot where the template has a button, use {@link #hideButton(int)}.
+ *
+ * @see SGMenuTemplate#instantiate()
+ */
+public final class SGOverlayMenu extends SGMenu {
+
+    /** The template whose layout this menu displays. */
+    @Nonnull
+    private final SGMenuTemplate template;
+
+    /**
+     * Create a menu displaying the layout of the specified template. The menu inherits the template's name, tag, size,
+     * slot masks (i.e., stickied, locked and input slots), background and interaction settings.
+     *
+     * @param template The template whose layout the menu displays.
+     */
+    SGOverlayMenu(@Nonnull SGMenuTemplate template) {
+        super(template.getSpiGUI(), "", template.getRowsPerPage(), template.getTag());
+        this.template = Objects.requireNonNull(template);
+
+        template.applyTo(this);
+    }
+
+    /**
+     * Returns the template whose layout this menu displays.
+     *
+     * @return The template.
+     */
+    @Nonnull
+    public SGMenuTemplate getTemplate() {
+        return template;
+    }
+
+    /**
+     * Checks whether this menu overrides the template's button in the specified slot (either with its own button, or
+     * by hiding the template's button).
+     *
+     * @param slot The slot to check.
+     * @return True if the slot is overridden, otherwise false.
+     */
+    public boolean isOverridden(int slot) {
+        return isSlotAssigned(slot);
+    }
+
+    /**
+     * Hides the template's button in the specified slot (for this menu only), so that the slot is displayed as empty.
+     *
+     * @param slot The slot whose button should be hidden.
+     */
+    public void hideButton(int slot) {
+        setButton(slot, null);
+    }
+
+    /**
+     * Removes this menu's button from the specified slot, reverting the slot to the template's button (if any). This is
+     * equivalent to {@link #removeButton(int)}.
+     *
+     * @param slot The slot to revert.
+     */
+    public void resetButton(int slot) {
+        removeButton(slot);
+    }
+
+    @Nullable
+    @Override
+    public SGButton getButton(int slot) {
+        if (slot < 0) return null;
+
+        return isSlotAssigned(slot) ? super.getButton(slot) : template.getButton(slot);
+    }
+
+    @Override
+    public int getHighestFilledSlot() {
+        // The template's highest slots may be hidden, in which case the highest of its slots that is displayed counts.
+        int templateSlot = template.getHighestFilledSlot();
+        while (templateSlot > 0 && (isSlotAssigned(templateSlot) || template.getButton(templateSlot) == null)) {
+            templateSlot--;
+        }
+
+        return Math.max(super.getHighestFilledSlot(), templateSlot);
+    }
+}
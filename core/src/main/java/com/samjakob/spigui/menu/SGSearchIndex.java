@@ -0,0 +1,218 @@
+package com.samjakob.spigui.menu;
+
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import org.bukkit.ChatColor;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.ItemMeta;
+
+import com.samjakob.spigui.buttons.SGButton;
+import com.samjakob.spigui.text.ColorCodes;
+
+/**
+ * A token index over the buttons of an {@link SGMenu}, used to search and filter the menu's content.
+ *
+ * <p>The index is built once from the display name and lore of each button's icon: color codes are stripped, the text
+ * is lower-cased and split into alphanumeric tokens, and each token is mapped to the set of slots containing it. Each
+ * word of a search query is then matched as a prefix against the indexed tokens, so a query like {@code "dia sw"}
+ * matches a "Diamond Sword".
+ *
+ * <pre>{@code
+ * final SGSearchIndex index = SGSearchIndex.build(catalogMenu);
+ * player.openInventory(index.filter(query).getInventory());
+ * }</pre>
+ *
+ * <p>The index does not observe the menu. When buttons in the menu are changed, the index should be updated with
+ * {@link #update(int)} (or {@link #remove(int)}) for the affected slots.
+ */
+public final class SGSearchIndex {
+
+    /** The menu that is indexed. */
+    @Nonnull
+    private final SGMenu menu;
+
+    /** The slots containing each token. */
+    @Nonnull
+    private final TreeMap<String, BitSet> tokens = new TreeMap<>();
+
+    /** The tokens indexed for each slot (so that slots can be re-indexed). */
+    @Nonnull
+    private final Map<Integer, String[]> slotTokens = new HashMap<>();
+
+    /** Every slot that has been indexed. */
+    @Nonnull
+    private final BitSet indexedSlots = new BitSet();
+
+    /**
+     * Create an (empty) index for the specified menu.
+     *
+     * @param menu The menu to index.
+     */
+    private SGSearchIndex(@Nonnull SGMenu menu) {
+        this.menu = Objects.requireNonNull(menu);
+    }
+
+    /**
+     * Builds a search index from the current buttons of the specified menu.
+     *
+     * <p>Note that building the index reads every button's icon, so the icons of any
+     * {@link com.samjakob.spigui.buttons.SGLazyButton}s in the menu will be built.
+     *
+     * @param menu The menu to index.
+     * @return The search index.
+     */
+    @Nonnull
+    public static SGSearchIndex build(@Nonnull SGMenu menu) {
+        final SGSearchIndex index = new SGSearchIndex(menu);
+
+        final int highestFilledSlot = menu.getHighestFilledSlot();
+        for (int slot = 0; slot <= highestFilledSlot; slot++) {
+            index.update(slot);
+        }
+
+        return index;
+    }
+
+    /**
+     * Returns the menu that is indexed.
+     *
+     * @return The indexed menu.
+     */
+    @Nonnull
+    public SGMenu getMenu() {
+        return menu;
+    }
+
+    /**
+     * Re-indexes the specified slot of the menu (e.g., after its button was set or changed).
+     *
+     * @param slot The slot to re-index.
+     */
+    public void update(int slot) {
+        remove(slot);
+
+        final SGButton button = menu.getButton(slot);
+        if (button == null) return;
+
+        final String[] indexed = tokenize(describe(button.getIcon()));
+        for (String token : indexed) {
+            tokens.computeIfAbsent(token, key -> new BitSet()).set(slot);
+        }
+
+        slotTokens.put(slot, indexed);
+        indexedSlots.set(slot);
+    }
+
+    /**
+     * Removes the specified slot of the menu from the index (e.g., after its button was removed).
+     *
+     * @param slot The slot to remove.
+     */
+    public void remove(int slot) {
+        final String[] indexed = slotTokens.remove(slot);
+        if (indexed == null) return;
+
+        for (String token : indexed) {
+            final BitSet slots = tokens.get(token);
+            if (slots == null) continue;
+
+            slots.clear(slot);
+            if (slots.isEmpty()) tokens.remove(token);
+        }
+
+        indexedSlots.clear(slot);
+    }
+
+    /**
+     * Finds the slots whose buttons match the specified query. Every word of the query must match (as a prefix) a
+     * token in the button's name or lore. An empty query matches every indexed slot.
+     *
+     * @param query The search query (color codes and case are ignored).
+     * @return The matching slots.
+     */
+    @Nonnull
+    public BitSet search(@Nullable String query) {
+        final BitSet result = (BitSet) indexedSlots.clone();
+        if (query == null) return result;
+
+        for (String term : tokenize(query)) {
+            final BitSet termMatches = new BitSet();
+
+            // Every token in the range [term, term + MAX_VALUE) begins with the term.
+            for (BitSet slots : tokens.subMap(term, true, term + Character.MAX_VALUE, false).values()) {
+                termMatches.or(slots);
+            }
+
+            result.and(termMatches);
+            if (result.isEmpty()) break;
+        }
+
+        return result;
+    }
+
+    /**
+     * Produces a paged, filtered view of the menu containing only the buttons that match the specified query.
+     *
+     * @param query The search query (see {@link #search(String)}).
+     * @return The filtered menu.
+     */
+    @Nonnull
+    public SGFilteredMenu filter(@Nullable String query) {
+        return new SGFilteredMenu(menu, search(query));
+    }
+
+    /**
+     * Returns the searchable text (display name and lore) of an icon.
+     *
+     * @param icon The icon to describe.
+     * @return The icon's name and lore, separated by newlines.
+     */
+    @Nonnull
+    private static String describe(@Nonnull ItemStack icon) {
+        if (!icon.hasItemMeta()) return icon.getType().name();
+
+        final ItemMeta meta = Objects.requireNonNull(icon.getItemMeta());
+        final StringBuilder text = new StringBuilder();
+        if (meta.hasDisplayName()) text.append(meta.getDisplayName());
+        else text.append(icon.getType().name());
+
+        if (meta.hasLore()) {
+            for (String line : Objects.requireNonNull(meta.getLore())) text.append('\n').append(line);
+        }
+
+        return text.toString();
+    }
+
+    /**
+     * Splits text into distinct, lower-case, alphanumeric tokens, ignoring any color codes.
+     *
+     * @param text The text to tokenize.
+     * @return The tokens.
+     */
+    @Nonnull
+    private static String[] tokenize(@Nonnull String text) {
+        final String stripped = ChatColor.stripColor(ColorCodes.translate(text));
+        final Set<String> result = new LinkedHashSet<>();
+
+        final StringBuilder token = new StringBuilder();
+        for (int i = 0; i <= stripped.length(); i++) {
+            final char c = i < stripped.length() ? stripped.charAt(i) : ' ';
+            if (Character.isLetterOrDigit(c)) {
+                token.append(Character.toLowerCase(c));
+            } else if (token.length() > 0) {
+                result.add(token.toString());
+                token.setLength(0);
+            }
+        }
+
+        return result.toArray(new String[0]);
+    }
+}
@@ -0,0 +1,401 @@
+package com.samjakob.spigui.menu;
+
+import java.util.*;
+import java.util.function.Function;
+import javax.annotation.Nonnull;
+
+import com.samjakob.spigui.buttons.SGButton;
+
+/**
+ * Keeps the content of an {@link SGMenu} sorted as elements are added and removed.
+ *
+ * <p>Elements are mapped to {@link SGButton}s (once, when they are added) and kept in an ordered index for each
+ * registered sort key. When an element is added or removed, only the slots whose positions shift are rewritten in the
+ * menu, and viewers are only refreshed if the change is visible on the current page. Because every sort key's ordering
+ * is maintained incrementally, switching the active sort key does not require a full re-sort.
+ *
+ * <pre>{@code
+ * final SGSortedView<Listing> listings =
+ *         new SGSortedView<>(menu, Listing::toButton, "price", Comparator.comparingDouble(Listing::getPrice));
+ * listings.addSortKey("recent", Comparator.comparingLong(Listing::getListedAt).reversed());
+ *
+ * listings.add(listing);
+ * listings.setSortKey("recent");
+ * }</pre>
+ *
+ * <p>Elements are looked up by {@link Object#equals(Object)}, so each element should only be added once. If the value
+ * an element is sorted by changes, call {@link #update(Object)} to move it to its new position.
+ *
+ * <p>The view occupies consecutive slots from its start slot, and does not skip {@link SGMenu#stickSlot(int) stickied
+ * slots}. As stickied slots display the first page's button on every page, an element in a stickied slot of the first
+ * page would be displayed on every page, and elements in the stickied slots of later pages would not be displayed at
+ * all - so the slots occupied by the view should not be stickied.
+ *
+ * @param <T> The type of element displayed in the menu.
+ */
+public final class SGSortedView<T> {
+
+    /** The menu that the view writes its buttons into. */
+    @Nonnull
+    private final SGMenu menu;
+
+    /** The first slot (of the menu) that the view occupies. */
+    private final int startSlot;
+
+    /** Maps an element to the button that represents it. */
+    @Nonnull
+    private final Function<? super T, SGButton> mapper;
+
+    /** The ordered index for each sort key. */
+    @Nonnull
+    private final Map<String, Ordering<T>> orderings = new LinkedHashMap<>();
+
+    /** The entry for each element in the view. */
+    @Nonnull
+    private final Map<T, Entry<T>> entries = new HashMap<>();
+
+    /** The ordering currently displayed in the menu. */
+    @Nonnull
+    private Ordering<T> active;
+
+    /** The sequence number assigned to the next added element (used to break ties between equal elements). */
+    private long nextSequence;
+
+    /**
+     * Create a sorted view over the specified menu, beginning at the first slot.
+     *
+     * @param menu The menu to display the elements in.
+     * @param mapper Maps each element to the button that represents it.
+     * @param sortKey The name of the initial sort key.
+     * @param comparator The comparator for the initial sort key.
+     */
+    public SGSortedView(
+            @Nonnull SGMenu menu,
+            @Nonnull Function<? super T, SGButton> mapper,
+            @Nonnull String sortKey,
+            @Nonnull Comparator<? super T> comparator) {
+        this(menu, 0, mapper, sortKey, comparator);
+    }
+
+    /**
+     * Create a sorted view over the specified menu, beginning at the specified slot.
+     *
+     * @param menu The menu to display the elements in.
+     * @param startSlot The first slot of the menu that the view should occupy.
+     * @param mapper Maps each element to the button that represents it.
+     * @param sortKey The name of the initial sort key.
+     * @param comparator The comparator for the initial sort key.
+     */
+    public SGSortedView(
+            @Nonnull SGMenu menu,
+            int startSlot,
+            @Nonnull Function<? super T, SGButton> mapper,
+            @Nonnull String sortKey,
+            @Nonnull Comparator<? super T> comparator) {
+        if (startSlot < 0) throw new IllegalArgumentException("The start slot must not be negative.");
+
+        this.menu = Objects.requireNonNull(menu);
+        this.startSlot = startSlot;
+        this.mapper = Objects.requireNonNull(mapper);
+        this.active = new Ordering<>(Objects.requireNonNull(comparator));
+        this.orderings.put(Objects.requireNonNull(sortKey), active);
+    }
+
+    /**
+     * Registers an additional sort key. The ordering for the key is built immediately and then maintained as elements
+     * are added and removed, so that switching to it with {@link #setSortKey(String)} is cheap.
+     *
+     * @param sortKey The name of the sort key.
+     * @param comparator The comparator for the sort key.
+     * @throws IllegalArgumentException if the sort key has already been registered.
+     */
+    public void addSortKey(@Nonnull String sortKey, @Nonnull Comparator<? super T> comparator) {
+        if (orderings.containsKey(Objects.requireNonNull(sortKey))) {
+            throw new IllegalArgumentException(String.format("Sort key '%s' is already registered.", sortKey));
+        }
+
+        final Ordering<T> ordering = new Ordering<>(Objects.requireNonNull(comparator));
+        ordering.entries.addAll(active.entries);
+        ordering.entries.sort(ordering);
+        orderings.put(sortKey, ordering);
+    }
+
+    /**
+     * Switches the ordering displayed in the menu to that of the specified sort key.
+     *
+     * @param sortKey The name of the sort key to display.
+     * @throws NoSuchElementException if the sort key has not been registered.
+     */
+    public void setSortKey(@Nonnull String sortKey) {
+        final Ordering<T> ordering = orderings.get(sortKey);
+        if (ordering == null) {
+            throw new NoSuchElementException(String.format("Sort key '%s' is not registered.", sortKey));
+        }
+
+        if (ordering == active) return;
+        this.active = ordering;
+        render(0, ordering.entries.size(), ordering.entries.size());
+    }
+
+    /**
+     * Returns the name of the sort key that is currently displayed.
+     *
+     * @return The active sort key.
+     */
+    @Nonnull
+    public String getSortKey() {
+        for (Map.Entry<String, Ordering<T>> entry : orderings.entrySet()) {
+            if (entry.getValue() == active) return entry.getKey();
+        }
+
+        throw new IllegalStateException("The active ordering is not registered.");
+    }
+
+    /**
+     * Adds an element to the view, placing it in its sorted position.
+     *
+     * @param element The element to add.
+     * @throws IllegalArgumentException if the element is already in the view.
+     */
+    public void add(@Nonnull T element) {
+        if (entries.containsKey(Objects.requireNonNull(element))) {
+            throw new IllegalArgumentException("The element is already present in the view.");
+        }
+
+        final Entry<T> entry = new Entry<>(element, nextSequence++, Objects.requireNonNull(mapper.apply(element)));
+        entries.put(element, entry);
+
+        int position = 0;
+        for (Ordering<T> ordering : orderings.values()) {
+            final int index = ordering.insert(entry);
+            if (ordering == active) position = index;
+        }
+
+        render(position, active.entries.size(), active.entries.size() - 1);
+    }
+
+    /**
+     * Removes an element from the view.
+     *
+     * @param element The element to remove.
+     * @return True if the element was in the view, otherwise false.
+     */
+    public boolean remove(@Nonnull T element) {
+        final Entry<T> entry = entries.remove(element);
+        if (entry == null) return false;
+
+        int position = 0;
+        for (Ordering<T> ordering : orderings.values()) {
+            final int index = ordering.remove(entry);
+            if (ordering == active) position = index;
+        }
+
+        render(position, active.entries.size() + 1, active.entries.size() + 1);
+        return true;
+    }
+
+    /**
+     * Moves an element to its new sorted position after the value(s) it is sorted by have changed. The element's
+     * button is rebuilt with the mapper.
+     *
+     * @param element The element that changed.
+     * @return True if the element was in the view, otherwise false.
+     */
+    public boolean update(@Nonnull T element) {
+        final Entry<T> entry = entries.get(element);
+        if (entry == null) return false;
+
+        int from = Integer.MAX_VALUE;
+        int to = 0;
+        for (Ordering<T> ordering : orderings.values()) {
+            final int oldIndex = ordering.remove(entry);
+            final int newIndex = ordering.insert(entry);
+            if (ordering == active) {
+                from = Math.min(oldIndex, newIndex);
+                to = Math.max(oldIndex, newIndex) + 1;
+            }
+        }
+
+        entry.button = Objects.requireNonNull(mapper.apply(element));
+        render(from, to, active.entries.size());
+        return true;
+    }
+
+    /**
+     * Returns the number of elements in the view.
+     *
+     * @return The number of elements.
+     */
+    public int size() {
+        return active.entries.size();
+    }
+
+    /**
+     * Returns the element displayed at the specified position in the current ordering.
+     *
+     * @param index The position of the element (relative to the start of the view).
+     * @return The element at that position.
+     * @throws IndexOutOfBoundsException if the index is out of range.
+     */
+    @Nonnull
+    public T get(int index) {
+        return active.entries.get(index).element;
+    }
+
+    /**
+     * Returns the menu slot that the specified element is displayed in, or -1 if the element is not in the view.
+     *
+     * @param element The element to find.
+     * @return The element's slot, or -1.
+     */
+    public int getSlot(@Nonnull T element) {
+        final Entry<T> entry = entries.get(element);
+        if (entry == null) return -1;
+        return startSlot + active.indexOf(entry);
+    }
+
+    /**
+     * Rewrites the menu slots for the specified range of positions in the active ordering, then updates the menu's
+     * viewers. Positions past the end of the ordering are cleared.
+     *
+     * <p>If the number of pages spanned by the view is unchanged, only the rewritten slots are sent to viewers (and
+     * only if they are visible on the current page). Otherwise, the title and toolbar may be stale, so the menu is
+     * refreshed in full.
+     *
+     * @param from The first position to rewrite (inclusive).
+     * @param to The last position to rewrite (exclusive).
+     * @param previousSize The number of elements in the view before the change.
+     */
+    private void render(int from, int to, int previousSize) {
+        if (from >= to) return;
+
+        final List<Entry<T>> ordered = active.entries;
+        for (int i = from; i < to; i++) {
+            if (i < ordered.size()) menu.setButton(startSlot + i, ordered.get(i).button);
+            else menu.removeButton(startSlot + i);
+        }
+
+        if (pageOf(previousSize) != pageOf(ordered.size())) {
+            menu.refreshViewers();
+        } else if (menu.isRangeOnCurrentPage(startSlot + from, startSlot + to - 1)) {
+            menu.refreshSlots(startSlot + from, startSlot + to - 1);
+        }
+    }
+
+    /**
+     * Returns the page containing the last slot of a view with the specified number of elements.
+     *
+     * @param size The number of elements.
+     * @return The page (or, in scroll mode, the last scroll position) showing the last occupied slot (or the start
+     *     slot, if there are no elements).
+     */
+    private int pageOf(int size) {
+        return menu.getLastPageShowing(startSlot + Math.max(0, size - 1));
+    }
+
+    /**
+     * An element in the view, along with its button.
+     *
+     * @param <T> The type of element.
+     */
+    private static final class Entry<T> {
+
+        /** The element. */
+        @Nonnull
+        private final T element;
+
+        /** The order in which the element was added (used to break ties). */
+        private final long sequence;
+
+        /** The button representing the element. */
+        @Nonnull
+        private SGButton button;
+
+        /**
+         * Create an entry.
+         *
+         * @param element The element.
+         * @param sequence The order in which the element was added.
+         * @param button The button representing the element.
+         */
+        private Entry(@Nonnull T element, long sequence, @Nonnull SGButton button) {
+            this.element = element;
+            this.sequence = sequence;
+            this.button = button;
+        }
+    }
+
+    /**
+     * A sorted index of entries for one sort key.
+     *
+     * @param <T> The type of element.
+     */
+    private static final class Ordering<T> implements Comparator<Entry<T>> {
+
+        /** The comparator for the sort key. */
+        @Nonnull
+        private final Comparator<? super T> comparator;
+
+        /** The entries, in sorted order. */
+        @Nonnull
+        private final ArrayList<Entry<T>> entries = new ArrayList<>();
+
+        /**
+         * Create an ordering.
+         *
+         * @param comparator The comparator for the sort key.
+         */
+        private Ordering(@Nonnull Comparator<? super T> comparator) {
+            this.comparator = comparator;
+        }
+
+        @Override
+        public int compare(Entry<T> a, Entry<T> b) {
+            final int result = comparator.compare(a.element, b.element);
+            return result != 0 ? result : Long.compare(a.sequence, b.sequence);
+        }
+
+        /**
+         * Inserts an entry in its sorted position.
+         *
+         * @param entry The entry to insert.
+         * @return The position the entry was inserted at.
+         */
+        private int insert(@Nonnull Entry<T> entry) {
+            int index = Collections.binarySearch(entries, entry, this);
+            if (index < 0) index = -(index + 1);
+            entries.add(index, entry);
+            return index;
+        }
+
+        /**
+         * Removes an entry.
+         *
+         * @param entry The entry to remove.
+         * @return The position the entry was removed from.
+         */
+        private int remove(@Nonnull Entry<T> entry) {
+            final int index = indexOf(entry);
+            entries.remove(index);
+            return index;
+        }
+
+        /**
+         * Finds the position of an entry. This is a binary search, falling back to a linear search if the value the
+         * element is sorted by has changed since it was inserted.
+         *
+         * @param entry The entry to find.
+         * @return The position of the entry.
+         */
+        private int indexOf(@Nonnull Entry<T> entry) {
+            final int index = Collections.binarySearch(entries, entry, this);
+            if (index >= 0 && entries.get(index) == entry) return index;
+
+            for (int i = 0; i < entries.size(); i++) {
+                if (entries.get(i) == entry) return i;
+            }
+
+            throw new IllegalStateException("The entry is not present in the ordering.");
+        }
+    }
+}
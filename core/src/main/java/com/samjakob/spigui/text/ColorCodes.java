@@ -0,0 +1,112 @@
+package com.samjakob.spigui.text;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.annotation.Nonnull;
+
+import org.bukkit.ChatColor;
+
+/**
+ * Translates '&amp;' color codes (as used throughout SpiGUI) into Minecraft's formatting codes.
+ *
+ * <p>Most text in menus is fixed (e.g., item names and lore lines repeated across many items), so translations are
+ * cached. Translating a string that has been translated before is a single lookup, with no further string work or
+ * allocation. Each cache is bounded; once it fills up, it is emptied and rebuilt from subsequent translations, so text
+ * that is generated dynamically cannot grow the cache indefinitely.
+ */
+public final class ColorCodes {
+
+    /** The maximum number of translations kept by each cache. */
+    public static final int CACHE_CAPACITY = 2048;
+
+    /** The cached results of {@link #translate(String)}. */
+    @Nonnull
+    private static final ConcurrentHashMap<String, String> TRANSLATED = new ConcurrentHashMap<>();
+
+    /** The cached results of {@link #translateItemText(String)}. */
+    @Nonnull
+    private static final ConcurrentHashMap<String, String> TRANSLATED_ITEM_TEXT = new ConcurrentHashMap<>();
+
+    /** The (pre-computed) reset code prefixed to item text. */
+    @Nonnull
+    private static final String RESET = ChatColor.RESET.toString();
+
+    /** Private constructor. */
+    private ColorCodes() {}
+
+    /**
+     * Translates the '&amp;' color codes in the specified text.
+     *
+     * @param text The text to translate.
+     * @return The translated text.
+     * @see ChatColor#translateAlternateColorCodes(char, String)
+     */
+    @Nonnull
+    public static String translate(@Nonnull String text) {
+        // Text without any color codes is unchanged by translation.
+        if (text.indexOf('&') < 0) return text;
+
+        final String cached = TRANSLATED.get(text);
+        if (cached != null) return cached;
+
+        return cache(TRANSLATED, text, ChatColor.translateAlternateColorCodes('&', text));
+    }
+
+    /**
+     * Translates the '&amp;' color codes in the specified item text (i.e., an item's name or a line of its lore), and
+     * prefixes it with a reset code so that Minecraft's default item text formatting (e.g., italics) is not applied.
+     *
+     * @param text The text to translate.
+     * @return The translated text.
+     */
+    @Nonnull
+    public static String translateItemText(@Nonnull String text) {
+        final String cached = TRANSLATED_ITEM_TEXT.get(text);
+        if (cached != null) return cached;
+
+        return cache(TRANSLATED_ITEM_TEXT, text, RESET + ChatColor.translateAlternateColorCodes('&', text));
+    }
+
+    /**
+     * Translates each line of an item's lore with {@link #translateItemText(String)}. Null lines are replaced with
+     * empty lines.
+     *
+     * @param lore The lines of lore to translate.
+     * @return The translated lines.
+     */
+    @Nonnull
+    public static List<String> translateItemLore(@Nonnull List<String> lore) {
+        if (lore.isEmpty()) return Collections.emptyList();
+
+        final List<String> translated = new ArrayList<>(lore.size());
+        for (String line : lore) {
+            translated.add(line != null ? translateItemText(line) : "");
+        }
+
+        return translated;
+    }
+
+    /** Empties the translation caches. */
+    public static void clearCache() {
+        TRANSLATED.clear();
+        TRANSLATED_ITEM_TEXT.clear();
+    }
+
+    /**
+     * Stores a translation in the specified cache, emptying the cache first if it is full.
+     *
+     * @param cache The cache to store the translation in.
+     * @param text The original text.
+     * @param translated The translated text.
+     * @return The translated text.
+     */
+    @Nonnull
+    private static String cache(
+            @Nonnull ConcurrentHashMap<String, String> cache, @Nonnull String text, @Nonnull String translated) {
+        if (cache.size() >= CACHE_CAPACITY) cache.clear();
+        cache.put(text, translated);
+        return translated;
+    }
+}
@@ -0,0 +1,189 @@
+package com.samjakob.spigui.text;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.Immutable;
+
+/**
+ * A string containing named placeholders (e.g., {@code "Page {currentPage} of {maxPage}"}), compiled once so that it
+ * can be rendered repeatedly without searching the string for placeholders each time.
+ *
+ * <p>A template is compiled with the names of the parameters it accepts, in order. Each placeholder that names one of
+ * those parameters is replaced by the corresponding argument when the template is rendered; any other text in braces is
+ * left as-is.
+ *
+ * <pre>{@code
+ * private static final TextTemplate TITLE = TextTemplate.compile("Shop - Page {page}/{pages}", "page", "pages");
+ *
+ * final String title = TITLE.render(currentPage + 1, pageCount);
+ * }</pre>
+ *
+ * <p>Rendering is a single pass over the template's segments, into a buffer sized from the template (so an argument
+ * may safely render another template from its {@code toString}). Templates without any placeholders render to the
+ * original string without copying it.
+ */
+@Immutable
+public final class TextTemplate {
+
+    /** The (uncompiled) template string. */
+    @Nonnull
+    private final String template;
+
+    /** The literal text segments of the template, interleaved with the placeholders. */
+    @Nonnull
+    private final String[] literals;
+
+    /**
+     * The parameter index of each placeholder. The template is rendered as {@code literals[0]}, then
+     * {@code args[placeholders[0]]}, then {@code literals[1]}, and so on.
+     */
+    @Nonnull
+    private final int[] placeholders;
+
+    /** The number of parameters the template accepts. */
+    private final int parameterCount;
+
+    /**
+     * Create a compiled template.
+     *
+     * @param template The (uncompiled) template string.
+     * @param literals The literal text segments of the template.
+     * @param placeholders The parameter index of each placeholder.
+     * @param parameterCount The number of parameters the template accepts.
+     */
+    private TextTemplate(
+            @Nonnull String template, @Nonnull String[] literals, @Nonnull int[] placeholders, int parameterCount) {
+        this.template = template;
+        this.literals = literals;
+        this.placeholders = placeholders;
+        this.parameterCount = parameterCount;
+    }
+
+    /**
+     * Compiles a template string.
+     *
+     * @param template The template string, with placeholders in the form {@code {name}}.
+     * @param parameters The names of the template's parameters, in the order their arguments will be given to
+     *     {@link #render(Object...)}.
+     * @return The compiled template.
+     */
+    @Nonnull
+    public static TextTemplate compile(@Nonnull String template, @Nonnull String... parameters) {
+        Objects.requireNonNull(template);
+        final List<String> parameterNames = Arrays.asList(parameters);
+
+        final List<String> literals = new ArrayList<>();
+        final List<Integer> placeholders = new ArrayList<>();
+
+        int literalStart = 0;
+        int open = template.indexOf('{');
+        while (open >= 0) {
+            final int close = template.indexOf('}', open + 1);
+            if (close < 0) break;
+
+            final int parameter = parameterNames.indexOf(template.substring(open + 1, close));
+            if (parameter < 0) {
+                // Not one of our placeholders, so treat it as literal text.
+                open = template.indexOf('{', open + 1);
+                continue;
+            }
+
+            literals.add(template.substring(literalStart, open));
+            placeholders.add(parameter);
+            literalStart = close + 1;
+            open = template.indexOf('{', literalStart);
+        }
+
+        literals.add(template.substring(literalStart));
+
+        final int[] placeholderIndexes = new int[placeholders.size()];
+        for (int i = 0; i < placeholderIndexes.length; i++) placeholderIndexes[i] = placeholders.get(i);
+
+        return new TextTemplate(template, literals.toArray(new String[0]), placeholderIndexes, parameters.length);
+    }
+
+    /**
+     * Returns the (uncompiled) template string.
+     *
+     * @return The template string.
+     */
+    @Nonnull
+    public String getTemplate() {
+        return template;
+    }
+
+    /**
+     * Checks whether the template contains any placeholders. If it does not, it always renders to the template string.
+     *
+     * @return True if the template has no placeholders, otherwise false.
+     */
+    public boolean isConstant() {
+        return placeholders.length == 0;
+    }
+
+    /**
+     * Renders the template with the specified arguments.
+     *
+     * @param args The value of each parameter, in the order the parameters were given to
+     *     {@link #compile(String, String...)}.
+     * @return The rendered text.
+     * @throws IllegalArgumentException if the number of arguments does not match the number of parameters.
+     */
+    @Nonnull
+    public String render(@Nonnull Object... args) {
+        checkArguments(args);
+        if (isConstant()) return template;
+
+        // The placeholders' names are usually about as long as their values, so the buffer rarely needs to grow.
+        final StringBuilder buffer = new StringBuilder(template.length() + 16);
+        appendSegments(buffer, args);
+        return buffer.toString();
+    }
+
+    /**
+     * Renders the template with the specified arguments, appending the result to the specified builder.
+     *
+     * @param builder The builder to append the rendered text to.
+     * @param args The value of each parameter, in the order the parameters were given to
+     *     {@link #compile(String, String...)}.
+     * @throws IllegalArgumentException if the number of arguments does not match the number of parameters.
+     */
+    public void appendTo(@Nonnull StringBuilder builder, @Nonnull Object... args) {
+        checkArguments(args);
+        appendSegments(builder, args);
+    }
+
+    /**
+     * Checks that the number of arguments matches the number of parameters.
+     *
+     * @param args The arguments to check.
+     * @throws IllegalArgumentException if the number of arguments does not match the number of parameters.
+     */
+    private void checkArguments(@Nonnull Object[] args) {
+        if (args.length != parameterCount) {
+            throw new IllegalArgumentException(String.format(
+                    "Template '%s' expects %d argument(s) (got %d).", template, parameterCount, args.length));
+        }
+    }
+
+    /**
+     * Appends the template's segments to the specified builder, with each placeholder replaced by its argument.
+     *
+     * @param builder The builder to append the rendered text to.
+     * @param args The (already checked) value of each parameter.
+     */
+    private void appendSegments(@Nonnull StringBuilder builder, @Nonnull Object[] args) {
+        builder.append(literals[0]);
+        for (int i = 0; i < placeholders.length; i++) {
+            builder.append(args[placeholders[i]]).append(literals[i + 1]);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return template;
+    }
+}
@@ -0,0 +1,7 @@
+/**
+ * Helpers for producing the text displayed in SpiGUI menus (e.g., item names, lore and menu titles).
+ *
+ * <p>These are used internally by the menu and {@link com.samjakob.spigui.item.ItemBuilder} APIs, but may also be used
+ * directly.
+ */
+package com.samjakob.spigui.text;
@@ -12,6 +12,7 @@ import com.samjakob.spigui.SpiGUI;
 import com.samjakob.spigui.buttons.SGButton;
 import com.samjakob.spigui.item.ItemBuilder;
 import com.samjakob.spigui.menu.SGMenu;
+import com.samjakob.spigui.text.TextTemplate;
 
 /**
  * The default base implementation of {@link SGToolbarBuilder}.
@@ -24,6 +25,19 @@ import com.samjakob.spigui.menu.SGMenu;
 @Immutable
 public abstract class SGDefaultToolbarBuilderBase implements SGToolbarBuilder {
 
+    /** The default description under the previous page button. */
+    private static final TextTemplate PREVIOUS_PAGE_DESCRIPTION = TextTemplate.compile("&apage {page}.", "page");
+
+    /** The default label for the current page indicator. */
+    private static final TextTemplate CURRENT_PAGE_LABEL =
+            TextTemplate.compile("&7&lPage {page} of {pages}", "page", "pages");
+
+    /** The default description under the current page indicator. */
+    private static final TextTemplate CURRENT_PAGE_DESCRIPTION = TextTemplate.compile("&7page {page}.", "page");
+
+    /** The default description under the next page button. */
+    private static final TextTemplate NEXT_PAGE_DESCRIPTION = TextTemplate.compile("&apage {page}.", "page");
+
     /** A label equivalent to "&lt;- Previous Page". */
     private final NameBuilder previousPageLabelBuilder;
 
@@ -72,15 +86,18 @@ public abstract class SGDefaultToolbarBuilderBase implements SGToolbarBuilder {
         this(
                 // Previous
                 menu -> "&a&l← Previous Page",
-                menu -> Arrays.asList("&aClick to move back to", "&apage " + menu.getCurrentPage() + "."),
+                menu -> Arrays.asList(
+                        "&aClick to move back to", PREVIOUS_PAGE_DESCRIPTION.render(menu.getCurrentPage())),
 
                 // Current
-                menu -> String.format("&7&lPage %d of %d", menu.getCurrentPage() + 1, menu.getMaxPageNumber()),
-                menu -> Arrays.asList("&7You are currently viewing", "&7page " + (menu.getCurrentPage() + 1) + "."),
+                menu -> CURRENT_PAGE_LABEL.render(menu.getCurrentPage() + 1, menu.getMaxPageNumber()),
+                menu -> Arrays.asList(
+                        "&7You are currently viewing", CURRENT_PAGE_DESCRIPTION.render(menu.getCurrentPage() + 1)),
 
                 // Next
                 menu -> "&a&lNext Page →",
-                menu -> Arrays.asList("&aClick to move forward to", "&apage " + (menu.getCurrentPage() + 2) + "."));
+                menu -> Arrays.asList(
+                        "&aClick to move forward to", NEXT_PAGE_DESCRIPTION.render(menu.getCurrentPage() + 2)));
     }
 
     /**
@@ -144,10 +161,9 @@ public abstract class SGDefaultToolbarBuilderBase implements SGToolbarBuilder {
         switch (defaultType) {
             case PREV_BUTTON:
                 if (menu.getCurrentPage() > 0)
-                    return new SGButton(Objects.requireNonNull(initializePreviousPageButton())
+                    return SGButton.from(Objects.requireNonNull(initializePreviousPageButton())
                                     .name(Objects.requireNonNull(this.previousPageLabelBuilder.buildName(menu)))
-                                    .lore(Objects.requireNonNull(this.previousPageDescriptionBuilder.buildLore(menu)))
-                                    .build())
+                                    .lore(Objects.requireNonNull(this.previousPageDescriptionBuilder.buildLore(menu))))
                             .withListener(event -> {
                                 event.setResult(Event.Result.DENY);
                                 menu.previousPage(event.getWhoClicked());
@@ -155,18 +171,16 @@ public abstract class SGDefaultToolbarBuilderBase implements SGToolbarBuilder {
                 else return null;
 
             case CURRENT_BUTTON:
-                return new SGButton(Objects.requireNonNull(initializeCurrentPageIndicator())
+                return SGButton.from(Objects.requireNonNull(initializeCurrentPageIndicator())
                                 .name(Objects.requireNonNull(this.currentPageLabelBuilder.buildName(menu)))
-                                .lore(Objects.requireNonNull(this.currentPageDescriptionBuilder.buildLore(menu)))
-                                .build())
+                                .lore(Objects.requireNonNull(this.currentPageDescriptionBuilder.buildLore(menu))))
                         .withListener(event -> event.setResult(Event.Result.DENY));
 
             case NEXT_BUTTON:
                 if (menu.getCurrentPage() < menu.getMaxPageIndex())
-                    return new SGButton(Objects.requireNonNull(initializeNextPageButton())
+                    return SGButton.from(Objects.requireNonNull(initializeNextPageButton())
                                     .name(Objects.requireNonNull(this.nextPageLabelBuilder.buildName(menu)))
-                                    .lore(Objects.requireNonNull(this.nextPageDescriptionBuilder.buildLore(menu)))
-                                    .build())
+                                    .lore(Objects.requireNonNull(this.nextPageDescriptionBuilder.buildLore(menu))))
                             .withListener(event -> {
                                 event.setResult(Event.Result.DENY);
                                 menu.nextPage(event.getWhoClicked());
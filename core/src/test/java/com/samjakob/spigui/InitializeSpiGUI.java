@@ -0,0 +1,35 @@
+package com.samjakob.spigui;
+
+import com.samjakob.spigui.item.ItemBuilderBase;
+import com.samjakob.spigui.item.ItemBuilderConstructors;
+import com.samjakob.spigui.item.ItemBuilderFactory;
+import com.samjakob.spigui.toolbar.SGDefaultToolbarBuilderFactory;
+import org.bukkit.Material;
+import org.bukkit.inventory.ItemStack;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Test stand-in for the version-specific initializer (which is part of each SpiGUI distribution, rather than core).
+ * Items are built with {@link MockItemBuilder}, and the default toolbar builder renders no buttons.
+ */
+final class InitializeSpiGUI {
+
+    static {
+        ItemBuilderFactory.get().setConstructors(new ItemBuilderConstructors() {
+            @Override
+            public ItemBuilderBase create(@Nonnull Material material) {
+                return new MockItemBuilder(material);
+            }
+
+            @Override
+            public ItemBuilderBase from(@Nonnull ItemStack stack) {
+                return new MockItemBuilder(stack.getType());
+            }
+        });
+        SGDefaultToolbarBuilderFactory.get().setSupplier(() -> (slot, page, defaultType, menu) -> null);
+    }
+
+    private InitializeSpiGUI() {}
+
+}
@@ -0,0 +1,47 @@
+package com.samjakob.spigui;
+
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.InventoryHolder;
+import org.bukkit.inventory.InventoryView;
+import org.mockito.quality.Strictness;
+
+import java.util.ArrayList;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/** Creates mocked inventories, and players to view them, which keep track of their viewers as the server would. */
+public final class MockInventory {
+
+    private MockInventory() {}
+
+    public static Inventory create(InventoryHolder holder, int size, String title) {
+        final Inventory inventory = mock(Inventory.class, withSettings().strictness(Strictness.LENIENT));
+        when(inventory.getHolder()).thenReturn(holder);
+        when(inventory.getSize()).thenReturn(size);
+        when(inventory.getTitle()).thenReturn(title);
+        when(inventory.getViewers()).thenReturn(new ArrayList<>());
+        return inventory;
+    }
+
+    public static Player viewer() {
+        final AtomicReference<Inventory> top = new AtomicReference<>();
+        final InventoryView view = mock(InventoryView.class, withSettings().strictness(Strictness.LENIENT));
+        when(view.getTopInventory()).thenAnswer(invocation -> top.get());
+
+        final Player player = mock(Player.class, withSettings().strictness(Strictness.LENIENT));
+        when(player.getOpenInventory()).thenReturn(view);
+        when(player.openInventory(any(Inventory.class))).thenAnswer(invocation -> {
+            final Inventory inventory = invocation.getArgument(0);
+            if (top.get() != null) top.get().getViewers().remove(player);
+            inventory.getViewers().add(player);
+            top.set(inventory);
+            return view;
+        });
+
+        return player;
+    }
+
+}
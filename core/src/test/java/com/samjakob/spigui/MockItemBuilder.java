@@ -194,6 +194,9 @@ public class MockItemBuilder implements ItemBuilderBase {
      * {@link #durability(int)} in older versions of the game. This will need to be addressed with additional
      * scaffolding in the tests if that behavior is relevant.
      *
+     * <p>The mocked item is its own {@link ItemStack#clone() copy}, and {@link ItemStack#serialize() serializes} to its
+     * type, amount, name and skull owner (so items built with the same options serialize identically).
+     *
      * <p>Both mocks are configured with {@link Strictness#LENIENT} so that all supported aspects of the item stacks can
      * be mocked (naturally, without forcing the consumer to utilize all of the stubs).
      *
@@ -209,6 +212,14 @@ public class MockItemBuilder implements ItemBuilderBase {
         when(result.getType()).thenReturn(material);
         when(result.getEnchantmentLevel(any(Enchantment.class))).thenAnswer(invocation -> enchantments.getOrDefault(invocation.getArgument(0, Enchantment.class), 0));
         when(result.getEnchantments()).thenReturn(enchantments);
+        when(result.clone()).thenReturn(result);
+
+        final Map<String, Object> serialized = new HashMap<>();
+        serialized.put("type", material.name());
+        serialized.put("amount", amount);
+        if (name != null) serialized.put("name", name);
+        if (skullOwner != null) serialized.put("skull-owner", skullOwner);
+        when(result.serialize()).thenReturn(serialized);
 
         final ItemMeta resultMeta = mock(ItemMeta.class, withSettings().strictness(Strictness.LENIENT));
         when(resultMeta.getLore()).thenReturn(lore);
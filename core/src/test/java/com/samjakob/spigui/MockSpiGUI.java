@@ -0,0 +1,112 @@
+package com.samjakob.spigui;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Server;
+import org.bukkit.inventory.InventoryHolder;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.plugin.PluginManager;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.bukkit.scheduler.BukkitScheduler;
+import org.mockito.quality.Strictness;
+
+import java.lang.reflect.Field;
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.Queue;
+import java.util.WeakHashMap;
+import java.util.logging.Logger;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Creates {@link SpiGUI} instances for tests, registered under a mocked (and enabled) plugin and server. Tasks
+ * scheduled through the plugin's scheduler (on the server thread or asynchronously) are queued, and run with
+ * {@link #runTasks(SpiGUI)}.
+ */
+public final class MockSpiGUI {
+
+    /** The tasks scheduled by each plugin, waiting to be run. */
+    private static final Map<JavaPlugin, Queue<Runnable>> TASKS = new WeakHashMap<>();
+
+    static {
+        // Menus create their inventories through Bukkit, so install a server (once) that creates mocked inventories.
+        if (Bukkit.getServer() == null) {
+            final Server server = mock(Server.class, withSettings().strictness(Strictness.LENIENT));
+            when(server.getLogger()).thenReturn(Logger.getLogger(MockSpiGUI.class.getName()));
+            when(server.createInventory(any(InventoryHolder.class), anyInt(), anyString())).thenAnswer(invocation ->
+                    MockInventory.create(
+                            invocation.getArgument(0), invocation.getArgument(1), invocation.getArgument(2)));
+            Bukkit.setServer(server);
+        }
+    }
+
+    private MockSpiGUI() {}
+
+    public static SpiGUI create() {
+        final Queue<Runnable> tasks = new ArrayDeque<>();
+        final BukkitScheduler scheduler = mock(BukkitScheduler.class, withSettings().strictness(Strictness.LENIENT));
+        when(scheduler.runTask(any(Plugin.class), any(Runnable.class))).thenAnswer(invocation -> {
+            tasks.add(invocation.getArgument(1));
+            return null;
+        });
+        when(scheduler.runTaskAsynchronously(any(Plugin.class), any(Runnable.class))).thenAnswer(invocation -> {
+            tasks.add(invocation.getArgument(1));
+            return null;
+        });
+
+        final Server server = mock(Server.class, withSettings().strictness(Strictness.LENIENT));
+        when(server.getPluginManager()).thenReturn(mock(PluginManager.class));
+        when(server.getScheduler()).thenReturn(scheduler);
+
+        // JavaPlugin#getServer and JavaPlugin#isEnabled are final (so they can't be stubbed), so set the fields they
+        // return instead.
+        final JavaPlugin plugin = mock(JavaPlugin.class, withSettings().strictness(Strictness.LENIENT));
+        setField(plugin, "server", server);
+        setField(plugin, "isEnabled", true);
+        TASKS.put(plugin, tasks);
+
+        return new SpiGUI(plugin);
+    }
+
+    /**
+     * Runs the tasks scheduled by the plugin of the specified instance (including any tasks they schedule), in the
+     * order they were scheduled.
+     *
+     * @param spiGUI The instance whose plugin scheduled the tasks.
+     * @return The number of tasks that were run.
+     */
+    public static int runTasks(SpiGUI spiGUI) {
+        final Queue<Runnable> tasks = TASKS.get(spiGUI.getOwner());
+
+        int count = 0;
+        Runnable task;
+        while ((task = tasks.poll()) != null) {
+            task.run();
+            count++;
+        }
+
+        return count;
+    }
+
+    /**
+     * Enables or disables the plugin of the specified instance.
+     *
+     * @param spiGUI The instance whose plugin should be enabled or disabled.
+     * @param enabled Whether the plugin should be enabled.
+     */
+    public static void setEnabled(SpiGUI spiGUI, boolean enabled) {
+        setField(spiGUI.getOwner(), "isEnabled", enabled);
+    }
+
+    private static void setField(JavaPlugin plugin, String name, Object value) {
+        try {
+            final Field field = JavaPlugin.class.getDeclaredField(name);
+            field.setAccessible(true);
+            field.set(plugin, value);
+        } catch (NoSuchFieldException | IllegalAccessException ex) {
+            throw new RuntimeException(ex);
+        }
+    }
+
+}
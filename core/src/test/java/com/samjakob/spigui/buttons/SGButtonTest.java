@@ -6,6 +6,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
 
 public class SGButtonTest {
 
@@ -51,4 +52,32 @@ public class SGButtonTest {
         assertThrowsExactly(IllegalArgumentException.class, () -> new SGButton(new ItemStack(Material.AIR)));
     }
 
+    @Test
+    void testFingerprintSuppliedWithIcon() {
+        final SGButton fingerprinted = new SGButton(dirt, 42L);
+        assertEquals(42L, fingerprinted.getFingerprint());
+
+        fingerprinted.setIcon(new ItemStack(Material.STONE), 7L);
+        assertEquals(7L, fingerprinted.getFingerprint());
+    }
+
+    @Test
+    void testFingerprintFollowsIcon() {
+        final SGButton fingerprinted = new SGButton(mockIcon(Material.STONE, 1));
+        final long original = fingerprinted.getFingerprint();
+
+        fingerprinted.setIcon(mockIcon(Material.STONE, 1));
+        assertEquals(original, fingerprinted.getFingerprint());
+
+        fingerprinted.setIcon(mockIcon(Material.STONE, 2));
+        assertNotEquals(original, fingerprinted.getFingerprint());
+    }
+
+    private static ItemStack mockIcon(Material type, int amount) {
+        final ItemStack icon = mock(ItemStack.class);
+        when(icon.getType()).thenReturn(type);
+        when(icon.getAmount()).thenReturn(amount);
+        return icon;
+    }
+
 }
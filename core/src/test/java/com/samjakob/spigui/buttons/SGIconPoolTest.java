@@ -0,0 +1,190 @@
+package com.samjakob.spigui.buttons;
+
+import com.samjakob.spigui.MockSpiGUI;
+import com.samjakob.spigui.menu.SGMenu;
+import org.bukkit.inventory.ItemStack;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class SGIconPoolTest {
+
+    SGIconPool pool;
+
+    @BeforeEach
+    void setup() {
+        pool = new SGIconPool();
+    }
+
+    /** Mocks an icon that serializes to the specified name (so equally named icons are identical). */
+    private static ItemStack icon(String name) {
+        final ItemStack icon = mock(ItemStack.class);
+        when(icon.serialize()).thenReturn(Collections.singletonMap("name", name));
+        return icon;
+    }
+
+    @Test
+    void testInternDeduplicatesIdenticalIcons() {
+        final SGIconPool.Entry first = pool.intern(icon("diamond"));
+        final SGIconPool.Entry second = pool.intern(icon("diamond"));
+        final SGIconPool.Entry other = pool.intern(icon("emerald"));
+
+        assertSame(first, second);
+        assertNotSame(first, other);
+        assertEquals(2, pool.getUniqueIconCount());
+        assertEquals(3, pool.getReferenceCount());
+        assertTrue(pool.getStoredBytes() > 0);
+        assertTrue(pool.getUncompactedBytes() > 0);
+    }
+
+    @Test
+    void testReleaseDropsEntryOnceUnreferenced() {
+        final SGIconPool.Entry first = pool.intern(icon("diamond"));
+        pool.intern(icon("diamond"));
+
+        pool.release(first);
+        assertEquals(1, pool.getUniqueIconCount());
+        assertEquals(1, pool.getReferenceCount());
+
+        pool.release(first);
+        assertEquals(0, pool.getUniqueIconCount());
+        assertEquals(0, pool.getReferenceCount());
+        assertEquals(0, pool.getStoredBytes());
+
+        // Releasing an entry that is no longer referenced does nothing.
+        pool.release(first);
+        assertEquals(0, pool.getReferenceCount());
+
+        // Once dropped, an identical icon is interned as a new entry.
+        assertNotSame(first, pool.intern(icon("diamond")));
+        assertEquals(1, pool.getUniqueIconCount());
+    }
+
+    @Test
+    void testReleaseIgnoresEntriesFromOtherPools() {
+        final SGIconPool.Entry entry = new SGIconPool().intern(icon("diamond"));
+        pool.intern(icon("diamond"));
+
+        pool.release(entry);
+        assertEquals(1, pool.getReferenceCount());
+    }
+
+    @Test
+    void testButtonReleasedOncePerUse() {
+        final SGButton button = new SGButton(icon("diamond"));
+        button.compactInto(pool);
+        button.compactInto(pool);
+        assertTrue(button.isIconCompacted());
+        assertEquals(1, pool.getReferenceCount());
+
+        button.releaseFrom(pool);
+        assertEquals(1, pool.getReferenceCount());
+
+        button.releaseFrom(pool);
+        assertEquals(0, pool.getReferenceCount());
+        assertEquals(0, pool.getUniqueIconCount());
+    }
+
+    @Test
+    void testSetIconKeepsUses() {
+        final SGButton button = new SGButton(icon("diamond"));
+        button.compactInto(pool);
+        button.compactInto(pool);
+
+        // The new icon replaces the old one in the pool.
+        button.setIcon(icon("emerald"));
+        assertTrue(button.isIconCompacted());
+        assertEquals(1, pool.getUniqueIconCount());
+        assertEquals(1, pool.getReferenceCount());
+
+        button.releaseFrom(pool);
+        assertEquals(1, pool.getReferenceCount());
+
+        button.releaseFrom(pool);
+        assertEquals(0, pool.getReferenceCount());
+        assertEquals(0, pool.getUniqueIconCount());
+    }
+
+    @Test
+    void testLazyButtonCountsUsesBeforeResolving() {
+        final SGLazyButton button = new SGLazyButton(() -> icon("diamond"));
+        button.compactInto(pool);
+        assertFalse(button.isIconCompacted());
+        assertEquals(0, pool.getReferenceCount());
+
+        // Resolving the icon compacts it into the pool, which then counts both uses.
+        button.getIcon();
+        assertTrue(button.isIconCompacted());
+        assertEquals(1, pool.getReferenceCount());
+
+        button.compactInto(pool);
+        assertEquals(1, pool.getReferenceCount());
+
+        button.releaseFrom(pool);
+        assertEquals(1, pool.getReferenceCount());
+
+        button.releaseFrom(pool);
+        assertEquals(0, pool.getReferenceCount());
+        assertEquals(0, pool.getUniqueIconCount());
+    }
+
+    @Test
+    void testButtonHeldByEachPoolSeparately() {
+        final SGIconPool other = new SGIconPool();
+        final SGButton button = new SGButton(icon("diamond"));
+        button.compactInto(pool);
+        button.compactInto(other);
+        assertEquals(1, pool.getReferenceCount());
+        assertEquals(1, other.getReferenceCount());
+
+        button.setIcon(icon("emerald"));
+        assertEquals(1, pool.getReferenceCount());
+        assertEquals(1, other.getReferenceCount());
+
+        // Releasing the button from one pool doesn't affect the other.
+        button.releaseFrom(other);
+        assertEquals(1, pool.getReferenceCount());
+        assertEquals(0, other.getReferenceCount());
+        assertTrue(button.isIconCompacted());
+
+        button.releaseFrom(other);
+        assertEquals(1, pool.getReferenceCount());
+
+        button.releaseFrom(pool);
+        assertEquals(0, pool.getReferenceCount());
+    }
+
+    @Test
+    void testMenuKeepsSharedButtonUntilRemovedFromEverySlot() {
+        final SGMenu menu = MockSpiGUI.create().create("Test", 3);
+        menu.setCompactIconStorage(true);
+        final SGIconPool menuPool = menu.getIconPool();
+        assertNotNull(menuPool);
+
+        final SGButton button = new SGButton(icon("diamond"));
+        menu.setButton(0, button);
+        menu.setButton(1, button);
+        menu.setButton(2, new SGButton(icon("diamond")));
+        assertEquals(1, menuPool.getUniqueIconCount());
+        assertEquals(2, menuPool.getReferenceCount());
+
+        menu.removeButton(0);
+        assertEquals(2, menuPool.getReferenceCount());
+
+        // Replacing a button with itself doesn't change anything.
+        menu.setButton(1, button);
+        assertEquals(2, menuPool.getReferenceCount());
+
+        menu.removeButton(1);
+        assertEquals(1, menuPool.getReferenceCount());
+
+        menu.removeButton(2);
+        assertEquals(0, menuPool.getReferenceCount());
+        assertEquals(0, menuPool.getUniqueIconCount());
+    }
+
+}
@@ -0,0 +1,104 @@
+package com.samjakob.spigui.buttons;
+
+import org.bukkit.Material;
+import org.bukkit.inventory.ItemStack;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class SGLazyButtonTest {
+
+    final ItemStack dirt = new ItemStack(Material.DIRT);
+
+    final AtomicInteger builds = new AtomicInteger();
+
+    SGLazyButton button;
+
+    @BeforeEach
+    void setup() {
+        builds.set(0);
+        button = new SGLazyButton(() -> {
+            builds.incrementAndGet();
+            return dirt;
+        });
+    }
+
+    @Test
+    void testDoesNotBuildIconOnConstruction() {
+        assertEquals(0, builds.get());
+        assertFalse(button.isIconResolved());
+    }
+
+    @Test
+    void testBuildsIconOnce() {
+        assertEquals(dirt, button.getIcon());
+        assertEquals(dirt, button.getIcon());
+        assertEquals(1, builds.get());
+        assertTrue(button.isIconResolved());
+    }
+
+    @Test
+    void testInvalidateRebuildsIcon() {
+        button.getIcon();
+        button.invalidate();
+        assertFalse(button.isIconResolved());
+        button.getIcon();
+        assertEquals(2, builds.get());
+    }
+
+    @Test
+    void testInvalidatorRebuildsIcon() {
+        button.withInvalidator(b -> builds.get() < 3);
+        button.getIcon();
+        for (int i = 0; i < 3; i++) {
+            button.revalidate();
+            button.getIcon();
+        }
+        assertEquals(3, builds.get());
+    }
+
+    @Test
+    void testInvalidatorEvaluatedOncePerRender() {
+        final ItemStack icon = mock(ItemStack.class);
+        when(icon.getType()).thenReturn(Material.DIRT);
+
+        final AtomicInteger checks = new AtomicInteger();
+        final SGLazyButton lazy = new SGLazyButton(() -> icon).withInvalidator(b -> {
+            checks.incrementAndGet();
+            return true;
+        });
+
+        // Nothing to check until the icon has been built.
+        lazy.getFingerprint();
+        assertEquals(0, checks.get());
+
+        // A render reads the fingerprint, then the icon.
+        lazy.getFingerprint();
+        lazy.getIcon();
+        assertEquals(1, checks.get());
+
+        // Reading the icon alone never evaluates the check.
+        lazy.getIcon();
+        lazy.getIcon();
+        assertEquals(1, checks.get());
+    }
+
+    @Test
+    void testSetIconResolvesIcon() {
+        final ItemStack stone = new ItemStack(Material.STONE);
+        button.setIcon(stone);
+        assertEquals(stone, button.getIcon());
+        assertEquals(0, builds.get());
+    }
+
+    @Test
+    void testDoesNotAllowAirAsIcon() {
+        final SGLazyButton air = new SGLazyButton(() -> new ItemStack(Material.AIR));
+        assertThrowsExactly(IllegalArgumentException.class, air::getIcon);
+    }
+
+}
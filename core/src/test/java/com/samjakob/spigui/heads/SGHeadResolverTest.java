@@ -0,0 +1,146 @@
+package com.samjakob.spigui.heads;
+
+import com.samjakob.spigui.MockSpiGUI;
+import com.samjakob.spigui.SpiGUI;
+import com.samjakob.spigui.buttons.SGButton;
+import com.samjakob.spigui.menu.SGMenu;
+import org.bukkit.inventory.ItemStack;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class SGHeadResolverTest {
+
+    SpiGUI spiGUI;
+
+    SGHeadResolver resolver;
+
+    ItemStack placeholder;
+
+    @BeforeEach
+    void setup() {
+        spiGUI = MockSpiGUI.create();
+        resolver = spiGUI.getHeadResolver();
+
+        placeholder = mock(ItemStack.class);
+        when(placeholder.clone()).thenReturn(placeholder);
+        resolver.setPlaceholder(placeholder);
+    }
+
+    @Test
+    void testMissResolvesAndCachesHead() {
+        final UUID uuid = UUID.randomUUID();
+        final CompletableFuture<ItemStack> future = resolver.resolve(uuid);
+        assertFalse(future.isDone());
+        assertFalse(resolver.isCached(uuid));
+        assertNull(resolver.getCached(uuid));
+
+        // A request for a head that is already being resolved shares its future, and is neither a hit nor a miss.
+        assertSame(future, resolver.resolve(uuid));
+        assertEquals(1, resolver.getMisses());
+        assertEquals(0, resolver.getHits());
+
+        // The head is resolved asynchronously, then delivered on the server thread.
+        MockSpiGUI.runTasks(spiGUI);
+        assertTrue(future.isDone());
+        assertTrue(resolver.isCached(uuid));
+
+        final CompletableFuture<ItemStack> cached = resolver.resolve(uuid);
+        assertTrue(cached.isDone());
+        assertSame(future.join(), cached.join());
+        assertSame(future.join(), resolver.getHead(uuid));
+        assertEquals(1, resolver.getMisses());
+        assertEquals(2, resolver.getHits());
+    }
+
+    @Test
+    void testEvictsLeastRecentlyUsedHead() {
+        resolver = new SGHeadResolver(spiGUI.getOwner(), 2);
+        final UUID first = UUID.randomUUID();
+        final UUID second = UUID.randomUUID();
+        final UUID third = UUID.randomUUID();
+
+        resolver.prefetch(Arrays.asList(first, second));
+        MockSpiGUI.runTasks(spiGUI);
+        assertEquals(2, resolver.size());
+
+        // Using the first head makes the second the least recently used.
+        assertNotNull(resolver.getCached(first));
+        resolver.prefetch(Collections.singleton(third));
+        MockSpiGUI.runTasks(spiGUI);
+
+        assertEquals(2, resolver.size());
+        assertTrue(resolver.isCached(first));
+        assertFalse(resolver.isCached(second));
+        assertTrue(resolver.isCached(third));
+    }
+
+    @Test
+    void testSetHeadSwapsPlaceholderOnceResolved() {
+        final SGMenu menu = spiGUI.create("Heads", 3);
+        final UUID uuid = UUID.randomUUID();
+
+        final SGButton button = resolver.setHead(menu, 4, uuid, null);
+        assertSame(button, menu.getButton(4));
+        assertSame(placeholder, button.getIcon());
+
+        MockSpiGUI.runTasks(spiGUI);
+        assertSame(button, menu.getButton(4));
+        assertSame(resolver.getCached(uuid), button.getIcon());
+
+        // Once the head is cached, it is displayed straight away.
+        final SGButton cached = resolver.setHead(menu, 5, uuid, null);
+        assertSame(resolver.getCached(uuid), cached.getIcon());
+        assertEquals(0, MockSpiGUI.runTasks(spiGUI));
+    }
+
+    @Test
+    void testSetHeadLeavesReplacedButton() {
+        final SGMenu menu = spiGUI.create("Heads", 3);
+        resolver.setHead(menu, 4, UUID.randomUUID(), null);
+
+        final SGButton replacement = new SGButton(placeholder, 1);
+        menu.setButton(4, replacement);
+        MockSpiGUI.runTasks(spiGUI);
+
+        assertSame(replacement, menu.getButton(4));
+        assertSame(placeholder, replacement.getIcon());
+    }
+
+    @Test
+    void testSetHeadKeepsResolvedHeadCompacted() {
+        when(placeholder.serialize()).thenReturn(Collections.singletonMap("name", "placeholder"));
+        final SGMenu menu = spiGUI.create("Heads", 3);
+        menu.setCompactIconStorage(true);
+
+        final SGButton button = resolver.setHead(menu, 4, UUID.randomUUID(), null);
+        assertTrue(button.isIconCompacted());
+
+        // The resolved head replaces the placeholder in the menu's icon pool.
+        MockSpiGUI.runTasks(spiGUI);
+        assertTrue(button.isIconCompacted());
+        assertEquals(1, menu.getIconPool().getUniqueIconCount());
+        assertEquals(1, menu.getIconPool().getReferenceCount());
+
+        menu.removeButton(4);
+        assertEquals(0, menu.getIconPool().getReferenceCount());
+    }
+
+    @Test
+    void testDisableCancelsPendingHeads() {
+        final CompletableFuture<ItemStack> future = resolver.resolve(UUID.randomUUID());
+
+        MockSpiGUI.setEnabled(spiGUI, false);
+        MockSpiGUI.runTasks(spiGUI);
+        assertTrue(future.isCancelled());
+        assertEquals(0, resolver.size());
+    }
+
+}
@@ -0,0 +1,71 @@
+package com.samjakob.spigui.heads;
+
+import org.bukkit.Material;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.plugin.Plugin;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.File;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(MockitoExtension.class)
+public class SGHeadStoreTest {
+
+    @Mock
+    private Plugin plugin;
+
+    @TempDir
+    File folder;
+
+    @Test
+    void testRejectsNonPositiveTtl() {
+        assertThrows(IllegalArgumentException.class, () -> new SGHeadStore(plugin, new File(folder, "heads.yml"), 0));
+    }
+
+    @Test
+    void testStoredHeadsAreReturned() {
+        final SGHeadStore store = new SGHeadStore(plugin, new File(folder, "heads.yml"), SGHeadStore.DEFAULT_TTL);
+        final UUID uuid = UUID.randomUUID();
+        final ItemStack head = new ItemStack(Material.STONE);
+
+        assertNull(store.get(uuid));
+
+        store.put(uuid, head);
+        assertSame(head, store.get(uuid));
+        assertEquals(1, store.size());
+    }
+
+    @Test
+    void testExpiredHeadsAreNotReturned() {
+        final AtomicLong now = new AtomicLong(1000);
+        final SGHeadStore store = new SGHeadStore(plugin, new File(folder, "heads.yml"), 10, now::get);
+        final UUID uuid = UUID.randomUUID();
+        final ItemStack head = new ItemStack(Material.STONE);
+
+        store.put(uuid, head);
+        now.addAndGet(10);
+        assertSame(head, store.get(uuid));
+
+        now.incrementAndGet();
+        assertNull(store.get(uuid));
+    }
+
+    @Test
+    void testCloseDoesNotReadUnloadedStore() {
+        final File file = new File(folder, "heads.yml");
+        final SGHeadStore store = new SGHeadStore(plugin, file, SGHeadStore.DEFAULT_TTL);
+
+        // The store file was never read, so writing it would discard its heads (and reading it would block).
+        store.put(UUID.randomUUID(), new ItemStack(Material.STONE));
+        store.close();
+        assertFalse(file.exists());
+    }
+
+}
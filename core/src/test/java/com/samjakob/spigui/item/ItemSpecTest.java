@@ -0,0 +1,88 @@
+package com.samjakob.spigui.item;
+
+import org.bukkit.Material;
+import org.bukkit.inventory.ItemFlag;
+import org.bukkit.inventory.ItemStack;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ItemSpecTest {
+
+    @Test
+    void testEqualSpecsHaveEqualHashes() {
+        final ItemSpec a = ItemSpec.of(Material.ARROW).withName("&aNext").withLore("&7Go forward.")
+                .withFlags(ItemFlag.HIDE_ENCHANTS, ItemFlag.HIDE_ATTRIBUTES);
+        final ItemSpec b = ItemSpec.of(Material.ARROW).withFlags(ItemFlag.HIDE_ATTRIBUTES)
+                .withLore(Arrays.asList("&7Go forward.")).withFlags(ItemFlag.HIDE_ENCHANTS).withName("&aNext");
+
+        assertEquals(a, b);
+        assertEquals(a.hashCode(), b.hashCode());
+        assertNotEquals(a, a.withAmount(2));
+        assertNotEquals(a, a.withoutFlags(ItemFlag.HIDE_ENCHANTS));
+    }
+
+    @Test
+    void testWithersDoNotModifyOriginal() {
+        final ItemSpec original = ItemSpec.of(Material.ARROW);
+        final ItemSpec renamed = original.withName("&aNext");
+
+        assertNull(original.getName());
+        assertEquals("&aNext", renamed.getName());
+        assertThrows(UnsupportedOperationException.class, () -> renamed.withLore("a").getLore().add("b"));
+    }
+
+    @Test
+    void testRejectsAir() {
+        assertThrows(IllegalArgumentException.class, () -> ItemSpec.of(Material.AIR));
+    }
+
+    @Test
+    void testCacheReusesBuiltItems() {
+        final AtomicInteger builds = new AtomicInteger();
+        final ItemSpecCache cache = new ItemSpecCache(2, spec -> {
+            builds.incrementAndGet();
+            return new ItemStack(spec.getType(), spec.getAmount());
+        });
+
+        final ItemSpec arrow = ItemSpec.of(Material.ARROW);
+        final ItemStack first = cache.build(arrow);
+        final ItemStack second = cache.build(ItemSpec.of(Material.ARROW));
+
+        // ItemStack#equals compares metadata through the server's item factory, so compare the properties instead.
+        assertEquals(first.getType(), second.getType());
+        assertEquals(first.getAmount(), second.getAmount());
+        assertNotSame(first, second);
+        assertSame(cache.buildShared(arrow), cache.buildShared(arrow));
+        assertEquals(1, builds.get());
+        assertEquals(1, cache.getMisses());
+        assertEquals(3, cache.getHits());
+    }
+
+    @Test
+    void testCacheEvictsLeastRecentlyUsed() {
+        final AtomicInteger builds = new AtomicInteger();
+        final ItemSpecCache cache = new ItemSpecCache(2, spec -> {
+            builds.incrementAndGet();
+            return new ItemStack(spec.getType(), spec.getAmount());
+        });
+
+        cache.build(ItemSpec.of(Material.ARROW));
+        cache.build(ItemSpec.of(Material.DIRT));
+        cache.build(ItemSpec.of(Material.ARROW));
+        cache.build(ItemSpec.of(Material.STONE));
+
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.getEvictions());
+
+        // DIRT was the least recently used, so it should have been evicted (but ARROW should not).
+        cache.build(ItemSpec.of(Material.ARROW));
+        assertEquals(3, builds.get());
+        cache.build(ItemSpec.of(Material.DIRT));
+        assertEquals(4, builds.get());
+    }
+
+}
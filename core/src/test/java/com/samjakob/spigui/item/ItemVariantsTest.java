@@ -0,0 +1,83 @@
+package com.samjakob.spigui.item;
+
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.ItemMeta;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ItemVariantsTest {
+
+    @Mock
+    private ItemStack base;
+
+    @Mock
+    private ItemMeta baseMeta;
+
+    private ItemVariants createVariants() {
+        when(base.clone()).thenReturn(base).thenAnswer(invocation -> mock(ItemStack.class));
+        when(base.hasItemMeta()).thenReturn(true);
+        when(base.getItemMeta()).thenReturn(baseMeta);
+        when(baseMeta.hasLore()).thenReturn(true);
+        when(baseMeta.getLore()).thenReturn(Arrays.asList("First", "Second"));
+
+        return ItemVariants.of(base);
+    }
+
+    @Test
+    void testAmountOnlyVariantsDoNotCopyMeta() {
+        final ItemVariants variants = createVariants();
+        final ItemStack[] stacks = variants.buildAll(3, (variant, i) -> variant.amount(i + 1));
+
+        assertEquals(3, stacks.length);
+        for (int i = 0; i < stacks.length; i++) {
+            verify(stacks[i]).setAmount(i + 1);
+            verify(stacks[i]).setItemMeta(baseMeta);
+        }
+
+        verify(baseMeta, never()).clone();
+    }
+
+    @Test
+    void testMetaIsCopiedOncePerVariant() {
+        final ItemVariants variants = createVariants();
+        final ItemMeta copy = mock(ItemMeta.class);
+        when(baseMeta.clone()).thenReturn(copy);
+
+        final ItemStack stack = variants.build(
+                variant -> variant.name("Name").loreLine(1, "Replaced").loreLine(3, "Added"));
+
+        verify(baseMeta, times(1)).clone();
+        verify(copy).setDisplayName(anyString());
+        verify(copy).setLore(argThat(lore -> lore.size() == 4 && lore.get(0).equals("First") && lore.get(2).isEmpty()));
+        verify(stack).setItemMeta(copy);
+    }
+
+    @Test
+    void testOverridesAreResetBetweenVariants() {
+        final ItemVariants variants = createVariants();
+        when(baseMeta.clone()).thenAnswer(invocation -> mock(ItemMeta.class));
+
+        final ItemStack[] stacks = variants.buildAll(2, (variant, i) -> {
+            if (i == 0) variant.lore(Collections.singletonList("Only"));
+        });
+
+        verify(baseMeta, times(1)).clone();
+        verify(stacks[1]).setItemMeta(baseMeta);
+    }
+
+    @Test
+    void testRejectsNegativeCount() {
+        final ItemVariants variants = createVariants();
+        assertThrows(IllegalArgumentException.class, () -> variants.buildAll(-1, (variant, i) -> {}));
+    }
+
+}
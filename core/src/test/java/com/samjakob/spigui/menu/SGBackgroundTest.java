@@ -0,0 +1,52 @@
+package com.samjakob.spigui.menu;
+
+import com.samjakob.spigui.item.ItemFingerprint;
+import org.bukkit.Material;
+import org.bukkit.inventory.ItemStack;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class SGBackgroundTest {
+
+    private ItemStack mockIcon(Material type) {
+        final ItemStack icon = mock(ItemStack.class);
+        when(icon.clone()).thenReturn(icon);
+        when(icon.getType()).thenReturn(type);
+        when(icon.getAmount()).thenReturn(1);
+        return icon;
+    }
+
+    @Test
+    void testFillerFillsEverySlot() {
+        final ItemStack filler = mockIcon(Material.GLASS);
+        final SGBackground background = SGBackground.filler(filler);
+
+        assertEquals(1, background.getPatternLength());
+        assertSame(filler, background.getIcon(0));
+        assertSame(filler, background.getIcon(26));
+        assertEquals(background.getFingerprint(0), background.getFingerprint(26));
+        assertNotEquals(ItemFingerprint.EMPTY, background.getFingerprint(0));
+    }
+
+    @Test
+    void testPatternRepeatsAcrossSlots() {
+        final ItemStack first = mockIcon(Material.GLASS);
+        final ItemStack second = mockIcon(Material.STONE);
+        final SGBackground background = SGBackground.pattern(first, second, null);
+
+        assertSame(first, background.getIcon(0));
+        assertSame(second, background.getIcon(1));
+        assertNull(background.getIcon(2));
+        assertSame(first, background.getIcon(3));
+        assertEquals(ItemFingerprint.EMPTY, background.getFingerprint(5));
+        assertNotEquals(background.getFingerprint(0), background.getFingerprint(1));
+    }
+
+    @Test
+    void testEmptyPatternIsRejected() {
+        assertThrows(IllegalArgumentException.class, SGBackground::pattern);
+    }
+
+}
@@ -0,0 +1,109 @@
+package com.samjakob.spigui.menu;
+
+import com.samjakob.spigui.MockSpiGUI;
+import com.samjakob.spigui.buttons.SGButton;
+import org.bukkit.inventory.ItemStack;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class SGFilteredMenuTest {
+
+    SGMenu source;
+
+    SGFilteredMenu filtered;
+
+    @BeforeEach
+    void setup() {
+        source = MockSpiGUI.create().create("Catalog", 3);
+
+        // Every third slot of the source menu (34 of the 100 slots) matches - more than fit on one page.
+        final BitSet matches = new BitSet();
+        for (int slot = 0; slot < 100; slot++) {
+            source.setButton(slot, new SGButton(mock(ItemStack.class)));
+            if (slot % 3 == 0) matches.set(slot);
+        }
+
+        filtered = new SGFilteredMenu(source, matches);
+    }
+
+    @Test
+    void testResolvesSourceSlotsInOrder() {
+        assertEquals(34, filtered.getMatchCount());
+        for (int slot = 0; slot < 34; slot++) {
+            assertEquals(slot * 3, filtered.getSourceSlot(slot));
+        }
+    }
+
+    @Test
+    void testResolvesSourceSlotsOutOfOrder() {
+        // Resolving a later slot first walks (and remembers) every earlier match.
+        assertEquals(60, filtered.getSourceSlot(20));
+        assertEquals(6, filtered.getSourceSlot(2));
+        assertEquals(63, filtered.getSourceSlot(21));
+        assertEquals(0, filtered.getSourceSlot(0));
+    }
+
+    @Test
+    void testGrowsPastFirstPage() {
+        // Only the first page of matches is allocated up-front.
+        assertEquals(78, filtered.getSourceSlot(26));
+        assertEquals(99, filtered.getSourceSlot(33));
+        assertEquals(81, filtered.getSourceSlot(27));
+    }
+
+    @Test
+    void testOutOfRangeSlots() {
+        assertEquals(-1, filtered.getSourceSlot(-1));
+        assertEquals(-1, filtered.getSourceSlot(34));
+        assertNull(filtered.getButton(34));
+        assertEquals(33, filtered.getHighestFilledSlot());
+    }
+
+    @Test
+    void testEmptyFilter() {
+        final SGFilteredMenu empty = new SGFilteredMenu(source, new BitSet());
+        assertEquals(0, empty.getMatchCount());
+        assertEquals(-1, empty.getSourceSlot(0));
+        assertEquals(0, empty.getHighestFilledSlot());
+    }
+
+    @Test
+    void testDisplaysSourceButtons() {
+        assertSame(source.getButton(0), filtered.getButton(0));
+        assertSame(source.getButton(27), filtered.getButton(9));
+        assertSame(source.getButton(99), filtered.getButton(33));
+    }
+
+    @Test
+    void testIsReadOnly() {
+        final SGButton button = new SGButton(mock(ItemStack.class));
+        assertThrowsExactly(UnsupportedOperationException.class, () -> filtered.setButton(0, button));
+        assertThrowsExactly(UnsupportedOperationException.class, () -> filtered.removeButton(0));
+        assertThrowsExactly(UnsupportedOperationException.class, () -> filtered.removeRange(0, 26));
+        assertThrowsExactly(UnsupportedOperationException.class, () -> filtered.clearPage(0));
+        assertThrowsExactly(UnsupportedOperationException.class, () -> filtered.compact());
+        assertThrowsExactly(UnsupportedOperationException.class, () -> filtered.clearAllButStickiedSlots());
+        assertSame(source.getButton(0), filtered.getButton(0));
+    }
+
+    @Test
+    void testInheritsSlotMasks() {
+        source.stickSlot(0);
+        source.lockSlot(4);
+        source.markInputSlot(8);
+
+        final SGFilteredMenu view = new SGFilteredMenu(source, new BitSet());
+        assertTrue(view.isStickiedSlot(0));
+        assertTrue(view.isLockedSlot(4));
+        assertTrue(view.isInputSlot(8));
+        assertFalse(view.isStickiedSlot(4));
+        assertFalse(view.isLockedSlot(8));
+        assertFalse(view.isInputSlot(0));
+    }
+
+}
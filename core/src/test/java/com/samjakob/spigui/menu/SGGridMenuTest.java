@@ -0,0 +1,184 @@
+package com.samjakob.spigui.menu;
+
+import com.samjakob.spigui.MockSpiGUI;
+import com.samjakob.spigui.buttons.SGButton;
+import org.bukkit.inventory.ItemStack;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class SGGridMenuTest {
+
+    SGGridMenu grid;
+
+    /** The cells fetched from the provider, in order, as {x, y} pairs. */
+    List<List<Integer>> fetched;
+
+    @BeforeEach
+    void setup() {
+        grid = MockSpiGUI.create().createGrid("Map", 3);
+        fetched = new ArrayList<>();
+        grid.setProvider((x, y) -> {
+            fetched.add(Arrays.asList(x, y));
+            return null;
+        });
+    }
+
+    /** Creates a button with a (mocked) icon. */
+    private static SGButton button() {
+        return new SGButton(mock(ItemStack.class), 1);
+    }
+
+    /** Fetches every slot of the window, as rendering it would. */
+    private void fetchWindow() {
+        for (int slot = 0; slot < grid.getPageSize(); slot++) grid.getButton(slot);
+    }
+
+    @Test
+    void testSetViewReusesVisibleCells() {
+        fetchWindow();
+        assertEquals(27, fetched.size());
+
+        // Panning right by a column only fetches the newly exposed column.
+        fetched.clear();
+        grid.setView(1, 0);
+        fetchWindow();
+        assertEquals(Arrays.asList(Arrays.asList(9, 0), Arrays.asList(9, 1), Arrays.asList(9, 2)), fetched);
+
+        // Likewise for a row.
+        fetched.clear();
+        grid.setView(1, 1);
+        fetchWindow();
+        assertEquals(9, fetched.size());
+        for (List<Integer> cell : fetched) assertEquals(3, cell.get(1));
+
+        // Once the window has moved entirely, nothing can be reused.
+        fetched.clear();
+        grid.setView(100, 100);
+        fetchWindow();
+        assertEquals(27, fetched.size());
+
+        // Moving to the same position does nothing.
+        fetched.clear();
+        grid.setView(100, 100);
+        fetchWindow();
+        assertTrue(fetched.isEmpty());
+    }
+
+    @Test
+    void testSetCellRefetchesVisibleCell() {
+        fetchWindow();
+
+        final SGButton button = button();
+        grid.setCell(4, 1, button);
+        assertSame(button, grid.getButton(13));
+        assertTrue(grid.isPageDirty(0));
+
+        grid.removeCell(4, 1);
+        fetched.clear();
+        assertNull(grid.getButton(13));
+        assertEquals(Arrays.asList(Arrays.asList(4, 1)), fetched);
+    }
+
+    @Test
+    void testBoundsClampView() {
+        grid.setBounds(0, 0, 20, 10);
+        grid.setView(-5, -5);
+        assertEquals(0, grid.getViewX());
+        assertEquals(0, grid.getViewY());
+
+        // The window (9 columns by 3 rows) stops at the highest column and row.
+        grid.setView(100, 100);
+        assertEquals(12, grid.getViewX());
+        assertEquals(8, grid.getViewY());
+
+        // Bounds smaller than the window put it at the lowest column and row.
+        grid.setBounds(2, 3, 4, 4);
+        assertEquals(2, grid.getViewX());
+        assertEquals(3, grid.getViewY());
+
+        grid.clearBounds();
+        grid.setView(Integer.MIN_VALUE, Integer.MAX_VALUE);
+        assertEquals(Integer.MIN_VALUE, grid.getViewX());
+        assertEquals(Integer.MAX_VALUE - 2, grid.getViewY());
+
+        assertThrowsExactly(IllegalArgumentException.class, () -> grid.setBounds(1, 0, 0, 0));
+    }
+
+    @Test
+    void testCellsOutsideBoundsAreEmpty() {
+        final SGButton button = button();
+        grid.setCell(25, 0, button);
+        assertSame(button, grid.getCell(25, 0));
+
+        grid.setBounds(0, 0, 20, 10);
+        assertNull(grid.getCell(25, 0));
+        assertEquals(1, grid.getCellCount());
+
+        grid.clearBounds();
+        assertSame(button, grid.getCell(25, 0));
+    }
+
+    @Test
+    void testGetSlotOf() {
+        assertEquals(0, grid.getSlotOf(0, 0));
+        assertEquals(26, grid.getSlotOf(8, 2));
+        assertEquals(-1, grid.getSlotOf(9, 0));
+        assertEquals(-1, grid.getSlotOf(0, 3));
+        assertEquals(-1, grid.getSlotOf(-1, 0));
+
+        grid.setView(-10, -10);
+        assertEquals(0, grid.getSlotOf(-10, -10));
+        assertEquals(17, grid.getSlotOf(-2, -9));
+        assertEquals(-1, grid.getSlotOf(0, 0));
+
+        // Coordinates far from the window don't overflow into it.
+        grid.setView(Integer.MIN_VALUE, Integer.MIN_VALUE);
+        assertEquals(-1, grid.getSlotOf(Integer.MAX_VALUE, Integer.MIN_VALUE));
+        assertEquals(0, grid.getSlotOf(Integer.MIN_VALUE, Integer.MIN_VALUE));
+    }
+
+    @Test
+    void testNegativeCoordinatesHaveDistinctCells() {
+        // A negative row must not overwrite the column in the cell's key (so these would all collide if it did).
+        final int[][] coordinates = {
+            {0, -1}, {-1, -1}, {-1, 0}, {1, -1},
+            {Integer.MIN_VALUE, Integer.MAX_VALUE}, {Integer.MAX_VALUE, Integer.MIN_VALUE}
+        };
+
+        final List<SGButton> buttons = new ArrayList<>();
+        for (int[] cell : coordinates) {
+            final SGButton button = button();
+            grid.setCell(cell[0], cell[1], button);
+            buttons.add(button);
+        }
+
+        assertEquals(coordinates.length, grid.getCellCount());
+        for (int i = 0; i < coordinates.length; i++) {
+            assertSame(buttons.get(i), grid.getCell(coordinates[i][0], coordinates[i][1]));
+        }
+
+        grid.removeCell(-1, -1);
+        assertEquals(coordinates.length - 1, grid.getCellCount());
+        assertSame(buttons.get(0), grid.getCell(0, -1));
+        assertSame(buttons.get(2), grid.getCell(-1, 0));
+    }
+
+    @Test
+    void testSlotOperationsThrow() {
+        final SGButton button = button();
+        assertThrowsExactly(UnsupportedOperationException.class, () -> grid.setButton(0, button));
+        assertThrowsExactly(UnsupportedOperationException.class, () -> grid.removeButton(0));
+        assertThrowsExactly(UnsupportedOperationException.class, () -> grid.removeRange(0, 26));
+        assertThrowsExactly(UnsupportedOperationException.class, () -> grid.clearPage(0));
+        assertThrowsExactly(UnsupportedOperationException.class, () -> grid.compact());
+        assertThrowsExactly(UnsupportedOperationException.class, () -> grid.clearAllButStickiedSlots());
+    }
+
+}
@@ -0,0 +1,61 @@
+package com.samjakob.spigui.menu;
+
+import org.bukkit.event.inventory.ClickType;
+import org.bukkit.event.inventory.InventoryAction;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SGInteractionPolicyTest {
+
+    @Test
+    void testDefaultPolicy() {
+        final SGInteractionPolicy policy = SGInteractionPolicy.DEFAULT;
+
+        assertTrue(policy.isClickPermitted(ClickType.LEFT));
+        assertTrue(policy.isClickPermitted(ClickType.RIGHT));
+        assertFalse(policy.isClickPermitted(ClickType.SHIFT_LEFT));
+        assertFalse(policy.isClickPermitted(null));
+
+        assertTrue(policy.isMenuActionBlocked(InventoryAction.MOVE_TO_OTHER_INVENTORY));
+        assertTrue(policy.isAdjacentActionBlocked(InventoryAction.COLLECT_TO_CURSOR));
+        assertFalse(policy.isMenuActionBlocked(InventoryAction.PICKUP_ALL));
+        assertFalse(policy.isMenuActionBlocked(null));
+    }
+
+    @Test
+    void testModificationCopiesPolicy() {
+        final SGInteractionPolicy modified =
+                SGInteractionPolicy.DEFAULT.withClickTypePermitted(ClickType.SHIFT_LEFT, true);
+
+        assertNotSame(SGInteractionPolicy.DEFAULT, modified);
+        assertTrue(modified.isClickPermitted(ClickType.SHIFT_LEFT));
+        assertFalse(SGInteractionPolicy.DEFAULT.isClickPermitted(ClickType.SHIFT_LEFT));
+    }
+
+    @Test
+    void testUnchangedModificationReturnsSamePolicy() {
+        final SGInteractionPolicy policy = SGInteractionPolicy.DEFAULT;
+
+        assertSame(policy, policy.withClickTypePermitted(ClickType.LEFT, true));
+        assertSame(policy, policy.withMenuActionBlocked(InventoryAction.PICKUP_ALL, false));
+        assertSame(policy, policy.withPermittedClickTypes(ClickType.RIGHT, ClickType.LEFT));
+    }
+
+    @Test
+    void testEqualPoliciesAreEqual() {
+        final SGInteractionPolicy policy = SGInteractionPolicy.DEFAULT
+                .withAdjacentActionBlocked(InventoryAction.PICKUP_ALL, true)
+                .withAdjacentActionBlocked(InventoryAction.PICKUP_ALL, false);
+
+        assertEquals(SGInteractionPolicy.DEFAULT, policy);
+        assertEquals(SGInteractionPolicy.DEFAULT.hashCode(), policy.hashCode());
+    }
+
+    @Test
+    void testSetsAreUnmodifiable() {
+        assertThrows(UnsupportedOperationException.class,
+                () -> SGInteractionPolicy.DEFAULT.getPermittedClickTypes().add(ClickType.MIDDLE));
+    }
+
+}
@@ -0,0 +1,207 @@
+package com.samjakob.spigui.menu;
+
+import com.samjakob.spigui.MockSpiGUI;
+import com.samjakob.spigui.buttons.SGButton;
+import org.bukkit.inventory.ItemStack;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class SGListMenuTest {
+
+    SGListMenu menu;
+
+    /** The buttons the menu is expected to hold, in order. */
+    List<SGButton> expected;
+
+    @BeforeEach
+    void setup() {
+        menu = MockSpiGUI.create().createList("Feed", 3);
+        expected = new ArrayList<>();
+    }
+
+    /** Creates a button with a (mocked) icon. */
+    private static SGButton button() {
+        return new SGButton(mock(ItemStack.class), 1);
+    }
+
+    /** Adds the specified number of buttons to the end of the list. */
+    private void fill(int count) {
+        for (int i = 0; i < count; i++) {
+            final SGButton button = button();
+            menu.add(button);
+            expected.add(button);
+        }
+    }
+
+    /** Checks that the menu holds the expected buttons, looking them up both forward and backward. */
+    private void assertContents() {
+        assertEquals(expected.size(), menu.size());
+        for (int index = 0; index < expected.size(); index++) {
+            assertSame(expected.get(index), menu.get(index));
+            assertSame(expected.get(index), menu.getButton(index));
+        }
+
+        for (int index = expected.size() - 1; index >= 0; index--) {
+            assertSame(expected.get(index), menu.get(index));
+        }
+
+        assertNull(menu.getButton(expected.size()));
+        assertEquals(Math.max(0, expected.size() - 1), menu.getHighestFilledSlot());
+    }
+
+    @Test
+    void testInsertSplitsFullChunk() {
+        // The chunk is full, so inserting another button (at its end) splits it.
+        fill(SGListMenu.MAX_CHUNK_SIZE);
+        assertContents();
+        fill(1);
+        assertContents();
+
+        // Insert at the start, at the boundary between the chunks and at the end.
+        final int boundary = (SGListMenu.MAX_CHUNK_SIZE + 1) / 2;
+        for (int index : new int[] {0, boundary, boundary + 1, expected.size()}) {
+            final SGButton button = button();
+            menu.insert(index, button);
+            expected.add(index, button);
+            assertContents();
+        }
+    }
+
+    @Test
+    void testInsertSplitsChunksRepeatedly() {
+        // Inserting at the front fills (and splits) the first chunk each time.
+        for (int i = 0; i < SGListMenu.MAX_CHUNK_SIZE * 3; i++) {
+            final SGButton button = button();
+            menu.insert(0, button);
+            expected.add(0, button);
+        }
+
+        assertContents();
+    }
+
+    @Test
+    void testInsertOutOfRange() {
+        fill(2);
+        final SGButton button = button();
+        assertThrowsExactly(IndexOutOfBoundsException.class, () -> menu.insert(-1, button));
+        assertThrowsExactly(IndexOutOfBoundsException.class, () -> menu.insert(3, button));
+        assertThrowsExactly(IndexOutOfBoundsException.class, () -> menu.get(2));
+        assertThrowsExactly(IndexOutOfBoundsException.class, () -> menu.remove(2));
+        assertThrowsExactly(IndexOutOfBoundsException.class, () -> menu.set(-1, button));
+    }
+
+    @Test
+    void testRemoveDropsEmptyChunks() {
+        fill(SGListMenu.MAX_CHUNK_SIZE + 1);
+        final int boundary = (SGListMenu.MAX_CHUNK_SIZE + 1) / 2;
+
+        // Empty the first chunk, leaving the cursor on the chunk that is then removed.
+        for (int i = 0; i < boundary; i++) {
+            menu.get(0);
+            menu.remove(0);
+            expected.remove(0);
+        }
+
+        assertContents();
+    }
+
+    @Test
+    void testRemoveFixesCursor() {
+        fill(SGListMenu.MAX_CHUNK_SIZE + 1);
+        final int boundary = (SGListMenu.MAX_CHUNK_SIZE + 1) / 2;
+
+        // Empty the last chunk from its end, looking up the button before it each time (so the cursor is on it).
+        while (expected.size() > boundary) {
+            menu.get(expected.size() - 1);
+            menu.remove(expected.size() - 1);
+            expected.remove(expected.size() - 1);
+            assertSame(expected.get(expected.size() - 1), menu.get(expected.size() - 1));
+        }
+
+        assertContents();
+
+        // Remove everything, then start again.
+        while (!expected.isEmpty()) {
+            menu.remove(expected.size() / 2);
+            expected.remove(expected.size() / 2);
+        }
+
+        assertContents();
+        fill(3);
+        assertContents();
+    }
+
+    @Test
+    void testRemoveRangeShiftsLaterButtons() {
+        fill(SGListMenu.MAX_CHUNK_SIZE * 2);
+
+        // The range spans (and empties) chunks.
+        menu.removeRange(10, SGListMenu.MAX_CHUNK_SIZE + 10);
+        expected.subList(10, SGListMenu.MAX_CHUNK_SIZE + 11).clear();
+        assertContents();
+
+        // Indexes beyond the end of the list are ignored.
+        menu.removeRange(expected.size() - 5, Integer.MAX_VALUE);
+        expected.subList(expected.size() - 5, expected.size()).clear();
+        assertContents();
+
+        menu.removeRange(-10, 2);
+        expected.subList(0, 3).clear();
+        assertContents();
+
+        menu.removeRange(expected.size(), expected.size() + 10);
+        menu.removeRange(5, 4);
+        assertContents();
+    }
+
+    @Test
+    void testClearPageShiftsLaterPages() {
+        fill(60);
+
+        menu.clearPage(1);
+        expected.subList(27, 54).clear();
+        assertContents();
+        assertEquals(33, menu.size());
+    }
+
+    @Test
+    void testCompactDoesNothing() {
+        fill(5);
+        menu.compact();
+        assertContents();
+    }
+
+    @Test
+    void testSlotOperationsThrow() {
+        final SGButton button = button();
+        assertThrowsExactly(UnsupportedOperationException.class, () -> menu.setButton(0, button));
+        assertThrowsExactly(UnsupportedOperationException.class, () -> menu.removeButton(0));
+        assertThrowsExactly(UnsupportedOperationException.class, () -> menu.clearAllButStickiedSlots());
+    }
+
+    @Test
+    void testCompactIconStorageCompactsExistingButtons() {
+        for (int i = 0; i < 3; i++) {
+            final ItemStack icon = mock(ItemStack.class);
+            when(icon.serialize()).thenReturn(Collections.singletonMap("name", "diamond"));
+            menu.add(new SGButton(icon));
+        }
+
+        menu.setCompactIconStorage(true);
+        for (int index = 0; index < menu.size(); index++) assertTrue(menu.get(index).isIconCompacted());
+        assertNotNull(menu.getIconPool());
+        assertEquals(1, menu.getIconPool().getUniqueIconCount());
+        assertEquals(3, menu.getIconPool().getReferenceCount());
+
+        menu.removeRange(0, 1);
+        assertEquals(1, menu.getIconPool().getReferenceCount());
+    }
+
+}
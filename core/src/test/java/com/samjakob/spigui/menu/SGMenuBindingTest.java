@@ -0,0 +1,103 @@
+package com.samjakob.spigui.menu;
+
+import com.samjakob.spigui.buttons.SGButton;
+import org.bukkit.Material;
+import org.bukkit.inventory.ItemStack;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class SGMenuBindingTest {
+
+    @Mock
+    private SGMenu menu;
+
+    private SGObservableList<String> list;
+
+    private final Map<String, SGButton> buttons = new HashMap<>();
+
+    @BeforeEach
+    void setup() {
+        // Every slot of the binding is on the first page, unless a test says otherwise.
+        when(menu.getLastPageShowing(anyInt())).thenReturn(0);
+        list = new SGObservableList<>(Arrays.asList("a", "b", "c"));
+        SGMenuBinding.bind(menu, list, element ->
+                buttons.computeIfAbsent(element, key -> new SGButton(new ItemStack(Material.DIRT))));
+        clearInvocations(menu);
+    }
+
+    @Test
+    void testAddShiftsFollowingSlots() {
+        list.add(1, "d");
+
+        verify(menu).setButton(1, buttons.get("d"));
+        verify(menu).setButton(2, buttons.get("b"));
+        verify(menu).setButton(3, buttons.get("c"));
+        verify(menu, never()).setButton(eq(0), any());
+    }
+
+    @Test
+    void testRemoveClearsLastSlot() {
+        list.remove(1);
+
+        verify(menu).setButton(1, buttons.get("c"));
+        verify(menu).removeButton(2);
+        verify(menu, never()).setButton(eq(0), any());
+    }
+
+    @Test
+    void testSetAndMoveOnlyTouchAffectedSlots() {
+        list.set(2, "e");
+        verify(menu, times(1)).setButton(anyInt(), any());
+        verify(menu).setButton(2, buttons.get("e"));
+
+        clearInvocations(menu);
+        list.move(0, 1);
+        assertEquals(Arrays.asList("b", "a", "e"), list);
+        verify(menu).setButton(0, buttons.get("b"));
+        verify(menu).setButton(1, buttons.get("a"));
+        verify(menu, never()).setButton(eq(2), any());
+    }
+
+    @Test
+    void testRefreshesOnlyVisibleSlots() {
+        when(menu.isRangeOnCurrentPage(anyInt(), anyInt())).thenReturn(true);
+
+        list.add("f");
+        verify(menu).refreshSlots(3, 3);
+        verify(menu, never()).refreshViewers();
+    }
+
+    @Test
+    void testRefreshesViewersWhenPageCountChanges() {
+        // The new element is the first on the second page, so the title and toolbar may have changed.
+        when(menu.getLastPageShowing(3)).thenReturn(1);
+
+        list.add("f");
+        verify(menu).setButton(3, buttons.get("f"));
+        verify(menu).refreshViewers();
+        verify(menu, never()).refreshSlots(anyInt(), anyInt());
+    }
+
+    @Test
+    void testClearRemovesEverySlot() {
+        list.clear();
+
+        verify(menu).removeButton(0);
+        verify(menu).removeButton(1);
+        verify(menu).removeButton(2);
+        verify(menu, never()).setButton(anyInt(), any());
+    }
+
+}
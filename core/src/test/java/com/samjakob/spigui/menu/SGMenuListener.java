@@ -0,0 +1,12 @@
+package com.samjakob.spigui.menu;
+
+import com.samjakob.spigui.SpiGUI;
+
+/** Test stand-in for the version-specific listener (which is part of each SpiGUI distribution, rather than core). */
+public final class SGMenuListener extends SGMenuListenerBase {
+
+    public SGMenuListener(SpiGUI spiGUI) {
+        super(spiGUI);
+    }
+
+}
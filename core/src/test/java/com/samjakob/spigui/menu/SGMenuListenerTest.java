@@ -0,0 +1,149 @@
+package com.samjakob.spigui.menu;
+
+import com.samjakob.spigui.MockInventory;
+import com.samjakob.spigui.MockSpiGUI;
+import com.samjakob.spigui.SpiGUI;
+import com.samjakob.spigui.buttons.SGButton;
+import com.samjakob.spigui.buttons.SGButtonListener;
+import org.bukkit.entity.Player;
+import org.bukkit.event.Event;
+import org.bukkit.event.inventory.ClickType;
+import org.bukkit.event.inventory.InventoryAction;
+import org.bukkit.event.inventory.InventoryClickEvent;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.ItemStack;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class SGMenuListenerTest {
+
+    SpiGUI spiGUI;
+
+    SGMenu menu;
+
+    SGMenuListener listener;
+
+    @BeforeEach
+    void setup() {
+        spiGUI = MockSpiGUI.create();
+        menu = spiGUI.create("Test", 3);
+        listener = new SGMenuListener(spiGUI);
+
+        // Refreshes expect the toolbar row (which is only included in new inventories with pagination enabled).
+        menu.setAutomaticPaginationEnabled(true);
+    }
+
+    /** Creates a button with a (mocked) icon with the specified fingerprint, and the specified listener. */
+    private static SGButton button(long fingerprint, SGButtonListener onClick) {
+        return new SGButton(mock(ItemStack.class), fingerprint).withListener(onClick);
+    }
+
+    /** Mocks a viewer with the specified inventory open. */
+    private static Player viewer(Inventory inventory) {
+        final Player viewer = MockInventory.viewer();
+        viewer.openInventory(inventory);
+        return viewer;
+    }
+
+    /** Mocks a left click on the specified slot of the inventory. */
+    private static InventoryClickEvent click(Inventory inventory, int slot) {
+        final InventoryClickEvent event = mock(InventoryClickEvent.class);
+        when(event.getClickedInventory()).thenReturn(inventory);
+        when(event.getSlot()).thenReturn(slot);
+        when(event.getClick()).thenReturn(ClickType.LEFT);
+        when(event.getAction()).thenReturn(InventoryAction.PICKUP_ALL);
+        return event;
+    }
+
+    @Test
+    void testLockedSlotDeniesClick() {
+        final SGButtonListener onClick = mock(SGButtonListener.class);
+        menu.setButton(4, button(1, onClick));
+        spiGUI.setBlockDefaultInteractions(false);
+        menu.lockSlot(4);
+
+        // The click is denied even though interactions are allowed, and the button never hears of it.
+        final Inventory inventory = menu.getInventory();
+        final InventoryClickEvent locked = click(inventory, 4);
+        listener.handleClick(locked);
+        verify(locked).setResult(Event.Result.DENY);
+        verify(onClick, never()).onClick(any());
+
+        menu.unlockSlot(4);
+        final InventoryClickEvent unlocked = click(inventory, 4);
+        listener.handleClick(unlocked);
+        verify(unlocked, never()).setResult(any());
+        verify(onClick).onClick(unlocked);
+    }
+
+    @Test
+    void testInputSlotBypassesBlocking() {
+        // Default interactions are blocked by SpiGUI, by default.
+        menu.markInputSlot(5);
+        final Inventory inventory = menu.getInventory();
+
+        final InventoryClickEvent input = click(inventory, 5);
+        listener.handleClick(input);
+        verify(input, never()).setResult(any());
+
+        final InventoryClickEvent other = click(inventory, 6);
+        listener.handleClick(other);
+        verify(other).setResult(Event.Result.DENY);
+    }
+
+    @Test
+    void testRefreshLeavesInputSlots() {
+        // With interactions allowed, every other slot is rendered again, as players may have moved items around.
+        spiGUI.setBlockDefaultInteractions(false);
+        menu.markInputSlot(5);
+
+        final Inventory inventory = menu.getInventory();
+        final Player viewer = viewer(inventory);
+        menu.refreshInventory(viewer);
+        menu.refreshInventory(viewer);
+        verify(inventory, times(2)).setItem(4, null);
+        verify(inventory, never()).setItem(eq(5), any());
+        verify(viewer, times(1)).openInventory(any(Inventory.class));
+    }
+
+    @Test
+    void testClickUsesListenerRenderedInSlot() {
+        final SGButtonListener first = mock(SGButtonListener.class);
+        final SGButtonListener second = mock(SGButtonListener.class);
+        menu.setButton(4, button(1, first));
+
+        // The player clicks what they were shown, until the inventory is refreshed.
+        final Inventory inventory = menu.getInventory();
+        menu.setButton(4, button(2, second));
+        final InventoryClickEvent before = click(inventory, 4);
+        listener.handleClick(before);
+        verify(first).onClick(before);
+        verify(second, never()).onClick(any());
+
+        menu.refreshInventory(viewer(inventory));
+        final InventoryClickEvent after = click(inventory, 4);
+        listener.handleClick(after);
+        verify(second).onClick(after);
+        verify(first, never()).onClick(after);
+    }
+
+    @Test
+    void testClickFallsBackToButtonForUnrenderedInventory() {
+        final SGButtonListener first = mock(SGButtonListener.class);
+        final SGButtonListener second = mock(SGButtonListener.class);
+        menu.setButton(4, button(1, first));
+        menu.getInventory();
+        menu.setButton(4, button(2, second));
+
+        // The menu didn't render this inventory, so the button currently in the slot is used.
+        final Inventory inventory = MockInventory.create(menu, 36, menu.getName());
+        final InventoryClickEvent event = click(inventory, 4);
+        listener.handleClick(event);
+        verify(second).onClick(event);
+        verify(first, never()).onClick(any());
+    }
+
+}
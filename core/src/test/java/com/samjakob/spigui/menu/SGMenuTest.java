@@ -0,0 +1,360 @@
+package com.samjakob.spigui.menu;
+
+import com.samjakob.spigui.MockInventory;
+import com.samjakob.spigui.MockSpiGUI;
+import com.samjakob.spigui.SpiGUI;
+import com.samjakob.spigui.buttons.SGButton;
+import org.bukkit.entity.Player;
+import org.bukkit.event.inventory.ClickType;
+import org.bukkit.event.inventory.InventoryAction;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.ItemStack;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class SGMenuTest {
+
+    SpiGUI spiGUI;
+
+    SGMenu menu;
+
+    @BeforeEach
+    void setup() {
+        spiGUI = MockSpiGUI.create();
+        menu = spiGUI.create("Test", 3);
+
+        // Refreshes expect the toolbar row (which is only included in new inventories with pagination enabled).
+        menu.setAutomaticPaginationEnabled(true);
+    }
+
+    /** Creates a button with a (mocked) icon with the specified fingerprint. */
+    private static SGButton button(long fingerprint) {
+        return new SGButton(mock(ItemStack.class), fingerprint);
+    }
+
+    /** Mocks a viewer with the specified inventory open. */
+    private static Player viewer(Inventory inventory) {
+        final Player viewer = MockInventory.viewer();
+        viewer.openInventory(inventory);
+        return viewer;
+    }
+
+    /** Returns the inventory the viewer has open. */
+    private static Inventory top(Player viewer) {
+        return viewer.getOpenInventory().getTopInventory();
+    }
+
+    /** Sets the players that are online. */
+    private void online(Player... players) {
+        doReturn(Arrays.asList(players)).when(spiGUI.getOwner().getServer()).getOnlinePlayers();
+    }
+
+    @Test
+    void testRefreshSkipsUnchangedSlots() {
+        final SGButton first = button(1);
+        final SGButton second = button(2);
+        menu.setButton(0, first);
+        menu.setButton(1, second);
+
+        final Inventory inventory = menu.getInventory();
+        final Player viewer = viewer(inventory);
+        menu.refreshInventory(viewer);
+        verify(inventory).setItem(0, first.getIcon());
+        verify(inventory).setItem(1, second.getIcon());
+
+        // Only the replaced button is rendered again (default interactions are blocked by SpiGUI, by default).
+        final SGButton replacement = button(3);
+        menu.setButton(1, replacement);
+        menu.refreshInventory(viewer);
+        verify(inventory).setItem(1, replacement.getIcon());
+        verify(inventory, times(1)).setItem(eq(0), any());
+        verify(inventory, times(2)).setItem(eq(1), any());
+        verify(inventory, never()).setItem(eq(2), any());
+        verify(viewer, times(1)).openInventory(any(Inventory.class));
+    }
+
+    @Test
+    void testRefreshRendersEverySlotIfInteractionsAreAllowed() {
+        spiGUI.setBlockDefaultInteractions(false);
+        assertFalse(menu.areDefaultInteractionsBlocked());
+
+        final SGButton first = button(1);
+        menu.setButton(0, first);
+
+        // Players may have moved items around, so every slot is rendered again.
+        final Inventory inventory = menu.getInventory();
+        final Player viewer = viewer(inventory);
+        menu.refreshInventory(viewer);
+        menu.refreshInventory(viewer);
+        verify(inventory, times(3)).setItem(0, first.getIcon());
+        verify(inventory, times(2)).setItem(2, null);
+    }
+
+    @Test
+    void testBroadcastViewersShareInventory() {
+        menu.setBroadcast(true);
+        final Player first = viewer(menu.getInventory());
+        final Player second = viewer(menu.getInventory());
+
+        final Inventory shared = top(first);
+        assertSame(shared, top(second));
+        assertEquals(Arrays.asList(first, second), menu.getViewers());
+
+        // An update is rendered into the shared inventory once, for both viewers.
+        final SGButton button = button(1);
+        menu.setButton(0, button);
+        menu.refreshViewers();
+        verify(shared, times(1)).setItem(0, button.getIcon());
+    }
+
+    @Test
+    void testSetBroadcastMovesExistingViewers() {
+        final Player first = viewer(menu.getInventory());
+        final Player second = viewer(menu.getInventory());
+        online(first, second);
+        assertNotSame(top(first), top(second));
+
+        menu.setBroadcast(true);
+        final Inventory shared = top(first);
+        assertSame(shared, top(second));
+        assertEquals(Arrays.asList(first, second), menu.getViewers());
+
+        final SGButton button = button(1);
+        menu.setButton(0, button);
+        menu.refreshViewers();
+        verify(shared, times(1)).setItem(0, button.getIcon());
+
+        // Once the menu stops being broadcast, each viewer is given their own inventory again.
+        menu.setBroadcast(false);
+        assertNotSame(shared, top(first));
+        assertNotSame(shared, top(second));
+        assertNotSame(top(first), top(second));
+        assertTrue(shared.getViewers().isEmpty());
+    }
+
+    @Test
+    void testBroadcastRefreshFallsBackToViewersWithoutSharedInventory() {
+        // The viewer has an inventory from before the menu was broadcast, and the shared inventory hasn't been created.
+        final Inventory inventory = menu.getInventory();
+        menu.setBroadcast(true);
+        final Player viewer = viewer(inventory);
+        online(viewer);
+        assertEquals(Collections.singletonList(viewer), menu.getViewers());
+
+        final SGButton button = button(1);
+        menu.setButton(0, button);
+        menu.refreshViewers();
+        verify(inventory).setItem(0, button.getIcon());
+        assertSame(inventory, top(viewer));
+    }
+
+    @Test
+    @SuppressWarnings("deprecation")
+    void testDeprecatedPolicySetsWriteThrough() {
+        final Set<ClickType> clickTypes = menu.getPermittedMenuClickTypes();
+        clickTypes.add(ClickType.SHIFT_LEFT);
+        clickTypes.remove(ClickType.RIGHT);
+        assertTrue(menu.getInteractionPolicy().isClickPermitted(ClickType.SHIFT_LEFT));
+        assertFalse(menu.getInteractionPolicy().isClickPermitted(ClickType.RIGHT));
+        assertEquals(clickTypes, menu.getInteractionPolicy().getPermittedClickTypes());
+
+        // Changing one set leaves the rest of the policy as it was.
+        final Set<InventoryAction> menuActions = menu.getBlockedMenuActions();
+        menuActions.clear();
+        assertTrue(menu.getInteractionPolicy().getBlockedMenuActions().isEmpty());
+        assertTrue(menu.getInteractionPolicy().isClickPermitted(ClickType.SHIFT_LEFT));
+        assertTrue(menu.getInteractionPolicy().isAdjacentActionBlocked(InventoryAction.COLLECT_TO_CURSOR));
+
+        // Removals through the set's iterator (e.g., removeIf) are written through too.
+        final Set<InventoryAction> adjacentActions = menu.getBlockedAdjacentActions();
+        adjacentActions.removeIf(action -> action == InventoryAction.COLLECT_TO_CURSOR);
+        assertFalse(menu.getInteractionPolicy().isAdjacentActionBlocked(InventoryAction.COLLECT_TO_CURSOR));
+
+        final Iterator<ClickType> iterator = clickTypes.iterator();
+        iterator.next();
+        iterator.remove();
+        assertEquals(clickTypes, menu.getInteractionPolicy().getPermittedClickTypes());
+    }
+
+    @Test
+    void testRemoveRangeSlotBySlot() {
+        for (int slot = 0; slot < 20; slot++) menu.setButton(slot, button(slot + 1));
+
+        // The range is smaller than the menu, so its slots are removed one at a time.
+        menu.removeRange(5, 9);
+        for (int slot = 5; slot <= 9; slot++) assertNull(menu.getButton(slot));
+        assertNotNull(menu.getButton(4));
+        assertNotNull(menu.getButton(10));
+        assertEquals(19, menu.getHighestFilledSlot());
+
+        menu.removeRange(15, 19);
+        assertEquals(14, menu.getHighestFilledSlot());
+    }
+
+    @Test
+    void testRemoveRangeByButton() {
+        final SGButton first = button(1);
+        menu.setButton(3, first);
+        menu.setButton(30, button(2));
+        menu.setButton(60, button(3));
+
+        // The range is larger than the menu, so the menu's buttons are walked instead.
+        menu.removeRange(10, 1000);
+        assertSame(first, menu.getButton(3));
+        assertNull(menu.getButton(30));
+        assertNull(menu.getButton(60));
+        assertEquals(3, menu.getHighestFilledSlot());
+
+        menu.removeRange(-5, Integer.MAX_VALUE);
+        assertNull(menu.getButton(3));
+        assertEquals(0, menu.getHighestFilledSlot());
+    }
+
+    @Test
+    void testClearPage() {
+        for (int slot = 0; slot < 60; slot++) menu.setButton(slot, button(slot + 1));
+
+        menu.clearPage(1);
+        for (int slot = 27; slot < 54; slot++) assertNull(menu.getButton(slot));
+        assertNotNull(menu.getButton(26));
+        assertNotNull(menu.getButton(54));
+
+        // Pages that don't exist are ignored.
+        menu.clearPage(-1);
+        menu.clearPage(100);
+        assertNotNull(menu.getButton(0));
+        assertEquals(59, menu.getHighestFilledSlot());
+    }
+
+    @Test
+    void testCompactSkipsStickiedSlots() {
+        final SGButton stickied = button(1);
+        final SGButton second = button(2);
+        final SGButton fifth = button(3);
+        final SGButton secondPageStickied = button(4);
+        final SGButton secondPage = button(5);
+        menu.stickSlot(0);
+        menu.setButton(0, stickied);
+        menu.setButton(2, second);
+        menu.setButton(5, fifth);
+        menu.setButton(27, secondPageStickied);
+        menu.setButton(30, secondPage);
+
+        menu.compact();
+        assertSame(stickied, menu.getButton(0));
+        assertSame(second, menu.getButton(1));
+        assertSame(fifth, menu.getButton(2));
+        assertSame(secondPage, menu.getButton(3));
+        assertNull(menu.getButton(5));
+        assertNull(menu.getButton(30));
+
+        // Buttons in the stickied slots of later pages aren't moved either.
+        assertSame(secondPageStickied, menu.getButton(27));
+        assertEquals(27, menu.getHighestFilledSlot());
+    }
+
+    @Test
+    void testCompactFromSlot() {
+        final SGButton first = button(1);
+        final SGButton last = button(2);
+        menu.setButton(0, first);
+        menu.setButton(10, last);
+
+        menu.compact(5);
+        assertSame(first, menu.getButton(0));
+        assertSame(last, menu.getButton(5));
+        assertEquals(5, menu.getHighestFilledSlot());
+    }
+
+    @Test
+    void testIsPageDirty() {
+        menu.setButton(30, button(1));
+        assertFalse(menu.isPageDirty(0));
+        assertTrue(menu.isPageDirty(1));
+        assertFalse(menu.isPageDirty(-1));
+
+        // Rendering a page marks it as clean (but leaves the other pages as they were).
+        menu.getInventory();
+        assertFalse(menu.isPageDirty(0));
+        assertTrue(menu.isPageDirty(1));
+
+        menu.setCurrentPage(1);
+        menu.getInventory();
+        assertFalse(menu.isPageDirty(1));
+
+        menu.removeButton(30);
+        assertTrue(menu.isPageDirty(1));
+    }
+
+    @Test
+    void testPagesShowingSlot() {
+        assertEquals(0, menu.getFirstPageShowing(26));
+        assertEquals(1, menu.getFirstPageShowing(27));
+        assertEquals(1, menu.getLastPageShowing(40));
+
+        // In scroll mode, a slot is displayed at every scroll position whose view includes its row.
+        menu.setScrollMode(true);
+        assertEquals(0, menu.getFirstPageShowing(0));
+        assertEquals(0, menu.getLastPageShowing(0));
+        assertEquals(0, menu.getFirstPageShowing(20));
+        assertEquals(2, menu.getLastPageShowing(20));
+        assertEquals(2, menu.getFirstPageShowing(40));
+        assertEquals(4, menu.getLastPageShowing(40));
+    }
+
+    @Test
+    void testScrollByClampsToBounds() {
+        menu.setScrollMode(true);
+        for (int slot = 0; slot < 90; slot++) menu.setButton(slot, button(slot + 1));
+        final Player viewer = viewer(menu.getInventory());
+
+        // There are 10 rows, so the view (of 3 rows) can be moved down by up to 7 rows.
+        assertEquals(7, menu.getMaxPageIndex());
+        assertFalse(menu.scrollBy(viewer, -1));
+        assertTrue(menu.scrollBy(viewer, 1));
+        assertEquals(1, menu.getCurrentPage());
+        assertTrue(menu.scrollBy(viewer, 100));
+        assertEquals(7, menu.getCurrentPage());
+        assertFalse(menu.scrollBy(viewer, 1));
+        assertTrue(menu.scrollBy(viewer, Integer.MIN_VALUE));
+        assertEquals(0, menu.getCurrentPage());
+    }
+
+    @Test
+    void testScrollReusesVisibleRows() {
+        menu.setScrollMode(true);
+        for (int slot = 0; slot < 90; slot++) menu.setButton(slot, button(slot + 1));
+        final SGMenu spied = spy(menu);
+        final Inventory inventory = spied.getInventory();
+        final Player viewer = viewer(inventory);
+
+        // Scrolling down by a row only fetches the newly exposed row.
+        clearInvocations(spied);
+        spied.scrollBy(viewer, 1);
+        verify(spied, times(9)).getButton(anyInt());
+        for (int slot = 27; slot < 36; slot++) verify(spied).getButton(slot);
+        verify(inventory).setItem(0, spied.getButton(9).getIcon());
+
+        // Likewise when scrolling back up.
+        clearInvocations(spied);
+        spied.scrollBy(viewer, -1);
+        verify(spied, times(9)).getButton(anyInt());
+        for (int slot = 0; slot < 9; slot++) verify(spied).getButton(slot);
+
+        // Once a visible row has changed, every row is fetched again.
+        clearInvocations(spied);
+        spied.setButton(20, button(100));
+        spied.scrollBy(viewer, 1);
+        verify(spied, times(27)).getButton(anyInt());
+    }
+
+}
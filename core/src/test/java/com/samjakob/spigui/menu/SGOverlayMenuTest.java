@@ -0,0 +1,151 @@
+package com.samjakob.spigui.menu;
+
+import com.samjakob.spigui.MockSpiGUI;
+import com.samjakob.spigui.buttons.SGButton;
+import org.bukkit.inventory.ItemStack;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class SGOverlayMenuTest {
+
+    SGMenu layout;
+
+    SGMenuTemplate template;
+
+    SGOverlayMenu menu;
+
+    /** The fingerprint of the last button created. */
+    long fingerprint;
+
+    @BeforeEach
+    void setup() {
+        layout = MockSpiGUI.create().create("Profile", 3);
+        layout.setButton(4, button());
+        layout.setButton(13, button());
+        layout.setButton(26, button());
+        layout.stickSlot(26);
+
+        template = SGMenuTemplate.of(layout);
+        menu = template.instantiate();
+    }
+
+    /** Creates a button with a (mocked) icon, and a fingerprint distinct from the other buttons. */
+    private SGButton button() {
+        return new SGButton(mock(ItemStack.class), ++fingerprint);
+    }
+
+    @Test
+    void testInheritsTemplate() {
+        assertEquals(layout.getName(), menu.getName());
+        assertEquals(3, menu.getRowsPerPage());
+        assertTrue(menu.isStickiedSlot(26));
+
+        // The template's buttons are shared, rather than copied.
+        assertSame(layout.getButton(4), menu.getButton(4));
+        assertSame(layout.getButton(26), menu.getButton(26));
+        assertNull(menu.getButton(5));
+        assertFalse(menu.isOverridden(4));
+    }
+
+    @Test
+    void testTemplateIgnoresLaterChanges() {
+        final SGButton original = layout.getButton(4);
+        layout.setButton(4, button());
+        layout.setButton(30, button());
+
+        assertSame(original, template.getButton(4));
+        assertSame(original, menu.getButton(4));
+        assertEquals(26, template.getHighestFilledSlot());
+        assertEquals(3, template.getButtonCount());
+    }
+
+    @Test
+    void testSetButtonOverridesTemplate() {
+        final SGButton button = button();
+        menu.setButton(13, button);
+        assertSame(button, menu.getButton(13));
+        assertTrue(menu.isOverridden(13));
+
+        // Other menus created from the template are unaffected.
+        assertSame(template.getButton(13), template.instantiate().getButton(13));
+    }
+
+    @Test
+    void testHideButton() {
+        menu.hideButton(13);
+        assertNull(menu.getButton(13));
+        assertTrue(menu.isOverridden(13));
+        assertNotNull(template.getButton(13));
+    }
+
+    @Test
+    void testResetButtonRevertsToTemplate() {
+        menu.setButton(13, button());
+        menu.resetButton(13);
+        assertSame(template.getButton(13), menu.getButton(13));
+        assertFalse(menu.isOverridden(13));
+
+        menu.hideButton(4);
+        menu.resetButton(4);
+        assertSame(template.getButton(4), menu.getButton(4));
+
+        // Resetting a slot that isn't overridden does nothing.
+        menu.resetButton(5);
+        assertNull(menu.getButton(5));
+        assertFalse(menu.isOverridden(5));
+    }
+
+    @Test
+    void testHighestFilledSlot() {
+        assertEquals(26, menu.getHighestFilledSlot());
+
+        // Overrides beyond the template's buttons extend the menu.
+        menu.setButton(40, button());
+        assertEquals(40, menu.getHighestFilledSlot());
+        menu.resetButton(40);
+        assertEquals(26, menu.getHighestFilledSlot());
+
+        // Hidden slots of the template don't count.
+        menu.hideButton(26);
+        assertEquals(13, menu.getHighestFilledSlot());
+        menu.hideButton(13);
+        menu.hideButton(4);
+        assertEquals(0, menu.getHighestFilledSlot());
+
+        menu.setButton(13, button());
+        assertEquals(13, menu.getHighestFilledSlot());
+        menu.resetButton(26);
+        assertEquals(26, menu.getHighestFilledSlot());
+    }
+
+    @Test
+    void testCompactKeepsHiddenSlots() {
+        final SGButton button = button();
+        menu.hideButton(4);
+        menu.setButton(30, button);
+
+        menu.compact();
+        assertSame(button, menu.getButton(0));
+        assertNull(menu.getButton(4));
+        assertTrue(menu.isOverridden(4));
+        assertNull(menu.getButton(30));
+    }
+
+    @Test
+    void testCompactSkipsTemplateButtons() {
+        for (int slot = 0; slot < 4; slot++) menu.setButton(slot, button());
+        final SGButton button = button();
+        menu.setButton(30, button);
+
+        // Slot 4 displays the template's button, so the override moves past it.
+        menu.compact();
+        assertSame(template.getButton(4), menu.getButton(4));
+        assertFalse(menu.isOverridden(4));
+        assertSame(button, menu.getButton(5));
+        assertNull(menu.getButton(30));
+    }
+
+}
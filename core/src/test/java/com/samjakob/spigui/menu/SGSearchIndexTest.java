@@ -0,0 +1,126 @@
+package com.samjakob.spigui.menu;
+
+import com.samjakob.spigui.MockSpiGUI;
+import com.samjakob.spigui.buttons.SGButton;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.ItemMeta;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class SGSearchIndexTest {
+
+    SGMenu menu;
+
+    SGSearchIndex index;
+
+    @BeforeEach
+    void setup() {
+        menu = MockSpiGUI.create().create("Catalog", 3);
+        menu.setButton(0, button("&bDiamond &lSword", "A sharp blade"));
+        menu.setButton(1, button("Diamond Pickaxe"));
+        menu.setButton(2, button("Iron Sword"));
+        index = SGSearchIndex.build(menu);
+    }
+
+    /** Creates a button whose icon has the specified display name and lore. */
+    private static SGButton button(String name, String... lore) {
+        final ItemMeta meta = mock(ItemMeta.class);
+        when(meta.hasDisplayName()).thenReturn(true);
+        when(meta.getDisplayName()).thenReturn(name);
+        when(meta.hasLore()).thenReturn(lore.length > 0);
+        when(meta.getLore()).thenReturn(Arrays.asList(lore));
+
+        final ItemStack icon = mock(ItemStack.class);
+        when(icon.hasItemMeta()).thenReturn(true);
+        when(icon.getItemMeta()).thenReturn(meta);
+        return new SGButton(icon);
+    }
+
+    /** Creates a set of the specified slots. */
+    private static BitSet slots(int... slots) {
+        final BitSet set = new BitSet();
+        for (int slot : slots) set.set(slot);
+        return set;
+    }
+
+    @Test
+    void testMatchesPrefixes() {
+        assertEquals(slots(0, 1), index.search("dia"));
+        assertEquals(slots(0, 1), index.search("diamond"));
+        assertEquals(slots(0, 2), index.search("SW"));
+
+        // A prefix range covers tokens beginning with the term, not the term's own prefixes.
+        assertEquals(slots(), index.search("diamonds"));
+        assertEquals(slots(), index.search("gold"));
+    }
+
+    @Test
+    void testIgnoresColorCodes() {
+        assertEquals(slots(0), index.search("&bdiamond &lsword"));
+        assertEquals(slots(), index.search("bdiamond"));
+    }
+
+    @Test
+    void testSearchesLore() {
+        assertEquals(slots(0), index.search("sharp"));
+    }
+
+    @Test
+    void testIntersectsTerms() {
+        assertEquals(slots(0), index.search("dia sw"));
+        assertEquals(slots(1), index.search("pick diamond"));
+        assertEquals(slots(), index.search("iron pick"));
+    }
+
+    @Test
+    void testEmptyQueryMatchesEverySlot() {
+        assertEquals(slots(0, 1, 2), index.search(null));
+        assertEquals(slots(0, 1, 2), index.search(""));
+        assertEquals(slots(0, 1, 2), index.search("  "));
+    }
+
+    @Test
+    void testUpdateReindexesSlot() {
+        menu.setButton(1, button("Gold Pickaxe"));
+        index.update(1);
+
+        assertEquals(slots(0), index.search("diamond"));
+        assertEquals(slots(1), index.search("gold"));
+        assertEquals(slots(1), index.search("pick"));
+
+        // Updating a slot that is now empty removes it from the index.
+        menu.removeButton(1);
+        index.update(1);
+        assertEquals(slots(), index.search("gold"));
+        assertEquals(slots(0, 2), index.search(null));
+    }
+
+    @Test
+    void testRemoveDropsSlot() {
+        index.remove(2);
+        assertEquals(slots(0), index.search("sword"));
+        assertEquals(slots(0, 1), index.search(null));
+
+        // Removing a slot twice (or one that was never indexed) does nothing.
+        index.remove(2);
+        index.remove(20);
+        assertEquals(slots(0, 1), index.search(null));
+    }
+
+    @Test
+    void testFilterWrapsMatches() {
+        final SGFilteredMenu filtered = index.filter("sword");
+        assertSame(menu, filtered.getSource());
+        assertEquals(2, filtered.getMatchCount());
+        assertSame(menu.getButton(0), filtered.getButton(0));
+        assertSame(menu.getButton(2), filtered.getButton(1));
+        assertNull(filtered.getButton(2));
+    }
+
+}
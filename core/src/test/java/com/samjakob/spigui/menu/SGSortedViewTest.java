@@ -0,0 +1,109 @@
+package com.samjakob.spigui.menu;
+
+import com.samjakob.spigui.buttons.SGButton;
+import org.bukkit.Material;
+import org.bukkit.inventory.ItemStack;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Comparator;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class SGSortedViewTest {
+
+    @Mock
+    private SGMenu menu;
+
+    private SGSortedView<Integer> view;
+
+    @BeforeEach
+    void setup() {
+        view = new SGSortedView<>(menu, value -> new SGButton(new ItemStack(Material.DIRT)),
+                "ascending", Comparator.naturalOrder());
+    }
+
+    @Test
+    void testKeepsElementsSorted() {
+        view.add(5);
+        view.add(1);
+        view.add(3);
+
+        assertEquals(1, view.get(0));
+        assertEquals(3, view.get(1));
+        assertEquals(5, view.get(2));
+        assertEquals(1, view.getSlot(3));
+    }
+
+    @Test
+    void testOnlyRewritesShiftedSlots() {
+        view.add(1);
+        view.add(2);
+        view.add(3);
+        clearInvocations(menu);
+
+        view.add(4);
+        verify(menu, times(1)).setButton(anyInt(), any());
+        verify(menu).setButton(eq(3), any());
+
+        clearInvocations(menu);
+        view.remove(3);
+        verify(menu).setButton(eq(2), any());
+        verify(menu).removeButton(3);
+        verify(menu, never()).setButton(eq(0), any());
+        verify(menu, never()).setButton(eq(1), any());
+    }
+
+    @Test
+    void testRefreshesOnlyChangedSlots() {
+        view.add(1);
+        view.add(3);
+        clearInvocations(menu);
+        when(menu.isRangeOnCurrentPage(anyInt(), anyInt())).thenReturn(true);
+
+        view.add(2);
+        verify(menu).refreshSlots(1, 2);
+        verify(menu, never()).refreshViewers();
+    }
+
+    @Test
+    void testRefreshesViewersWhenPageCountChanges() {
+        // The second element's slot is on the second page.
+        when(menu.getLastPageShowing(anyInt()))
+                .thenAnswer(invocation -> invocation.<Integer>getArgument(0) > 0 ? 1 : 0);
+        view.add(1);
+        clearInvocations(menu);
+
+        view.add(2);
+        verify(menu).refreshViewers();
+        verify(menu, never()).refreshSlots(anyInt(), anyInt());
+    }
+
+    @Test
+    void testSwitchingSortKeyReusesOrdering() {
+        view.add(2);
+        view.add(1);
+        view.add(3);
+        view.addSortKey("descending", Comparator.<Integer>reverseOrder());
+
+        view.add(0);
+        view.setSortKey("descending");
+
+        assertEquals("descending", view.getSortKey());
+        assertEquals(3, view.get(0));
+        assertEquals(0, view.get(3));
+    }
+
+    @Test
+    void testRejectsDuplicateElements() {
+        view.add(1);
+        assertThrowsExactly(IllegalArgumentException.class, () -> view.add(1));
+    }
+
+}
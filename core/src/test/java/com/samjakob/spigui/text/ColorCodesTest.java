@@ -0,0 +1,40 @@
+package com.samjakob.spigui.text;
+
+import org.bukkit.ChatColor;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ColorCodesTest {
+
+    @Test
+    void testTranslate() {
+        assertEquals(ChatColor.GREEN + "Next Page", ColorCodes.translate("&aNext Page"));
+        assertEquals(ChatColor.RESET + "" + ChatColor.GREEN + "Next Page", ColorCodes.translateItemText("&aNext Page"));
+    }
+
+    @Test
+    void testRepeatedTextIsNotTranslatedAgain() {
+        final String plain = "Plain text";
+        assertSame(plain, ColorCodes.translate(plain));
+
+        // Use distinct (but equal) strings to ensure the result comes from the cache.
+        final String first = ColorCodes.translateItemText(new String("&7A line of lore."));
+        final String second = ColorCodes.translateItemText(new String("&7A line of lore."));
+        assertSame(first, second);
+    }
+
+    @Test
+    void testTranslateItemLore() {
+        final List<String> lore = ColorCodes.translateItemLore(Arrays.asList("&aFirst", null, "Third"));
+
+        assertEquals(Arrays.asList(
+                ChatColor.RESET + "" + ChatColor.GREEN + "First",
+                "",
+                ChatColor.RESET + "Third"), lore);
+    }
+
+}
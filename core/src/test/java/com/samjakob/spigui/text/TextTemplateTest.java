@@ -0,0 +1,68 @@
+package com.samjakob.spigui.text;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TextTemplateTest {
+
+    @Test
+    void testRender() {
+        final TextTemplate template = TextTemplate.compile("Page {currentPage} of {maxPage}", "currentPage", "maxPage");
+
+        assertFalse(template.isConstant());
+        assertEquals("Page 2 of 5", template.render(2, 5));
+        assertEquals("Page 3 of 5", template.render(3, 5));
+    }
+
+    @Test
+    void testParametersMayBeReorderedAndRepeated() {
+        final TextTemplate template = TextTemplate.compile("{b}-{a}-{b}", "a", "b");
+
+        assertEquals("2-1-2", template.render(1, 2));
+    }
+
+    @Test
+    void testUnknownPlaceholdersAreLiteral() {
+        final TextTemplate template = TextTemplate.compile("{unknown} {page} {", "page");
+
+        assertEquals("{unknown} 4 {", template.render(4));
+    }
+
+    @Test
+    void testConstantTemplateReturnsOriginal() {
+        final String text = "&aShop";
+        final TextTemplate template = TextTemplate.compile(text, "currentPage", "maxPage");
+
+        assertTrue(template.isConstant());
+        assertSame(text, template.render(1, 1));
+    }
+
+    @Test
+    void testRejectsWrongArgumentCount() {
+        final TextTemplate template = TextTemplate.compile("Page {page}", "page");
+
+        assertThrows(IllegalArgumentException.class, template::render);
+    }
+
+    @Test
+    void testConstantTemplateRejectsWrongArgumentCount() {
+        final TextTemplate template = TextTemplate.compile("&aShop", "currentPage", "maxPage");
+
+        assertThrows(IllegalArgumentException.class, () -> template.render(1));
+    }
+
+    @Test
+    void testArgumentMayRenderAnotherTemplate() {
+        final TextTemplate inner = TextTemplate.compile("[{value}]", "value");
+        final Object argument = new Object() {
+            @Override
+            public String toString() {
+                return inner.render("inner");
+            }
+        };
+
+        assertEquals("outer [inner] end", TextTemplate.compile("outer {value} end", "value").render(argument));
+    }
+
+}
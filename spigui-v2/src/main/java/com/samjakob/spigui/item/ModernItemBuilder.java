@@ -1,29 +1,72 @@
 package com.samjakob.spigui.item;
 
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Objects;
 import java.util.UUID;
-import java.util.stream.Collectors;
+import java.util.function.BiConsumer;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 
 import org.bukkit.Bukkit;
-import org.bukkit.ChatColor;
 import org.bukkit.Material;
 import org.bukkit.enchantments.Enchantment;
 import org.bukkit.inventory.ItemFlag;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.meta.Damageable;
+import org.bukkit.inventory.meta.ItemMeta;
 import org.bukkit.inventory.meta.SkullMeta;
 
+import com.samjakob.spigui.text.ColorCodes;
+
 /**
  * A modern (1.13+) Minecraft implementation of the {@link ItemBuilderBase} that uses new fields and APIs to customize
  * the item stacks.
+ *
+ * <p>Changes to the item's metadata are accumulated on a single {@link ItemMeta}, which is only applied to the stack
+ * when the item is built, rather than copying the metadata in and out of the stack for every change.
  */
 @SuppressWarnings({"RedundantSuppression", "deprecation"})
 public final class ModernItemBuilder implements ItemBuilderBase {
 
+    /** The color of each colored material (e.g., {@code RED_WOOL} is {@link ItemColor#RED}). */
+    private static final EnumMap<Material, ItemColor> MATERIAL_COLORS = new EnumMap<>(Material.class);
+
+    /**
+     * The color variants of each colored material, indexed by {@link ItemColor#ordinal()} (e.g., {@code RED_WOOL} maps
+     * to {@code [WHITE_WOOL, ORANGE_WOOL, ...]}). Variants that do not exist are null.
+     */
+    private static final EnumMap<Material, Material[]> MATERIAL_VARIANTS = new EnumMap<>(Material.class);
+
+    static {
+        // Group the colored materials by the name that follows their color prefix (e.g., WOOL for RED_WOOL), so that
+        // each material can be mapped to the other colors of the same item.
+        final var variantsByBaseName = new HashMap<String, Material[]>();
+        final var colors = ItemColor.values();
+
+        for (final var material : Material.values()) {
+            final var name = material.name();
+
+            for (final var color : colors) {
+                final var prefix = color.name();
+                if (name.length() <= prefix.length()
+                        || name.charAt(prefix.length()) != '_'
+                        || !name.startsWith(prefix)) continue;
+
+                final var variants = variantsByBaseName.computeIfAbsent(
+                        name.substring(prefix.length() + 1), baseName -> new Material[colors.length]);
+                variants[color.ordinal()] = material;
+
+                MATERIAL_COLORS.put(material, color);
+                MATERIAL_VARIANTS.put(material, variants);
+                break;
+            }
+        }
+    }
+
     /** Ensures that the {@link ModernItemBuilder} has been registered on the {@link ItemBuilderFactory}. */
     public static void register() {
         if (!ItemBuilderFactory.get().hasConstructors()) {
@@ -37,6 +80,15 @@ public final class ModernItemBuilder implements ItemBuilderBase {
                 public ItemBuilderBase from(@Nonnull ItemStack stack) {
                     return new ModernItemBuilder(stack);
                 }
+
+                @Nonnull
+                @Override
+                public <T> ItemStack[] createBatch(
+                        @Nonnull ItemStack template,
+                        @Nonnull Collection<? extends T> rows,
+                        @Nonnull BiConsumer<ItemBuilderBase, ? super T> customizer) {
+                    return ModernItemBuilder.createBatch(template, rows, customizer);
+                }
             });
         }
     }
@@ -44,6 +96,13 @@ public final class ModernItemBuilder implements ItemBuilderBase {
     /** The item stack being built. */
     private final ItemStack stack;
 
+    /** The stack's metadata, once it has been read, including any changes that have not yet been applied. */
+    @Nullable
+    private ItemMeta meta;
+
+    /** Whether {@link #meta} has changes that have not yet been applied to the stack. */
+    private boolean metaChanged;
+
     /**
      * Constructor for creating a new ItemBuilder with a new internal stack derived from the given {@link Material}.
      *
@@ -69,6 +128,61 @@ public final class ModernItemBuilder implements ItemBuilderBase {
         this.stack = stack.clone();
     }
 
+    /**
+     * Constructor for creating an ItemBuilder for one item of a batch (see {@link #createBatch}).
+     *
+     * <p>Unlike {@link #ModernItemBuilder(ItemStack)}, the stack is used as-is rather than being copied, and the
+     * metadata is taken as the item's (pending) metadata rather than being read from the stack.
+     *
+     * @param stack the (metadata-less) stack of the item, which is owned by the builder.
+     * @param meta the item's metadata (or null to read it from the stack), which is owned by the builder.
+     */
+    private ModernItemBuilder(@Nonnull ItemStack stack, @Nullable ItemMeta meta) {
+        this.stack = stack;
+        this.meta = meta;
+        this.metaChanged = meta != null;
+    }
+
+    /**
+     * Builds one item for each of the specified rows (see {@link ItemBuilderConstructors#createBatch}).
+     *
+     * <p>The template is copied and its metadata is read only once for the whole batch. Each item then starts from a
+     * copy of the template without its metadata and a single copy of the metadata, which accumulates the row's
+     * changes and is applied once. The built stack is returned directly, rather than being copied again.
+     *
+     * @param template the item that each item starts from.
+     * @param rows the rows to build an item for.
+     * @param customizer customizes the builder of an item for its row.
+     * @param <T> the type of the rows.
+     * @return the built items, in the iteration order of the rows.
+     */
+    @Nonnull
+    private static <T> ItemStack[] createBatch(
+            @Nonnull ItemStack template,
+            @Nonnull Collection<? extends T> rows,
+            @Nonnull BiConsumer<ItemBuilderBase, ? super T> customizer) {
+        final var base = template.clone();
+        if (base.getType() == Material.AIR) {
+            throw new IllegalArgumentException(
+                    String.format("Cannot create ItemBuilder for invalid stack type: %s", base.getType()));
+        }
+
+        final var baseMeta = base.hasItemMeta() ? base.getItemMeta() : null;
+        base.setItemMeta(null);
+
+        final var items = new ItemStack[rows.size()];
+
+        int i = 0;
+        for (final var row : rows) {
+            final var builder = new ModernItemBuilder(base.clone(), baseMeta != null ? baseMeta.clone() : null);
+            customizer.accept(builder, row);
+            builder.applyMeta();
+            items[i++] = builder.stack;
+        }
+
+        return items;
+    }
+
     /**
      * Ensures that the specified {@link Material} is a valid material.
      *
@@ -81,10 +195,42 @@ public final class ModernItemBuilder implements ItemBuilderBase {
         }
     }
 
+    /**
+     * Returns the item's metadata, including any pending changes. The metadata is only read from the stack once.
+     *
+     * @return the item's metadata.
+     */
+    @Nonnull
+    private ItemMeta meta() {
+        if (meta == null) meta = Objects.requireNonNull(stack.getItemMeta());
+        return meta;
+    }
+
+    /**
+     * Returns the item's metadata for modification. The changes are applied to the stack when it is next built.
+     *
+     * @return the item's metadata.
+     */
+    @Nonnull
+    private ItemMeta editMeta() {
+        metaChanged = true;
+        return meta();
+    }
+
+    /** Applies any pending changes to the item's metadata to the stack. */
+    private void applyMeta() {
+        if (!metaChanged) return;
+        stack.setItemMeta(meta);
+        metaChanged = false;
+    }
+
     @Nonnull
     @Override
     public ItemBuilderBase type(@Nonnull Material material) {
+        // The metadata may be converted to suit the new type, so it must be applied (and then re-read) around it.
+        applyMeta();
         stack.setType(material);
+        meta = null;
         return this;
     }
 
@@ -97,16 +243,15 @@ public final class ModernItemBuilder implements ItemBuilderBase {
     @Nonnull
     @Override
     public ItemBuilderBase name(@Nullable String name) {
-        final var meta = Objects.requireNonNull(stack.getItemMeta());
-        meta.setDisplayName(name != null ? ChatColor.RESET + ChatColor.translateAlternateColorCodes('&', name) : null);
-        stack.setItemMeta(meta);
+        final var meta = editMeta();
+        meta.setDisplayName(name != null ? ColorCodes.translateItemText(name) : null);
         return this;
     }
 
     @Nullable
     @Override
     public String getName() {
-        final var meta = Objects.requireNonNull(stack.getItemMeta());
+        final var meta = meta();
         if (!meta.hasDisplayName()) return null;
         return meta.getDisplayName();
     }
@@ -132,28 +277,21 @@ public final class ModernItemBuilder implements ItemBuilderBase {
     @Nonnull
     @Override
     public ItemBuilderBase lore(@Nullable List<String> lore) {
-        final var meta = Objects.requireNonNull(stack.getItemMeta());
+        final var meta = editMeta();
 
         if (lore != null) {
-            meta.setLore(lore.stream()
-                    .map(line -> line != null
-                            // Handle color codes on each line.
-                            ? ChatColor.RESET + ChatColor.translateAlternateColorCodes('&', line)
-                            // Replace null with an empty line.
-                            : "")
-                    .collect(Collectors.toList()));
+            meta.setLore(ColorCodes.translateItemLore(lore));
         } else {
             meta.setLore(null);
         }
 
-        stack.setItemMeta(meta);
         return this;
     }
 
     @Nullable
     @Override
     public List<String> getLore() {
-        final var meta = Objects.requireNonNull(stack.getItemMeta());
+        final var meta = meta();
         if (!meta.hasLore()) return null;
         return meta.getLore();
     }
@@ -168,38 +306,27 @@ public final class ModernItemBuilder implements ItemBuilderBase {
     @Nullable
     @Override
     public ItemColor getColor() {
-        // Find a color where the type starts with COLOR_NAME_ (e.g., WHITE_).
-        return Arrays.stream(ItemColor.values())
-                .filter(color -> getType().name().startsWith(color.name().concat("_")))
-                .findAny()
-                .orElse(null);
+        return MATERIAL_COLORS.get(getType());
     }
 
     @Nonnull
     @Override
     public ItemBuilderBase color(@Nonnull ItemColor color) {
         // If we cannot identify the current type as a colored type, do nothing.
-        final var currentColor = getColor();
-        if (currentColor == null) return this;
-
-        // Attempt to swap the prefix for the other color.
-        final var currentColorPrefix = String.format("%s_", currentColor);
-        final String newTypeName = getType().name().replace(currentColorPrefix, String.format("%s_", color.name()));
+        final var variants = MATERIAL_VARIANTS.get(getType());
+        if (variants == null) return this;
 
-        // If the swapped prefix is still a valid type, change the type.
+        // If there is a variant of the item in the new color, change the type.
         // Otherwise, do nothing.
-        try {
-            final Material newType = Material.valueOf(newTypeName);
-            return this.type(newType);
-        } catch (IllegalArgumentException ignored) {
-            return this;
-        }
+        final var newType = variants[color.ordinal()];
+        if (newType == null || newType == getType()) return this;
+        return this.type(newType);
     }
 
     @Nonnull
     @Override
     public ItemBuilderBase durability(int durability) {
-        final var meta = Objects.requireNonNull(stack.getItemMeta());
+        final var meta = editMeta();
 
         if (meta instanceof Damageable damageable) {
             // If there's a limit, check that we're under it.
@@ -220,7 +347,7 @@ public final class ModernItemBuilder implements ItemBuilderBase {
 
     @Override
     public int getDurability() {
-        final var meta = Objects.requireNonNull(stack.getItemMeta());
+        final var meta = meta();
 
         if (meta instanceof Damageable damageable) {
             return (short) damageable.getDamage();
@@ -232,7 +359,7 @@ public final class ModernItemBuilder implements ItemBuilderBase {
     @Nonnull
     @Override
     public ItemBuilderBase maxDurability(int maxDurability) {
-        final var meta = Objects.requireNonNull(stack.getItemMeta());
+        final var meta = editMeta();
 
         if (meta instanceof Damageable damageable) {
             if (damageable.hasMaxDamage()) {
@@ -245,7 +372,7 @@ public final class ModernItemBuilder implements ItemBuilderBase {
 
     @Override
     public int getMaxDurability() {
-        final var meta = Objects.requireNonNull(stack.getItemMeta());
+        final var meta = meta();
 
         if (meta instanceof Damageable damageable) {
             if (damageable.hasMaxDamage()) {
@@ -259,39 +386,35 @@ public final class ModernItemBuilder implements ItemBuilderBase {
     @Nonnull
     @Override
     public ItemBuilderBase enchant(@Nonnull Enchantment enchantment, int level) {
-        stack.addUnsafeEnchantment(enchantment, level);
+        editMeta().addEnchant(enchantment, level, true);
         return this;
     }
 
     @Nonnull
     @Override
     public ItemBuilderBase unenchant(@Nonnull Enchantment enchantment) {
-        stack.removeEnchantment(enchantment);
+        editMeta().removeEnchant(enchantment);
         return this;
     }
 
     @Nonnull
     @Override
     public ItemBuilderBase flag(@Nonnull ItemFlag... flag) {
-        final var meta = Objects.requireNonNull(stack.getItemMeta());
-        meta.addItemFlags(flag);
-        stack.setItemMeta(meta);
+        editMeta().addItemFlags(flag);
         return this;
     }
 
     @Nonnull
     @Override
     public ItemBuilderBase deflag(@Nonnull ItemFlag... flag) {
-        final var meta = Objects.requireNonNull(stack.getItemMeta());
-        meta.removeItemFlags(flag);
-        stack.setItemMeta(meta);
+        editMeta().removeItemFlags(flag);
         return this;
     }
 
     @Nonnull
     @Override
     public ItemBuilderBase skullOwner(@Nullable String name) {
-        final var meta = Objects.requireNonNull(stack.getItemMeta());
+        final var meta = editMeta();
 
         if (meta instanceof SkullMeta skullMeta) {
             if (name != null) {
@@ -302,14 +425,13 @@ public final class ModernItemBuilder implements ItemBuilderBase {
             }
         }
 
-        stack.setItemMeta(meta);
         return this;
     }
 
     @Nonnull
     @Override
     public ItemBuilderBase skullOwner(@Nullable UUID uuid) {
-        final var meta = Objects.requireNonNull(stack.getItemMeta());
+        final var meta = editMeta();
 
         if (meta instanceof SkullMeta skullMeta) {
             if (uuid != null) {
@@ -320,13 +442,23 @@ public final class ModernItemBuilder implements ItemBuilderBase {
             }
         }
 
-        stack.setItemMeta(meta);
         return this;
     }
 
     @Nonnull
     @Override
     public ItemStack build() {
+        applyMeta();
         return stack.clone();
     }
+
+    @Override
+    public long fingerprint() {
+        applyMeta();
+        final var meta = this.meta != null ? this.meta : stack.hasItemMeta() ? stack.getItemMeta() : null;
+
+        // This matches ItemStack#getDurability, without reading the metadata from the stack again.
+        final var durability = meta instanceof Damageable damageable ? (short) damageable.getDamage() : 0;
+        return ItemFingerprint.of(stack.getType(), stack.getAmount(), durability, meta);
+    }
 }
@@ -1,11 +1,17 @@
 package com.samjakob.spigui.item;
 
 import org.bukkit.Material;
+import org.bukkit.inventory.ItemFlag;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.ItemMeta;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.*;
 
 class ModernItemBuilderTest {
 
@@ -55,4 +61,42 @@ class ModernItemBuilderTest {
         assertEquals(expectedItemColor, builder.getColor());
     }
 
+    @Test
+    void testSetColorWithoutVariant() {
+        // Not a colored type.
+        var builder = ItemBuilder.create(Material.STONE);
+        assertNull(builder.getColor());
+        builder.color(ItemColor.RED);
+        assertEquals(Material.STONE, builder.getType());
+
+        // A colored type without a variant in the requested color.
+        builder = ItemBuilder.create(Material.RED_NETHER_BRICKS);
+        assertEquals(ItemColor.RED, builder.getColor());
+        builder.color(ItemColor.WHITE);
+        assertEquals(Material.RED_NETHER_BRICKS, builder.getType());
+    }
+
+    @Test
+    void testCopiesMetaOncePerBuild() {
+        final var stack = mock(ItemStack.class);
+        final var meta = mock(ItemMeta.class);
+        when(stack.getType()).thenReturn(Material.DIAMOND_SWORD);
+        when(stack.clone()).thenReturn(stack);
+        when(stack.getItemMeta()).thenReturn(meta);
+
+        // Previously, each of these changes copied the metadata out of, and back into, the stack (10 copies).
+        final var builder = ItemBuilder.from(stack)
+                .name("&bSword")
+                .lore("&7A sword.")
+                .flag(ItemFlag.HIDE_ENCHANTS)
+                .deflag(ItemFlag.HIDE_ATTRIBUTES)
+                .amount(2);
+        builder.getName();
+        verify(stack, never()).setItemMeta(any());
+
+        builder.build();
+        verify(stack, times(1)).getItemMeta();
+        verify(stack, times(1)).setItemMeta(meta);
+    }
+
 }
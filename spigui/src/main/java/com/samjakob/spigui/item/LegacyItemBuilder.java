@@ -1,12 +1,11 @@
 package com.samjakob.spigui.item;
 
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.function.BiConsumer;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 
 import org.bukkit.Bukkit;
-import org.bukkit.ChatColor;
 import org.bukkit.Material;
 import org.bukkit.enchantments.Enchantment;
 import org.bukkit.inventory.ItemFlag;
@@ -14,9 +13,14 @@ import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.meta.ItemMeta;
 import org.bukkit.inventory.meta.SkullMeta;
 
+import com.samjakob.spigui.text.ColorCodes;
+
 /**
  * A legacy (pre-1.13) Minecraft implementation of the {@link ItemBuilderBase} that uses the old metadata fields (e.g.,
  * data/durability/damage values).
+ *
+ * <p>Changes to the item's metadata are accumulated on a single {@link ItemMeta}, which is only applied to the stack
+ * when the item is built, rather than copying the metadata in and out of the stack for every change.
  */
 @SuppressWarnings({"RedundantSuppression", "deprecation"})
 public final class LegacyItemBuilder implements ItemBuilderBase {
@@ -34,6 +38,15 @@ public final class LegacyItemBuilder implements ItemBuilderBase {
                 public ItemBuilderBase from(@Nonnull ItemStack stack) {
                     return new LegacyItemBuilder(stack);
                 }
+
+                @Nonnull
+                @Override
+                public <T> ItemStack[] createBatch(
+                        @Nonnull ItemStack template,
+                        @Nonnull Collection<? extends T> rows,
+                        @Nonnull BiConsumer<ItemBuilderBase, ? super T> customizer) {
+                    return LegacyItemBuilder.createBatch(template, rows, customizer);
+                }
             });
         }
     }
@@ -41,6 +54,13 @@ public final class LegacyItemBuilder implements ItemBuilderBase {
     /** The item stack being built. */
     private final ItemStack stack;
 
+    /** The stack's metadata, once it has been read, including any changes that have not yet been applied. */
+    @Nullable
+    private ItemMeta meta;
+
+    /** Whether {@link #meta} has changes that have not yet been applied to the stack. */
+    private boolean metaChanged;
+
     /**
      * Constructor for creating a new ItemBuilder with a new internal stack derived from the given {@link Material}.
      *
@@ -66,6 +86,62 @@ public final class LegacyItemBuilder implements ItemBuilderBase {
         this.stack = stack.clone();
     }
 
+    /**
+     * Constructor for creating an ItemBuilder for one item of a batch (see {@link #createBatch}).
+     *
+     * <p>Unlike {@link #LegacyItemBuilder(ItemStack)}, the stack is used as-is rather than being copied, and the
+     * metadata is taken as the item's (pending) metadata rather than being read from the stack.
+     *
+     * @param stack the (metadata-less) stack of the item, which is owned by the builder.
+     * @param meta the item's metadata (or null to read it from the stack), which is owned by the builder.
+     */
+    private LegacyItemBuilder(@Nonnull ItemStack stack, @Nullable ItemMeta meta) {
+        this.stack = stack;
+        this.meta = meta;
+        this.metaChanged = meta != null;
+    }
+
+    /**
+     * Builds one item for each of the specified rows (see {@link ItemBuilderConstructors#createBatch}).
+     *
+     * <p>The template is copied and its metadata is read only once for the whole batch. Each item then starts from a
+     * copy of the template without its metadata and a single copy of the metadata, which accumulates the row's
+     * changes and is applied once. The built stack is returned directly, rather than being copied again.
+     *
+     * @param template the item that each item starts from.
+     * @param rows the rows to build an item for.
+     * @param customizer customizes the builder of an item for its row.
+     * @param <T> the type of the rows.
+     * @return the built items, in the iteration order of the rows.
+     */
+    @Nonnull
+    private static <T> ItemStack[] createBatch(
+            @Nonnull ItemStack template,
+            @Nonnull Collection<? extends T> rows,
+            @Nonnull BiConsumer<ItemBuilderBase, ? super T> customizer) {
+        final ItemStack base = template.clone();
+        if (base.getType() == Material.AIR) {
+            throw new IllegalArgumentException(
+                    String.format("Cannot create ItemBuilder for invalid stack type: %s", base.getType()));
+        }
+
+        final ItemMeta baseMeta = base.hasItemMeta() ? base.getItemMeta() : null;
+        base.setItemMeta(null);
+
+        final ItemStack[] items = new ItemStack[rows.size()];
+
+        int i = 0;
+        for (T row : rows) {
+            final LegacyItemBuilder builder =
+                    new LegacyItemBuilder(base.clone(), baseMeta != null ? baseMeta.clone() : null);
+            customizer.accept(builder, row);
+            builder.applyMeta();
+            items[i++] = builder.stack;
+        }
+
+        return items;
+    }
+
     /**
      * Ensures that the specified {@link Material} is a valid material.
      *
@@ -78,10 +154,42 @@ public final class LegacyItemBuilder implements ItemBuilderBase {
         }
     }
 
+    /**
+     * Returns the item's metadata, including any pending changes. The metadata is only read from the stack once.
+     *
+     * @return the item's metadata.
+     */
+    @Nonnull
+    private ItemMeta meta() {
+        if (meta == null) meta = Objects.requireNonNull(stack.getItemMeta());
+        return meta;
+    }
+
+    /**
+     * Returns the item's metadata for modification. The changes are applied to the stack when it is next built.
+     *
+     * @return the item's metadata.
+     */
+    @Nonnull
+    private ItemMeta editMeta() {
+        metaChanged = true;
+        return meta();
+    }
+
+    /** Applies any pending changes to the item's metadata to the stack. */
+    private void applyMeta() {
+        if (!metaChanged) return;
+        stack.setItemMeta(meta);
+        metaChanged = false;
+    }
+
     @Nonnull
     @Override
     public LegacyItemBuilder type(@Nonnull Material material) {
+        // The metadata may be converted to suit the new type, so it must be applied (and then re-read) around it.
+        applyMeta();
         stack.setType(material);
+        meta = null;
         return this;
     }
 
@@ -94,16 +202,15 @@ public final class LegacyItemBuilder implements ItemBuilderBase {
     @Nonnull
     @Override
     public ItemBuilderBase name(@Nullable String name) {
-        ItemMeta meta = Objects.requireNonNull(stack.getItemMeta());
-        meta.setDisplayName(name != null ? ChatColor.RESET + ChatColor.translateAlternateColorCodes('&', name) : null);
-        stack.setItemMeta(meta);
+        final ItemMeta meta = editMeta();
+        meta.setDisplayName(name != null ? ColorCodes.translateItemText(name) : null);
         return this;
     }
 
     @Nullable
     @Override
     public String getName() {
-        final ItemMeta meta = Objects.requireNonNull(stack.getItemMeta());
+        final ItemMeta meta = meta();
         if (!meta.hasDisplayName()) return null;
         return meta.getDisplayName();
     }
@@ -129,28 +236,21 @@ public final class LegacyItemBuilder implements ItemBuilderBase {
     @Nonnull
     @Override
     public ItemBuilderBase lore(@Nullable final List<String> lore) {
-        final ItemMeta meta = Objects.requireNonNull(stack.getItemMeta());
+        final ItemMeta meta = editMeta();
 
         if (lore != null) {
-            meta.setLore(lore.stream()
-                    .map(line -> line != null
-                            // Handle color codes on each line.
-                            ? ChatColor.RESET + ChatColor.translateAlternateColorCodes('&', line)
-                            // Replace null with an empty line.
-                            : "")
-                    .collect(Collectors.toList()));
+            meta.setLore(ColorCodes.translateItemLore(lore));
         } else {
             meta.setLore(null);
         }
 
-        stack.setItemMeta(meta);
         return this;
     }
 
     @Nullable
     @Override
     public List<String> getLore() {
-        final ItemMeta meta = Objects.requireNonNull(stack.getItemMeta());
+        final ItemMeta meta = meta();
         if (!meta.hasLore()) return null;
         return meta.getLore();
     }
@@ -201,62 +301,59 @@ public final class LegacyItemBuilder implements ItemBuilderBase {
     @Nullable
     @Override
     public ItemColor getColor() {
-        return Optional.ofNullable(LegacyItemDataColor.getByDurability(stack.getDurability()))
-                .map(LegacyItemDataColor::getColor)
-                .orElse(null);
+        // Only durability values 0-15 represent colors.
+        final short durability = stack.getDurability();
+        if (durability < 0 || durability > 15) return null;
+
+        return Objects.requireNonNull(LegacyItemDataColor.getByDurability(durability)).getColor();
     }
 
     @Nonnull
     @Override
     public ItemBuilderBase enchant(@Nonnull Enchantment enchantment, int level) {
-        stack.addUnsafeEnchantment(enchantment, level);
+        editMeta().addEnchant(enchantment, level, true);
         return this;
     }
 
     @Nonnull
     @Override
     public ItemBuilderBase unenchant(@Nonnull Enchantment enchantment) {
-        stack.removeEnchantment(enchantment);
+        editMeta().removeEnchant(enchantment);
         return this;
     }
 
     @Nonnull
     @Override
     public ItemBuilderBase flag(@Nonnull ItemFlag... flag) {
-        ItemMeta meta = Objects.requireNonNull(stack.getItemMeta());
-        meta.addItemFlags(flag);
-        stack.setItemMeta(meta);
+        editMeta().addItemFlags(flag);
         return this;
     }
 
     @Nonnull
     @Override
     public ItemBuilderBase deflag(@Nonnull ItemFlag... flag) {
-        ItemMeta meta = Objects.requireNonNull(stack.getItemMeta());
-        meta.removeItemFlags(flag);
-        stack.setItemMeta(meta);
+        editMeta().removeItemFlags(flag);
         return this;
     }
 
     @Nonnull
     @Override
     public ItemBuilderBase skullOwner(@Nullable String name) {
-        ItemMeta itemMeta = Objects.requireNonNull(stack.getItemMeta());
+        final ItemMeta itemMeta = meta();
         if (!(itemMeta instanceof SkullMeta)) return this;
-        final SkullMeta meta = (SkullMeta) itemMeta;
+        final SkullMeta meta = (SkullMeta) editMeta();
         stack.setDurability((byte) 3);
         meta.setOwner(name);
-        stack.setItemMeta(meta);
         return this;
     }
 
     @Nonnull
     @Override
     public ItemBuilderBase skullOwner(@Nullable UUID uuid) {
-        final ItemMeta itemMeta = Objects.requireNonNull(stack.getItemMeta());
+        final ItemMeta itemMeta = meta();
         if (!(itemMeta instanceof SkullMeta)) return this;
 
-        final SkullMeta meta = (SkullMeta) itemMeta;
+        final SkullMeta meta = (SkullMeta) editMeta();
         stack.setDurability((byte) 3);
 
         if (uuid == null) {
@@ -268,13 +365,20 @@ public final class LegacyItemBuilder implements ItemBuilderBase {
                     .getName());
         }
 
-        stack.setItemMeta(meta);
         return this;
     }
 
     @Nonnull
     @Override
     public ItemStack build() {
+        applyMeta();
         return stack.clone();
     }
+
+    @Override
+    public long fingerprint() {
+        applyMeta();
+        final ItemMeta meta = this.meta != null ? this.meta : stack.hasItemMeta() ? stack.getItemMeta() : null;
+        return ItemFingerprint.of(stack.getType(), stack.getAmount(), stack.getDurability(), meta);
+    }
 }
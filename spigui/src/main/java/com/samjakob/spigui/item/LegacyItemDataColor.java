@@ -1,6 +1,6 @@
 package com.samjakob.spigui.item;
 
-import java.util.Arrays;
+import java.util.EnumMap;
 import java.util.NoSuchElementException;
 import java.util.Objects;
 import javax.annotation.Nonnull;
@@ -54,6 +54,19 @@ public enum LegacyItemDataColor {
     /** Value is 15. Use BLACK_WOOL for 1.13+ */
     BLACK(ItemColor.BLACK, (short) 15);
 
+    /** Each {@link LegacyItemDataColor}, indexed by its durability value. */
+    private static final LegacyItemDataColor[] BY_DURABILITY = new LegacyItemDataColor[16];
+
+    /** The {@link LegacyItemDataColor} for each {@link ItemColor}. */
+    private static final EnumMap<ItemColor, LegacyItemDataColor> BY_COLOR = new EnumMap<>(ItemColor.class);
+
+    static {
+        for (LegacyItemDataColor value : values()) {
+            BY_DURABILITY[value.durability] = value;
+            BY_COLOR.put(value.color, value);
+        }
+    }
+
     /** The public-facing {@link ItemColor}. */
     @Nonnull
     private final ItemColor color;
@@ -100,13 +113,13 @@ public enum LegacyItemDataColor {
      */
     @Nullable
     public static LegacyItemDataColor getByDurability(short value) {
-        sanitizeDurability(value);
+        final LegacyItemDataColor color = BY_DURABILITY[sanitizeDurability(value)];
+        if (color == null) {
+            throw new NoSuchElementException(
+                    String.format("No LegacyItemDataColor value found for durability value: %d", value));
+        }
 
-        return Arrays.stream(values())
-                .filter(it -> value == it.durability)
-                .findAny()
-                .orElseThrow(() -> new NoSuchElementException(
-                        String.format("No LegacyItemDataColor value found for durability value: %d", value)));
+        return color;
     }
 
     /**
@@ -118,13 +131,13 @@ public enum LegacyItemDataColor {
      */
     @Nonnull
     public static LegacyItemDataColor getByColor(@Nonnull ItemColor color) {
-        Objects.requireNonNull(color);
+        final LegacyItemDataColor value = BY_COLOR.get(Objects.requireNonNull(color));
+        if (value == null) {
+            throw new NoSuchElementException(
+                    String.format("Missing LegacyItemDataColor for ItemColor(%s)", color.name()));
+        }
 
-        return Arrays.stream(values())
-                .filter(it -> it.color == color)
-                .findFirst()
-                .orElseThrow(() -> new NoSuchElementException(
-                        String.format("Missing LegacyItemDataColor for ItemColor(%s)", color.name())));
+        return value;
     }
 
     /**
@@ -0,0 +1,84 @@
+package com.samjakob.spigui.item;
+
+import org.bukkit.ChatColor;
+import org.bukkit.Material;
+import org.bukkit.enchantments.Enchantment;
+import org.bukkit.inventory.ItemFlag;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.ItemMeta;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class LegacyItemBuilderTest {
+
+    @Mock
+    private ItemStack stack;
+
+    @Mock
+    private ItemMeta meta;
+
+    @Mock
+    private Enchantment enchantment;
+
+    @BeforeEach
+    void setup() {
+        when(stack.getType()).thenReturn(Material.DIAMOND_SWORD);
+        when(stack.clone()).thenReturn(stack);
+        when(stack.getItemMeta()).thenReturn(meta);
+    }
+
+    @Test
+    void testCopiesMetaOncePerBuild() {
+        // Previously, each of these changes copied the metadata out of, and back into, the stack (10 copies).
+        ItemBuilder.from(stack)
+                .name("&bSword")
+                .lore("&7A sword.")
+                .flag(ItemFlag.HIDE_ENCHANTS)
+                .enchant(enchantment, 3)
+                .deflag(ItemFlag.HIDE_ATTRIBUTES)
+                .build();
+
+        verify(stack, times(1)).getItemMeta();
+        verify(stack, times(1)).setItemMeta(meta);
+        verify(meta).addEnchant(enchantment, 3, true);
+    }
+
+    @Test
+    void testGettersReadPendingMeta() {
+        final ItemBuilder builder = ItemBuilder.from(stack).name("&bSword");
+        builder.getName();
+        builder.getLore();
+
+        verify(meta).setDisplayName(ChatColor.RESET + "" + ChatColor.AQUA + "Sword");
+        verify(meta).hasDisplayName();
+        verify(meta).hasLore();
+        verify(stack, times(1)).getItemMeta();
+        verify(stack, never()).setItemMeta(any());
+    }
+
+    @Test
+    void testCreateBatchReadsTemplateMetaOnce() {
+        when(stack.hasItemMeta()).thenReturn(true);
+        when(meta.clone()).thenAnswer(invocation -> mock(ItemMeta.class));
+
+        final ItemStack[] items = ItemBuilderFactory.get()
+                .createBatch(stack, Arrays.asList("&aFirst", "&bSecond", "&cThird"), ItemBuilderBase::name);
+
+        assertEquals(3, items.length);
+        verify(stack, times(1)).getItemMeta();
+        verify(meta, times(3)).clone();
+        verify(meta, never()).setDisplayName(any());
+        verify(stack, times(3)).setItemMeta(argThat(rowMeta -> rowMeta != null && rowMeta != meta));
+    }
+
+}
@@ -0,0 +1,23 @@
+package com.samjakob.spigui.item;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LegacyItemDataColorTest {
+
+    @Test
+    void testLookups() {
+        for (LegacyItemDataColor value : LegacyItemDataColor.values()) {
+            assertSame(value, LegacyItemDataColor.getByDurability(value.getDurability()));
+            assertSame(value, LegacyItemDataColor.getByColor(value.getColor()));
+        }
+    }
+
+    @Test
+    void testRejectsInvalidDurability() {
+        assertThrows(IllegalArgumentException.class, () -> LegacyItemDataColor.getByDurability((short) 16));
+        assertThrows(IllegalArgumentException.class, () -> LegacyItemDataColor.getByDurability((short) -1));
+    }
+
+}